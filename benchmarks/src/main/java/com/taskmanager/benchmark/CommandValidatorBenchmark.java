@@ -0,0 +1,121 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.util.CommandValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CommandValidatorBenchmark measures the cost of validating one command, with and without
+ * the verdict cache, against the rule-by-rule scan the validator used before it compiled
+ * its rules.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandValidatorBenchmark {
+
+    private static final List<String> LEGACY_COMMANDS = Arrays.asList(
+            "rm", "rmdir", "del", "delete", "format",
+            "wget", "curl", "nc", "netcat", "telnet",
+            "sudo", "su", "chmod", "chown", "passwd",
+            "kill", "killall", "pkill",
+            "tar", "zip", "unzip", "gzip", "gunzip",
+            "bash", "sh", "zsh", "fish", "csh", "tcsh",
+            "python", "python3", "perl", "ruby", "node", "java",
+            "mysql", "psql", "mongo", "redis-cli",
+            "passwd", "shadow", "hosts"
+    );
+
+    private static final List<String> LEGACY_PATTERNS = Arrays.asList(
+            "|", "&&", "||", ";", "`", "$(",
+            ">", ">>", "<", "<<",
+            "&", "!", "*", "?"
+    );
+
+    /**
+     * Safe command, dangerous first word, and a pattern near the end of a long command
+     */
+    @Param({"echo Hello World", "redis-cli flushall", "cat a.txt b.txt c.txt d.txt e.txt f.txt g.txt h.txt ?"})
+    public String command;
+
+    private CommandValidator cached;
+    private CommandValidator uncached;
+
+    @Setup
+    public void setUp() {
+        cached = new CommandValidator(1024, new SimpleMeterRegistry());
+        uncached = new CommandValidator(0, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public String compiled() {
+        return uncached.getUnsafeReason(command);
+    }
+
+    @Benchmark
+    public String compiledCached() {
+        return cached.getUnsafeReason(command);
+    }
+
+    /**
+     * The previous implementation: isCommandSafe followed by getUnsafeReason, each
+     * scanning every rule
+     */
+    @Benchmark
+    public String legacy() {
+        return legacyIsSafe(command) ? null : legacyReason(command);
+    }
+
+    private static boolean legacyIsSafe(String command) {
+        if (command == null || command.trim().isEmpty()) {
+            return false;
+        }
+        String normalizedCommand = command.toLowerCase().trim();
+        for (String dangerousCmd : LEGACY_COMMANDS) {
+            if (normalizedCommand.startsWith(dangerousCmd + " ") || normalizedCommand.equals(dangerousCmd)) {
+                return false;
+            }
+        }
+        for (String pattern : LEGACY_PATTERNS) {
+            if (command.contains(pattern)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String legacyReason(String command) {
+        if (command == null || command.trim().isEmpty()) {
+            return "Command is null or empty";
+        }
+        String normalizedCommand = command.toLowerCase().trim();
+        for (String dangerousCmd : LEGACY_COMMANDS) {
+            if (normalizedCommand.startsWith(dangerousCmd + " ") || normalizedCommand.equals(dangerousCmd)) {
+                return "Command contains dangerous operation: " + dangerousCmd;
+            }
+        }
+        for (String pattern : LEGACY_PATTERNS) {
+            if (command.contains(pattern)) {
+                return "Command contains dangerous pattern: " + pattern;
+            }
+        }
+        return null;
+    }
+}
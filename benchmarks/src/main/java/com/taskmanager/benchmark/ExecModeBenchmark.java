@@ -0,0 +1,84 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.service.CommandResult;
+import com.taskmanager.service.ShellCommandExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExecModeBenchmark compares exec'ing a plain command directly with running it through
+ * sh -c. The command prints a few bytes and exits, so the run is dominated by process
+ * spawn: latency per command and commands per second, single-threaded and from 8 threads.
+ * Requires a POSIX shell and echo.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecModeBenchmark {
+
+    /**
+     * A plain command that the direct mode starts without a shell
+     */
+    private static final String COMMAND = "echo task-manager";
+
+    /**
+     * How plain commands are started, see taskmanager.execution.exec-mode
+     */
+    @Param({"direct", "shell"})
+    public String execMode;
+
+    private ShellCommandExecutor executor;
+
+    @Setup
+    public void setUp() {
+        executor = new ShellCommandExecutor(30, 268435456L, 1048576,
+                System.getProperty("java.io.tmpdir"), false, execMode, new SimpleMeterRegistry());
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Time from spawn to exit of one command
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Integer spawnLatency() throws Exception {
+        return run();
+    }
+
+    /**
+     * Commands per second with 8 threads spawning concurrently
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(8)
+    public Integer execThroughput() throws Exception {
+        return run();
+    }
+
+    private Integer run() throws Exception {
+        try (CommandResult result = executor.execute(COMMAND)) {
+            return result.getExitCode();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.config.BoundedVirtualThreadExecutor;
+import com.taskmanager.config.ExecutionConfig;
+import com.taskmanager.service.FairExecutionScheduler;
+import com.taskmanager.service.ShellCommandExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ExecutionConcurrencyBenchmark runs a burst of short commands through the FairExecutionScheduler
+ * and the execution pool, once on platform worker threads and once on virtual threads, to compare
+ * the time until the whole burst has finished at the same, fixed concurrency limit.
+ * Requires a POSIX shell with sleep.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ExecutionConcurrencyBenchmark {
+
+    private static final int BURST_SIZE = 64;
+    private static final String COMMAND = "sleep 0.05";
+
+    /**
+     * Number of executions allowed to run at once
+     */
+    @Param({"4", "64"})
+    public int concurrency;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private Executor executor;
+    private FairExecutionScheduler scheduler;
+    private ShellCommandExecutor shellCommandExecutor;
+
+    @Setup
+    public void setUp() {
+        executor = new ExecutionConfig().taskExecutionExecutor(concurrency, virtualThreads);
+        // Limit pinned at the concurrency; the burst waits in the scheduler, the pool holds no queue
+        scheduler = new FairExecutionScheduler(executor, concurrency, concurrency, concurrency, 1.5,
+                BURST_SIZE, concurrency, BURST_SIZE, 1, "", new SimpleMeterRegistry());
+        shellCommandExecutor = new ShellCommandExecutor(30, 268435456L, 1048576,
+                System.getProperty("java.io.tmpdir"), virtualThreads, "direct", new SimpleMeterRegistry());
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        } else if (executor instanceof BoundedVirtualThreadExecutor virtualThreadExecutor) {
+            virtualThreadExecutor.shutdown();
+        }
+        shellCommandExecutor.shutdown();
+    }
+
+    @Benchmark
+    public void burst() throws Exception {
+        CountDownLatch done = new CountDownLatch(BURST_SIZE);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        for (int i = 0; i < BURST_SIZE; i++) {
+            scheduler.execute("benchmark", "task-" + i, () -> {
+                try {
+                    shellCommandExecutor.execute(COMMAND).close();
+                } catch (Exception e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.service.CommandResult;
+import com.taskmanager.service.ShellCommandExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ShellCommandExecutorBenchmark measures a full command run: spawning the process,
+ * draining stdout and stderr into the output buffers and waiting for the exit.
+ * Output sizes cover an empty run, typical output, and output past the 1 MiB kept on the
+ * heap, which spills to a file in java.io.tmpdir.
+ * Requires a POSIX shell with head and /dev/zero.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShellCommandExecutorBenchmark {
+
+    /**
+     * Bytes written to stdout by the command
+     */
+    @Param({"0", "4096", "1048576", "16777216"})
+    public int outputBytes;
+
+    /**
+     * Whether output is drained on virtual threads
+     */
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    /**
+     * Output limits of application.properties: 256 MiB per stream, of which 1 MiB on the heap
+     */
+    private static final long MAX_OUTPUT_BYTES = 268435456;
+    private static final int MEMORY_OUTPUT_BYTES = 1048576;
+
+    private ShellCommandExecutor executor;
+    private String command;
+
+    @Setup
+    public void setUp() {
+        executor = new ShellCommandExecutor(30, MAX_OUTPUT_BYTES, MEMORY_OUTPUT_BYTES,
+                System.getProperty("java.io.tmpdir"), virtualThreads, "direct", new SimpleMeterRegistry());
+        command = outputBytes == 0 ? "true" : "head -c " + outputBytes + " /dev/zero";
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public Integer execute() throws Exception {
+        // Closing releases the spill file of large outputs
+        try (CommandResult result = executor.execute(command)) {
+            return result.getExitCode();
+        }
+    }
+}
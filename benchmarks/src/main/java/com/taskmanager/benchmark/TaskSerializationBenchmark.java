@@ -0,0 +1,77 @@
+package com.taskmanager.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskExecution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskSerializationBenchmark measures Jackson serialization of a task carrying an
+ * execution history of increasing length, using the date settings of application.properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TaskSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int executions;
+
+    private ObjectMapper objectMapper;
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .simpleDateFormat("yyyy-MM-dd HH:mm:ss.SSSZ")
+                .timeZone("UTC")
+                .build();
+
+        task = new Task("task-1", "Benchmark task", "benchmark", "echo Hello World");
+        List<TaskExecution> history = new ArrayList<>(executions);
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < executions; i++) {
+            Date startTime = new Date(start + i * 1000L);
+            Date endTime = new Date(start + i * 1000L + 15);
+            history.add(new TaskExecution(startTime, endTime, "Hello World\n", 0));
+        }
+        task.setTaskExecutions(history);
+    }
+
+    /**
+     * Serialize into a byte array, as done for a buffered response body
+     */
+    @Benchmark
+    public byte[] toBytes() throws IOException {
+        return objectMapper.writeValueAsBytes(task);
+    }
+
+    /**
+     * Serialize straight into a stream, as done when writing to the servlet response
+     */
+    @Benchmark
+    public void toStream() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), task);
+    }
+}
@@ -34,14 +34,19 @@ public class TaskManagerApplication {
 
         System.out.println("Task Manager API started successfully!");
         System.out.println("API Documentation:");
-        System.out.println("- GET    /api/v1/tasks                     - Get all tasks");
+        System.out.println("- GET    /api/v1/tasks?limit={n}&cursor={c} - Get a page of tasks");
         System.out.println("- GET    /api/v1/tasks?id={id}             - Get task by ID");
         System.out.println("- PUT    /api/v1/tasks                     - Create/update task");
         System.out.println("- DELETE /api/v1/tasks/{id}                - Delete task");
-        System.out.println("- GET    /api/v1/tasks/search?name={name}  - Search tasks by name");
+        System.out.println("- GET    /api/v1/tasks/search?name={name}&limit={n} - Search tasks by name");
         System.out.println("- PUT    /api/v1/tasks/{id}/execute        - Execute task");
-        System.out.println("- GET    /api/v1/tasks/{id}/executions     - Get execution history");
+        System.out.println("- PUT    /api/v1/tasks/{id}/execute?async=true - Queue task execution");
+        System.out.println("- GET    /api/v1/tasks/jobs/{jobId}        - Get queued execution status");
+        System.out.println("- GET    /api/v1/tasks/{id}/executions?from=&to=&limit=&cursor= - Get execution history");
+        System.out.println("- GET    /api/v1/tasks/{id}/executions/live - Execute task and stream output (SSE)");
         System.out.println("- GET    /api/v1/tasks/validate?command={cmd} - Validate command");
+        System.out.println("- GET    /api/v1/tasks/cache/stats         - Task cache statistics");
         System.out.println("- GET    /api/v1/tasks/health              - Health check");
+        System.out.println("- GET    /api/v1/actuator/prometheus       - Metrics in Prometheus format");
     }
 }
\ No newline at end of file
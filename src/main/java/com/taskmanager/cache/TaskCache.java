@@ -0,0 +1,133 @@
+package com.taskmanager.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.taskmanager.model.Task;
+import com.taskmanager.repository.TaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * TaskCache is a bounded read-through cache in front of TaskRepository.findById.
+ * Entries are evicted by size and age; a TaskChangedEvent (local or from another
+ * replica) drops the entry right away. Missing tasks are not cached.
+ */
+@Component
+public class TaskCache {
+
+    private final TaskRepository taskRepository;
+    private final Cache<String, Task> cache;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param taskRepository Repository the cache reads through to
+     * @param maxSize Maximum number of cached tasks
+     * @param ttlSeconds How long a cached task may be served before it is re-read
+     * @param meterRegistry Registry the cache statistics are published to
+     */
+    @Autowired
+    public TaskCache(TaskRepository taskRepository,
+                     @Value("${taskmanager.cache.tasks.max-size:10000}") long maxSize,
+                     @Value("${taskmanager.cache.tasks.ttl-seconds:60}") long ttlSeconds,
+                     MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "tasks");
+    }
+
+    /**
+     * Get a task, loading it from the database on a cache miss
+     *
+     * @param id The task ID
+     * @return Optional containing the task if found, empty otherwise
+     */
+    public Optional<Task> get(String id) {
+        return Optional.ofNullable(cache.get(id, key -> taskRepository.findById(key).orElse(null)));
+    }
+
+    /**
+     * Get a task only if it is cached, without touching the database
+     *
+     * @param id The task ID
+     * @return Optional containing the cached task, empty on a cache miss
+     */
+    public Optional<Task> getIfPresent(String id) {
+        return Optional.ofNullable(cache.getIfPresent(id));
+    }
+
+    /**
+     * Get several tasks, reading all cache misses from the database with a single query.
+     * The tasks read are returned but not cached: a bulk load is not atomic with invalidate,
+     * so a change arriving during the query would otherwise be lost and the stale task served
+     * until it expires. Misses are cached by later single-task reads, which are atomic.
+     *
+     * @param ids The task IDs
+     * @return Map of the tasks found by ID; missing tasks have no entry
+     */
+    public Map<String, Task> getAll(Collection<String> ids) {
+        Map<String, Task> tasks = new LinkedHashMap<>(cache.getAllPresent(ids));
+        List<String> missing = new ArrayList<>();
+        for (String id : ids) {
+            if (!tasks.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            taskRepository.findByIds(missing).forEach(task -> tasks.put(task.getId(), task));
+        }
+        return tasks;
+    }
+
+    /**
+     * Drop a task from the cache
+     *
+     * @param id The task ID
+     */
+    public void invalidate(String id) {
+        cache.invalidate(id);
+    }
+
+    /**
+     * Drop a task from the cache when it changes on this or another replica
+     *
+     * @param event The change event
+     */
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        invalidate(event.getTaskId());
+    }
+
+    /**
+     * Get a snapshot of the cache statistics
+     *
+     * @return Hit/miss counts, hit rate, evictions and size
+     */
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("hits", stats.hitCount());
+        snapshot.put("misses", stats.missCount());
+        snapshot.put("hitRate", stats.hitRate());
+        snapshot.put("evictions", stats.evictionCount());
+        snapshot.put("size", cache.estimatedSize());
+        return snapshot;
+    }
+}
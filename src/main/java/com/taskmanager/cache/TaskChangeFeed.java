@@ -0,0 +1,207 @@
+package com.taskmanager.cache;
+
+import com.mongodb.CursorType;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.mongodb.client.model.Filters.gte;
+
+/**
+ * TaskChangeFeed tells every replica about task writes so that they can invalidate
+ * derived state such as cached tasks.
+ * A change is published as a TaskChangedEvent inside this application right away and
+ * appended to the capped task_changes collection. Every replica tails that collection
+ * with a tailable cursor (which works on a standalone mongod, unlike change streams) and
+ * republishes changes made elsewhere. Events are idempotent, so after a reconnect the
+ * feed re-reads a few seconds of history rather than risk missing a change; the cache
+ * TTL bounds staleness if the feed is down altogether.
+ */
+@Component
+public class TaskChangeFeed {
+
+    private static final String COLLECTION = "task_changes";
+    private static final long COLLECTION_SIZE_BYTES = 1024 * 1024;
+    private static final long COLLECTION_MAX_DOCUMENTS = 10000;
+
+    /**
+     * How far back to re-read after the tailing cursor had to be reopened
+     */
+    private static final long RESUME_OVERLAP_MILLIS = 10000;
+
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private volatile boolean running;
+    private volatile boolean collectionReady;
+    private Thread tailer;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param mongoTemplate Template for MongoDB operations
+     * @param eventPublisher Publisher for in-application change events
+     * @param enabled Whether changes are exchanged with other replicas
+     */
+    @Autowired
+    public TaskChangeFeed(MongoTemplate mongoTemplate, ApplicationEventPublisher eventPublisher,
+                          @Value("${taskmanager.cache.invalidation.enabled:true}") boolean enabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Publish a task change to this application and to the other replicas
+     *
+     * @param taskId The ID of the task that was created, updated or deleted
+     */
+    public void publish(String taskId) {
+        eventPublisher.publishEvent(new TaskChangedEvent(taskId, false));
+        if (!enabled || !collectionReady) {
+            // Until the capped collection exists an insert would create it uncapped
+            return;
+        }
+
+        try {
+            mongoTemplate.getCollection(COLLECTION).insertOne(new Document()
+                    .append("taskId", taskId)
+                    .append("origin", instanceId)
+                    .append("at", new Date()));
+        } catch (MongoException e) {
+            // Other replicas fall back to the cache TTL for this change
+            System.err.println("Failed to publish change of task " + taskId + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Publish changes of several tasks, sending them to the other replicas in one insert
+     *
+     * @param taskIds The IDs of the tasks that were created, updated or deleted
+     */
+    public void publishAll(Collection<String> taskIds) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        for (String taskId : taskIds) {
+            eventPublisher.publishEvent(new TaskChangedEvent(taskId, false));
+        }
+        if (!enabled || !collectionReady) {
+            return;
+        }
+
+        Date at = new Date();
+        List<Document> changes = taskIds.stream()
+                .map(taskId -> new Document()
+                        .append("taskId", taskId)
+                        .append("origin", instanceId)
+                        .append("at", at))
+                .toList();
+        try {
+            mongoTemplate.getCollection(COLLECTION).insertMany(changes);
+        } catch (MongoException e) {
+            System.err.println("Failed to publish change of " + changes.size() + " tasks: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Start tailing the change collection (created by the tailing thread if needed)
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        running = true;
+        tailer = new Thread(this::tail, "task-change-feed");
+        tailer.setDaemon(true);
+        tailer.start();
+    }
+
+    /**
+     * Stop tailing
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (tailer != null) {
+            tailer.interrupt();
+        }
+    }
+
+    /**
+     * Tail the change collection until stopped, reopening the cursor whenever it dies
+     */
+    private void tail() {
+        Date resumeFrom = new Date();
+        while (running) {
+            try {
+                MongoCollection<Document> collection = ensureCollection();
+                try (MongoCursor<Document> cursor = collection.find(gte("at", resumeFrom))
+                        .cursorType(CursorType.TailableAwait)
+                        .maxAwaitTime(1, TimeUnit.SECONDS)
+                        .iterator()) {
+                    while (running && cursor.hasNext()) {
+                        Document change = cursor.next();
+                        resumeFrom = new Date(change.getDate("at").getTime() - RESUME_OVERLAP_MILLIS);
+                        if (!instanceId.equals(change.getString("origin"))) {
+                            eventPublisher.publishEvent(new TaskChangedEvent(change.getString("taskId"), true));
+                        }
+                    }
+                }
+            } catch (RuntimeException e) {
+                if (running) {
+                    System.err.println("Task change feed interrupted: " + e.getMessage());
+                }
+            }
+
+            // The cursor dies when nothing matched yet; wait a little before reopening it
+            try {
+                Thread.sleep(RETRY_DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Get the capped change collection, creating it on first use
+     *
+     * @return The change collection
+     */
+    private MongoCollection<Document> ensureCollection() {
+        if (!collectionReady && !mongoTemplate.collectionExists(COLLECTION)) {
+            try {
+                mongoTemplate.createCollection(COLLECTION, CollectionOptions.empty()
+                        .capped()
+                        .size(COLLECTION_SIZE_BYTES)
+                        .maxDocuments(COLLECTION_MAX_DOCUMENTS));
+            } catch (RuntimeException e) {
+                // Another replica created it first
+            }
+        }
+        collectionReady = true;
+        return mongoTemplate.getCollection(COLLECTION);
+    }
+}
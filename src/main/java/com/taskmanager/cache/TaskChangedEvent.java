@@ -0,0 +1,46 @@
+package com.taskmanager.cache;
+
+/**
+ * TaskChangedEvent is published inside the application whenever a task is created,
+ * updated or deleted, on this replica or (via TaskChangeFeed) on another one.
+ * Listeners use it to drop state derived from the task, such as cached copies.
+ */
+public class TaskChangedEvent {
+
+    /**
+     * The ID of the task that changed
+     */
+    private final String taskId;
+
+    /**
+     * Whether the change was made by another replica
+     */
+    private final boolean remote;
+
+    /**
+     * Constructor with all fields
+     *
+     * @param taskId The ID of the task that changed
+     * @param remote Whether the change was made by another replica
+     */
+    public TaskChangedEvent(String taskId, boolean remote) {
+        this.taskId = taskId;
+        this.remote = remote;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public boolean isRemote() {
+        return remote;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskChangedEvent{" +
+                "taskId='" + taskId + '\'' +
+                ", remote=" + remote +
+                '}';
+    }
+}
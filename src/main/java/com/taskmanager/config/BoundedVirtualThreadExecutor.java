@@ -0,0 +1,68 @@
+package com.taskmanager.config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * BoundedVirtualThreadExecutor starts one virtual thread per submitted execution.
+ * It keeps the same limits as the platform-thread pool: at most {@code concurrency}
+ * executions run at once and at most {@code concurrency + queueCapacity} are accepted,
+ * so a burst is still rejected instead of spawning an unbounded number of processes.
+ */
+public class BoundedVirtualThreadExecutor implements Executor {
+
+    private final Semaphore admitted;
+    private final Semaphore running;
+    private final ThreadFactory threadFactory;
+    private volatile boolean shutdown;
+
+    /**
+     * Constructor with limits
+     *
+     * @param concurrency Maximum number of executions running at once
+     * @param queueCapacity Maximum number of executions waiting to run
+     * @param namePrefix Name prefix for the virtual threads
+     */
+    public BoundedVirtualThreadExecutor(int concurrency, int queueCapacity, String namePrefix) {
+        this.admitted = new Semaphore(concurrency + queueCapacity);
+        this.running = new Semaphore(concurrency, true);
+        this.threadFactory = Thread.ofVirtual().name(namePrefix, 1).factory();
+    }
+
+    /**
+     * Run the command on a new virtual thread once a running slot is free
+     *
+     * @param command The work to run
+     * @throws RejectedExecutionException if the executor is shut down or full
+     */
+    @Override
+    public void execute(Runnable command) {
+        if (shutdown || !admitted.tryAcquire()) {
+            throw new RejectedExecutionException("Virtual thread executor is full or shut down");
+        }
+
+        threadFactory.newThread(() -> {
+            try {
+                running.acquire();
+                try {
+                    command.run();
+                } finally {
+                    running.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                admitted.release();
+            }
+        }).start();
+    }
+
+    /**
+     * Stop accepting new executions; running ones are left to finish
+     */
+    public void shutdown() {
+        shutdown = true;
+    }
+}
@@ -0,0 +1,63 @@
+package com.taskmanager.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ExecutionConfig sets up the worker pool that runs all task executions: synchronous, live,
+ * queued and batch. Executions reach it through the FairExecutionScheduler, which decides
+ * whose execution runs next, keeps the waiting ones and never hands over more than its
+ * adaptive limit allows; pool-size is the ceiling of that limit. The pool itself therefore
+ * holds no queue and rejects work beyond pool-size.
+ * With spring.threads.virtual.enabled=true each execution gets its own virtual thread
+ * (the same switch moves Tomcat request handling onto virtual threads).
+ */
+@Configuration
+public class ExecutionConfig {
+
+    /**
+     * Worker pool for all task executions, without a queue of its own
+     *
+     * @param poolSize Highest number of executions running at once
+     * @param virtualThreads Whether to run executions on virtual threads
+     * @return The executor
+     */
+    @Bean(destroyMethod = "shutdown")
+    public Executor taskExecutionExecutor(
+            @Value("${taskmanager.execution.async.pool-size:4}") int poolSize,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            return new BoundedVirtualThreadExecutor(poolSize, 0, "task-exec-");
+        }
+
+        return new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(),
+                namedThreadFactory("task-exec-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Create a thread factory producing daemon threads with a common name prefix
+     *
+     * @param prefix The thread name prefix
+     * @return The thread factory
+     */
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
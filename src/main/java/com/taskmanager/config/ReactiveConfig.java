@@ -0,0 +1,27 @@
+package com.taskmanager.config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * ReactiveConfig sets up the server of the "reactive" profile.
+ * Tomcat stays on the classpath for the default servlet stack and would otherwise be picked
+ * for WebFlux too; Netty serves every connection from a few event-loop threads, so the
+ * number of open connections is bounded by sockets rather than by request threads.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+    /**
+     * Netty server for WebFlux
+     *
+     * @return The server factory
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,83 @@
+package com.taskmanager.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.dto.BatchExecutionResult;
+import com.taskmanager.service.BatchExecutionListener;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+
+/**
+ * BatchResultWriter streams the results of a batch execution as one JSON array.
+ * The opening bracket is sent right away, each result as soon as its task finishes
+ * and the closing bracket once the batch is done. The batch keeps running and its
+ * executions are still stored if the client disconnects.
+ */
+class BatchResultWriter implements BatchExecutionListener {
+
+    private final ResponseBodyEmitter emitter;
+    private final ObjectMapper objectMapper;
+    private boolean first = true;
+    private volatile boolean disconnected;
+
+    /**
+     * Constructor with the target stream
+     *
+     * @param emitter The response stream of the client
+     * @param objectMapper JSON mapper for the results
+     */
+    BatchResultWriter(ResponseBodyEmitter emitter, ObjectMapper objectMapper) {
+        this.emitter = emitter;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Open the JSON array
+     */
+    void begin() {
+        send("[");
+    }
+
+    /**
+     * Send one result as the next array element
+     *
+     * @param result The task result
+     */
+    @Override
+    public void onResult(BatchExecutionResult result) {
+        try {
+            send((first ? "" : ",") + objectMapper.writeValueAsString(result));
+            first = false;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize batch result of task " + result.getTaskId(), e);
+        }
+    }
+
+    /**
+     * Close the JSON array and the stream
+     */
+    @Override
+    public void onComplete() {
+        send("]");
+        emitter.complete();
+    }
+
+    /**
+     * Send a piece of the array, giving up quietly once the client has gone away
+     *
+     * @param json The JSON text
+     */
+    private void send(String json) {
+        if (disconnected) {
+            return;
+        }
+        try {
+            emitter.send(json, MediaType.APPLICATION_JSON);
+        } catch (IOException | IllegalStateException e) {
+            // Client disconnected; the batch keeps running and its executions are still stored
+            disconnected = true;
+        }
+    }
+}
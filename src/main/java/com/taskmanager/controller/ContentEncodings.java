@@ -0,0 +1,72 @@
+package com.taskmanager.controller;
+
+import java.util.Locale;
+
+/**
+ * ContentEncodings negotiates the response encoding of endpoints that send gzip to clients
+ * accepting it and plain bytes to the others. Such responses depend on Accept-Encoding and
+ * must say so with Vary, or a shared cache may hand the gzip body to a client that cannot
+ * decode it.
+ */
+final class ContentEncodings {
+
+    /**
+     * The gzip content coding
+     */
+    static final String GZIP = "gzip";
+
+    private ContentEncodings() {}
+
+    /**
+     * Tell whether an Accept-Encoding header accepts gzip. A coding listed with q=0 is refused;
+     * gzip (or its alias x-gzip) listed explicitly takes precedence over the * wildcard.
+     *
+     * @param acceptEncoding The Accept-Encoding header, e.g. "gzip, deflate;q=0.5"; null if absent
+     * @return true if the response may be gzip-compressed
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        Double gzipWeight = null;
+        Double wildcardWeight = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double weight = weightOf(parts);
+            if (coding.equals(GZIP) || coding.equals("x-gzip")) {
+                gzipWeight = gzipWeight == null ? weight : Math.max(gzipWeight, weight);
+            } else if (coding.equals("*")) {
+                wildcardWeight = weight;
+            }
+        }
+
+        if (gzipWeight != null) {
+            return gzipWeight > 0;
+        }
+        return wildcardWeight != null && wildcardWeight > 0;
+    }
+
+    /**
+     * Read the q parameter of one Accept-Encoding element
+     *
+     * @param parts The element split at ';': the coding followed by its parameters
+     * @return The weight, 1 if absent; 0 if malformed, so a garbled element never enables gzip
+     */
+    private static double weightOf(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 1 && Character.toLowerCase(parameter.charAt(0)) == 'q'
+                    && parameter.substring(1).trim().startsWith("=")) {
+                try {
+                    double weight = Double.parseDouble(parameter.substring(parameter.indexOf('=') + 1).trim());
+                    return weight >= 0 && weight <= 1 ? weight : 0;
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
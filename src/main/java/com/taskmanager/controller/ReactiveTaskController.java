@@ -0,0 +1,629 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.dto.BatchExecutionRequest;
+import com.taskmanager.dto.BatchExecutionResult;
+import com.taskmanager.dto.TaskBulkResult;
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.dto.TaskEvent;
+import com.taskmanager.dto.TaskImportResult;
+import com.taskmanager.dto.TaskStats;
+import com.taskmanager.dto.TransferRecord;
+import com.taskmanager.exception.TaskNotFoundException;
+import com.taskmanager.model.ExecutionJob;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskExecution;
+import com.taskmanager.service.BatchExecutionListener;
+import com.taskmanager.service.BatchExecutionService;
+import com.taskmanager.service.ExecutionEvent;
+import com.taskmanager.service.ExecutionJobService;
+import com.taskmanager.service.OutputListener;
+import com.taskmanager.service.ReactiveTaskService;
+import com.taskmanager.service.TaskEventFeed;
+import com.taskmanager.service.TaskService;
+import com.taskmanager.service.TaskTransferService;
+import com.taskmanager.util.ChunkDecoder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * ReactiveTaskController serves the same REST API as TaskController on WebFlux, when the
+ * "reactive" profile is active. Task reads and writes, search, execution history and live
+ * output are non-blocking end to end; bulk upserts, batches and job polling reuse the
+ * blocking services on the boundedElastic scheduler.
+ * Base URL: /api/v1/tasks
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/tasks")
+@CrossOrigin(origins = "*") // Allow CORS for testing with Postman/frontend
+public class ReactiveTaskController {
+
+    /**
+     * Upper bound for how long a client may wait on GET /tasks/jobs/{jobId}
+     */
+    private static final long MAX_WAIT_SECONDS = 30;
+
+    /**
+     * Page size limits for GET /tasks and GET /tasks/{id}/executions
+     */
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Maximum number of tasks in PUT /tasks/bulk and of IDs in GET /tasks?ids=
+     */
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    /**
+     * Size of the buffers a stored output is sent in
+     */
+    private static final int OUTPUT_BUFFER_BYTES = 8192;
+
+    /**
+     * Size of the buffers an export is sent in
+     */
+    private static final int TRANSFER_BUFFER_BYTES = 65536;
+
+    /**
+     * Number of import records decoded ahead of the batch being written
+     */
+    private static final int IMPORT_PREFETCH = 256;
+
+    /**
+     * Response header carrying the cursor of the next page
+     */
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Response header carrying the total number of search matches
+     */
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private final ReactiveTaskService reactiveTaskService;
+    private final TaskService taskService;
+    private final ExecutionJobService executionJobService;
+    private final BatchExecutionService batchExecutionService;
+    private final TaskTransferService taskTransferService;
+    private final TaskEventFeed taskEventFeed;
+    private final Duration eventStreamTimeout;
+    private final Duration eventHeartbeat;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param reactiveTaskService Non-blocking service for task operations
+     * @param taskService Blocking service for bulk upserts, validation and cache statistics
+     * @param executionJobService Service for asynchronous executions
+     * @param batchExecutionService Service for batch executions
+     * @param taskTransferService Service for NDJSON export and import
+     * @param taskEventFeed Feed of task and execution events for GET /tasks/events
+     * @param eventStreamTimeoutMinutes How long an event stream stays open before the client reconnects
+     * @param eventHeartbeatSeconds How often an idle event stream gets a keep-alive comment
+     */
+    @Autowired
+    public ReactiveTaskController(ReactiveTaskService reactiveTaskService, TaskService taskService,
+                                  ExecutionJobService executionJobService,
+                                  BatchExecutionService batchExecutionService,
+                                  TaskTransferService taskTransferService,
+                                  TaskEventFeed taskEventFeed,
+                                  @Value("${taskmanager.events.stream-timeout-minutes:30}") long eventStreamTimeoutMinutes,
+                                  @Value("${taskmanager.events.heartbeat-seconds:15}") long eventHeartbeatSeconds) {
+        this.reactiveTaskService = reactiveTaskService;
+        this.taskService = taskService;
+        this.executionJobService = executionJobService;
+        this.batchExecutionService = batchExecutionService;
+        this.taskTransferService = taskTransferService;
+        this.taskEventFeed = taskEventFeed;
+        this.eventStreamTimeout = Duration.ofMinutes(eventStreamTimeoutMinutes);
+        this.eventHeartbeat = Duration.ofSeconds(eventHeartbeatSeconds);
+    }
+
+    /**
+     * GET /tasks - Get a page of tasks, a specific task by ID, or several tasks by ID
+     * Tasks are ordered by ID and written as they are read from the database cursor.
+     * When more tasks follow, the X-Next-Cursor header holds the cursor of the next page, and the
+     * page ends at that task; it may hold more than limit tasks if tasks are inserted meanwhile.
+     * With ids=a,b,c the tasks found are returned in the order given; unknown IDs are left out.
+     *
+     * @param id Optional task ID parameter
+     * @param ids Optional comma-separated task IDs (at most 1000)
+     * @param cursor Optional cursor from a previous page's X-Next-Cursor header
+     * @param limit Maximum number of tasks in the page (1-1000, default 100)
+     * @return A page of tasks, a specific task, or the tasks with the given IDs
+     */
+    @GetMapping
+    public Mono<ResponseEntity<?>> getTasks(@RequestParam(required = false) String id,
+                                            @RequestParam(required = false) List<String> ids,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        if (ids != null) {
+            List<String> taskIds = ids.stream()
+                    .map(String::trim)
+                    .filter(taskId -> !taskId.isEmpty())
+                    .toList();
+            if (taskIds.isEmpty()) {
+                throw new IllegalArgumentException("Parameter 'ids' cannot be empty");
+            }
+            if (taskIds.size() > MAX_BATCH_SIZE) {
+                throw new IllegalArgumentException("Parameter 'ids' cannot hold more than " + MAX_BATCH_SIZE + " IDs");
+            }
+            return Mono.just(ResponseEntity.ok().body(reactiveTaskService.getTasksByIds(taskIds)));
+        }
+
+        if (id != null && !id.trim().isEmpty()) {
+            return reactiveTaskService.getTaskById(id.trim())
+                    .switchIfEmpty(Mono.error(() -> new TaskNotFoundException("Task with ID '" + id + "' not found")))
+                    .map(ResponseEntity::ok);
+        }
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Parameter 'limit' must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        String afterId = cursor != null && !cursor.isEmpty() ? cursor : null;
+
+        return reactiveTaskService.getNextPageCursor(afterId, limit)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .map(next -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+                    next.ifPresent(value -> response.header(NEXT_CURSOR_HEADER, value));
+                    // The page ends at the cursor in the header, so tasks inserted meanwhile are not skipped
+                    return response.body(reactiveTaskService.getTasks(afterId, next.orElse(null), limit));
+                });
+    }
+
+    /**
+     * PUT /tasks - Create or update a task
+     * When the body carries the version of the task last read, the update is rejected
+     * with 409 Conflict if the task has changed since.
+     *
+     * @param taskRequest The task data from request body
+     * @return The created/updated task
+     */
+    @PutMapping
+    public Mono<Task> createOrUpdateTask(@Valid @RequestBody TaskCreateRequest taskRequest) {
+        return reactiveTaskService.createOrUpdateTask(taskRequest);
+    }
+
+    /**
+     * PUT /tasks/bulk - Create or update many tasks with one database write
+     * Each task is validated like in PUT /tasks; invalid tasks are rejected without
+     * affecting the others, so the response is 200 with one result per task, in request order.
+     *
+     * @param taskRequests The tasks from the request body (at most 1000)
+     * @return The result for each task
+     */
+    @PutMapping("/bulk")
+    public Mono<List<TaskBulkResult>> bulkCreateOrUpdateTasks(@RequestBody List<TaskCreateRequest> taskRequests) {
+        if (taskRequests == null || taskRequests.isEmpty()) {
+            throw new IllegalArgumentException("Request body must contain at least one task");
+        }
+        if (taskRequests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A bulk request cannot hold more than " + MAX_BATCH_SIZE + " tasks");
+        }
+        return Mono.fromCallable(() -> taskService.bulkCreateOrUpdateTasks(taskRequests))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * GET /tasks/export - Export all tasks, then their executions, as newline-delimited JSON
+     * The blocking cursors are read on boundedElastic; the writer waits while the client is
+     * slower than the database, so no more than a few buffers are held at a time.
+     *
+     * @param executions Whether to export the executions too (default true)
+     * @param acceptEncoding The client's Accept-Encoding header
+     * @return The records as application/x-ndjson
+     */
+    @GetMapping("/export")
+    public ResponseEntity<Flux<DataBuffer>> exportTasks(
+            @RequestParam(defaultValue = "true") boolean executions,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = ContentEncodings.acceptsGzip(acceptEncoding);
+
+        Flux<DataBuffer> body = Flux.from(DataBufferUtils.outputStreamPublisher(out -> {
+            try {
+                if (gzip) {
+                    GZIPOutputStream compressed = new GZIPOutputStream(out, TRANSFER_BUFFER_BYTES);
+                    taskTransferService.exportNdjson(compressed, executions);
+                    compressed.finish();
+                } else {
+                    taskTransferService.exportNdjson(out, executions);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, DefaultDataBufferFactory.sharedInstance, task -> Schedulers.boundedElastic().schedule(task),
+                TRANSFER_BUFFER_BYTES));
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, ContentEncodings.GZIP);
+        }
+        return response.body(body);
+    }
+
+    /**
+     * POST /tasks/import - Import records in the format of GET /tasks/export
+     * Records are decoded as they arrive and handed to the blocking import on boundedElastic,
+     * which requests more only as it writes its batches. Compressed bodies are not accepted.
+     * Responds 400 if the body could not be read to the end; the records before are stored.
+     *
+     * @param records The decoded records of the request body
+     * @param contentEncoding The Content-Encoding header of the request
+     * @return Counts of what was written and why records were not
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Mono<ResponseEntity<TaskImportResult>> importTasks(
+            @RequestBody Flux<TransferRecord> records,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding) {
+        if (contentEncoding != null && !contentEncoding.equalsIgnoreCase("identity")) {
+            throw new IllegalArgumentException("Content-Encoding '" + contentEncoding + "' is not supported; "
+                    + "send the import uncompressed");
+        }
+        return Mono.fromCallable(() -> taskTransferService.importRecords(records.toIterable(IMPORT_PREFETCH).iterator()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(result -> ResponseEntity
+                        .status(result.getError() != null ? HttpStatus.BAD_REQUEST : HttpStatus.OK)
+                        .body(result));
+    }
+
+    /**
+     * DELETE /tasks/{id} - Delete a task by ID
+     *
+     * @param id The task ID to delete
+     * @return Success or error response
+     */
+    @DeleteMapping("/{id}")
+    public Mono<String> deleteTask(@PathVariable String id) {
+        return reactiveTaskService.deleteTask(id)
+                .map(deleted -> {
+                    if (!deleted) {
+                        throw new TaskNotFoundException("Task with ID '" + id + "' not found");
+                    }
+                    return "Task with ID '" + id + "' has been deleted successfully";
+                });
+    }
+
+    /**
+     * GET /tasks/search - Find tasks whose name contains the given text
+     * The text is matched literally and case-insensitively.
+     * The X-Total-Count header holds the number of matching tasks.
+     *
+     * @param name The name pattern to search for
+     * @param limit Maximum number of tasks returned (1-1000, default 100)
+     * @return List of matching tasks
+     */
+    @GetMapping("/search")
+    public Mono<ResponseEntity<List<Task>>> findTasksByName(@RequestParam String name,
+                                                            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Search parameter 'name' cannot be empty");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Parameter 'limit' must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        String text = name.trim();
+        return reactiveTaskService.findTasksByName(text, limit)
+                .collectList()
+                .flatMap(tasks -> {
+                    if (tasks.isEmpty()) {
+                        return Mono.error(new TaskNotFoundException("No tasks found with name containing '" + name + "'"));
+                    }
+                    Mono<Long> total = tasks.size() < limit
+                            ? Mono.just((long) tasks.size())
+                            : reactiveTaskService.countTasksByName(text);
+                    return total.map(count -> ResponseEntity.ok()
+                            .header(TOTAL_COUNT_HEADER, String.valueOf(count))
+                            .body(tasks));
+                });
+    }
+
+    /**
+     * PUT /tasks/{id}/execute - Execute a task by ID
+     * The command runs on the execution pool; no request thread waits for it.
+     * With async=true the execution is queued and 202 Accepted is returned with a job handle
+     * that can be polled at GET /tasks/jobs/{jobId}.
+     *
+     * @param id The task ID to execute
+     * @param async Whether to run the execution in the background
+     * @param request The HTTP request, for the job location
+     * @return The task execution result, or the job handle when async
+     */
+    @PutMapping("/{id}/execute")
+    public Mono<ResponseEntity<?>> executeTask(@PathVariable String id,
+                                               @RequestParam(defaultValue = "false") boolean async,
+                                               ServerHttpRequest request) {
+        if (async) {
+            return Mono.fromCallable(() -> executionJobService.submit(id))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .map(job -> ResponseEntity.accepted().location(jobLocation(request, job)).body(job));
+        }
+
+        return reactiveTaskService.executeTask(id).map(ResponseEntity::ok);
+    }
+
+    /**
+     * POST /tasks/execute-batch - Execute many tasks in parallel
+     * The body names the tasks either by "ids" or by "owner", and may set "concurrency"
+     * (tasks running at once). The response is a JSON array of per-task results, streamed
+     * in the order the tasks finish. Execution records are stored in bulk as results arrive,
+     * and still are if the client disconnects.
+     *
+     * @param request The batch request
+     * @return The stream of results
+     */
+    @PostMapping(value = "/execute-batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<BatchExecutionResult> executeBatch(@RequestBody BatchExecutionRequest request) {
+        return Mono.fromCallable(() -> batchExecutionService.plan(request))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(plan -> Flux.<BatchExecutionResult>create(sink ->
+                        // Results are pushed from the batch's coordinator thread; a cancel only stops the writing
+                        batchExecutionService.start(plan, new BatchExecutionListener() {
+                            @Override
+                            public void onResult(BatchExecutionResult result) {
+                                sink.next(result);
+                            }
+
+                            @Override
+                            public void onComplete() {
+                                sink.complete();
+                            }
+                        })));
+    }
+
+    /**
+     * GET /tasks/jobs/{jobId} - Get the state of an asynchronous execution
+     *
+     * @param jobId The execution job ID
+     * @param waitSeconds Optional time to wait for the execution to finish (capped at 30 seconds)
+     * @return The execution job
+     */
+    @GetMapping("/jobs/{jobId}")
+    public Mono<ExecutionJob> getExecutionJob(@PathVariable String jobId,
+                                              @RequestParam(defaultValue = "0") long waitSeconds) {
+        if (waitSeconds < 0) {
+            throw new IllegalArgumentException("Parameter 'waitSeconds' cannot be negative");
+        }
+
+        return Mono.fromCallable(() -> waitSeconds > 0
+                        ? executionJobService.awaitJob(jobId, Math.min(waitSeconds, MAX_WAIT_SECONDS) * 1000)
+                        : executionJobService.getJob(jobId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(Mono::justOrEmpty)
+                .switchIfEmpty(Mono.error(() -> new TaskNotFoundException("Execution job with ID '" + jobId + "' not found")));
+    }
+
+    /**
+     * GET /tasks/{id}/executions - Get execution history for a task, newest first
+     * When more executions follow, the X-Next-Cursor header holds the cursor of the next page.
+     *
+     * @param id The task ID
+     * @param from Optional ISO-8601 time; only executions started at or after it
+     * @param to Optional ISO-8601 time; only executions started before it
+     * @param cursor Optional cursor from a previous page's X-Next-Cursor header
+     * @param limit Maximum number of executions in the page (1-1000, default 100)
+     * @return List of task executions
+     */
+    @GetMapping("/{id}/executions")
+    public Mono<ResponseEntity<List<TaskExecution>>> getTaskExecutions(
+            @PathVariable String id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Parameter 'limit' must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        return reactiveTaskService.getTaskExecutions(id, from, to, cursor != null && !cursor.isEmpty() ? cursor : null, limit)
+                .map(page -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    if (page.getNextCursor() != null) {
+                        response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+                    }
+                    return response.body(page.getExecutions());
+                });
+    }
+
+    /**
+     * GET /tasks/{id}/executions/{executionId}/output - Get the full output of an execution
+     * whose record only holds a preview (it has stdoutRef/stderrRef). The output is stored
+     * compressed; it is sent as is to clients accepting gzip and decompressed for the others.
+     *
+     * @param id The task ID
+     * @param executionId The execution ID
+     * @param stream Either stdout (default) or stderr
+     * @param acceptEncoding The client's Accept-Encoding header
+     * @return The output as plain text
+     */
+    @GetMapping("/{id}/executions/{executionId}/output")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getExecutionOutput(
+            @PathVariable String id,
+            @PathVariable String executionId,
+            @RequestParam(defaultValue = "stdout") String stream,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = ContentEncodings.acceptsGzip(acceptEncoding);
+
+        // GridFS and gzip streams block, so they are opened and read on boundedElastic
+        return Mono.fromCallable(() -> {
+                    InputStream compressed = taskService.openExecutionOutput(id, executionId, stream);
+                    return gzip ? compressed : new GZIPInputStream(compressed);
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(in -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.TEXT_PLAIN)
+                            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+                    if (gzip) {
+                        response.header(HttpHeaders.CONTENT_ENCODING, ContentEncodings.GZIP);
+                    }
+                    return response.body(DataBufferUtils.readInputStream(() -> in,
+                                    DefaultDataBufferFactory.sharedInstance, OUTPUT_BUFFER_BYTES)
+                            .subscribeOn(Schedulers.boundedElastic()));
+                });
+    }
+
+    /**
+     * GET /tasks/{id}/stats - Execution statistics of a task over the last hour, day and week
+     *
+     * @param id The task ID
+     * @return The statistics by window
+     */
+    @GetMapping("/{id}/stats")
+    public Mono<TaskStats> getTaskStats(@PathVariable String id) {
+        return Mono.fromCallable(() -> taskService.getTaskStats(id))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * GET /tasks/{id}/executions/live - Execute a task and stream its output as Server-Sent Events
+     * Sends "stdout"/"stderr" events as output arrives and a final "execution" event with the
+     * stored record (or an "error" event). The execution is stored even if the client disconnects.
+     *
+     * @param id The task ID to execute
+     * @return The event stream
+     */
+    @GetMapping(value = "/{id}/executions/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Mono<Flux<ServerSentEvent<Object>>> executeTaskLive(@PathVariable String id) {
+        // A missing task, unsafe command or full pool fails before the stream starts, with its own status
+        return reactiveTaskService.executeTaskLive(id).map(ReactiveTaskController::toServerSentEvents);
+    }
+
+    /**
+     * GET /tasks/events - Watch task and execution changes as Server-Sent Events instead of polling
+     * Same events, resume tokens and reset semantics as in TaskController. Events are produced
+     * only as fast as the client takes them.
+     *
+     * @param lastEventId ID of the last event received, sent by reconnecting EventSource clients
+     * @param after ID of the last event received, for clients that cannot set headers
+     * @return The event stream
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<TaskEvent>> streamEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(required = false) String after) {
+        // The header is newer than the URL when EventSource reconnects
+        String resumeAfter = lastEventId != null && !lastEventId.isBlank() ? lastEventId : after;
+
+        Flux<ServerSentEvent<TaskEvent>> events = taskEventFeed.subscribe(resumeAfter)
+                .map(event -> ServerSentEvent.builder(event).id(event.getId()).event(event.getType()).build());
+        Flux<ServerSentEvent<TaskEvent>> heartbeats = Flux.interval(eventHeartbeat, eventHeartbeat)
+                .onBackpressureDrop()
+                .map(tick -> ServerSentEvent.<TaskEvent>builder().comment("keep-alive").build());
+        return Flux.merge(events, heartbeats).take(eventStreamTimeout);
+    }
+
+    /**
+     * GET /tasks/validate - Validate if a command is safe (utility endpoint)
+     *
+     * @param command The command to validate
+     * @return Validation result
+     */
+    @GetMapping("/validate")
+    public ResponseEntity<String> validateCommand(@RequestParam String command) {
+        if (command == null || command.trim().isEmpty()) {
+            throw new IllegalArgumentException("Command parameter cannot be empty");
+        }
+
+        boolean isSafe = taskService.isCommandSafe(command);
+        if (isSafe) {
+            return ResponseEntity.ok("Command is safe to execute");
+        } else {
+            return ResponseEntity.badRequest()
+                    .body("Command is not safe: contains dangerous operations or patterns");
+        }
+    }
+
+    /**
+     * GET /tasks/cache/stats - Hit/miss statistics of the task cache on this replica
+     *
+     * @return Cache statistics
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(taskService.getCacheStats());
+    }
+
+    /**
+     * GET /health - Health check endpoint
+     *
+     * @return Health status
+     */
+    @GetMapping("/health")
+    public ResponseEntity<String> health() {
+        return ResponseEntity.ok("Task Manager API is running");
+    }
+
+    /**
+     * Turn live execution events into Server-Sent Events, decoding each output stream to text
+     *
+     * @param events The execution events
+     * @return The SSE stream; a failure becomes a final "error" event
+     */
+    private static Flux<ServerSentEvent<Object>> toServerSentEvents(Flux<ExecutionEvent> events) {
+        return Flux.defer(() -> {
+            ChunkDecoder stdoutDecoder = new ChunkDecoder();
+            ChunkDecoder stderrDecoder = new ChunkDecoder();
+            return events
+                    .<ServerSentEvent<Object>>handle((event, sink) -> {
+                        if (event.isFinished()) {
+                            sink.next(ServerSentEvent.builder((Object) event.getExecution()).event("execution").build());
+                            return;
+                        }
+                        ChunkDecoder decoder = OutputListener.STDOUT.equals(event.getStream()) ? stdoutDecoder : stderrDecoder;
+                        String text = decoder.decode(event.getChunk(), 0, event.getChunk().length);
+                        if (!text.isEmpty()) {
+                            sink.next(ServerSentEvent.builder((Object) text).event(event.getStream()).build());
+                        }
+                    })
+                    .onErrorResume(e -> Mono.just(ServerSentEvent.builder((Object) ("Failed to execute task: " + e.getMessage()))
+                            .event("error")
+                            .build()));
+        });
+    }
+
+    /**
+     * Build the URL of an execution job
+     *
+     * @param request The current request
+     * @param job The execution job
+     * @return The job URL under the application's base path
+     */
+    private static URI jobLocation(ServerHttpRequest request, ExecutionJob job) {
+        return UriComponentsBuilder.fromUri(request.getURI())
+                .replacePath(request.getPath().contextPath().value() + "/tasks/jobs/{jobId}")
+                .replaceQuery(null)
+                .buildAndExpand(job.getId())
+                .toUri();
+    }
+}
@@ -0,0 +1,81 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.dto.TaskEvent;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+/**
+ * SseEventForwarder sends task events to a Server-Sent Events stream. Each event goes out with
+ * its ID, so a reconnecting EventSource resumes after it through Last-Event-ID, and its type as
+ * the event name. A comment is sent when no event arrived for a while, so proxies keep the
+ * connection open and a client that has gone away is noticed. Sends block on slow clients, so
+ * they run on boundedElastic; the feed produces events only as fast as they are sent.
+ */
+class SseEventForwarder {
+
+    private final SseEmitter emitter;
+
+    /**
+     * Constructor with the target stream
+     *
+     * @param emitter The SSE stream of the client
+     */
+    SseEventForwarder(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    /**
+     * Forward events until the stream ends, times out or the client disconnects
+     *
+     * @param events The events to send
+     * @param heartbeat How often to send a comment
+     */
+    void forward(Flux<TaskEvent> events, Duration heartbeat) {
+        Flux<SseEmitter.SseEventBuilder> messages = Flux.merge(
+                events.map(SseEventForwarder::toMessage),
+                Flux.interval(heartbeat, heartbeat)
+                        .onBackpressureDrop()
+                        .map(tick -> SseEmitter.event().comment("keep-alive")));
+
+        Disposable subscription = messages
+                .publishOn(Schedulers.boundedElastic())
+                .subscribe(this::send, error -> emitter.complete(), emitter::complete);
+        emitter.onCompletion(subscription::dispose);
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(error -> subscription.dispose());
+    }
+
+    /**
+     * Build the SSE message of an event
+     *
+     * @param event The event
+     * @return The message
+     */
+    private static SseEmitter.SseEventBuilder toMessage(TaskEvent event) {
+        SseEmitter.SseEventBuilder message = SseEmitter.event()
+                .name(event.getType())
+                .data(event, MediaType.APPLICATION_JSON);
+        return event.getId() != null ? message.id(event.getId()) : message;
+    }
+
+    /**
+     * Send one message; a failure ends the subscription
+     *
+     * @param message The message
+     */
+    private void send(SseEmitter.SseEventBuilder message) {
+        try {
+            emitter.send(message);
+        } catch (IOException e) {
+            // Client disconnected
+            throw new UncheckedIOException(e);
+        }
+    }
+}
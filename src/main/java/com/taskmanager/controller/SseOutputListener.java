@@ -0,0 +1,86 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.model.TaskExecution;
+import com.taskmanager.service.OutputListener;
+import com.taskmanager.util.ChunkDecoder;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+/**
+ * SseOutputListener forwards live process output to a Server-Sent Events stream.
+ * Each chunk becomes a "stdout" or "stderr" event; the stored execution record is sent
+ * as a final "execution" event. Multi-byte characters split across reads are carried
+ * over to the next chunk so that every event holds complete text.
+ */
+class SseOutputListener implements OutputListener {
+
+    private final SseEmitter emitter;
+    private final ChunkDecoder stdoutDecoder = new ChunkDecoder();
+    private final ChunkDecoder stderrDecoder = new ChunkDecoder();
+    private volatile boolean disconnected;
+
+    /**
+     * Constructor with the target stream
+     *
+     * @param emitter The SSE stream of the client
+     */
+    SseOutputListener(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    /**
+     * Send a chunk of output as an SSE event named after its stream
+     *
+     * @param stream Either stdout or stderr
+     * @param chunk Buffer holding the bytes read
+     * @param offset Start of the bytes in the buffer
+     * @param length Number of bytes read
+     */
+    @Override
+    public void onOutput(String stream, byte[] chunk, int offset, int length) {
+        ChunkDecoder decoder = STDOUT.equals(stream) ? stdoutDecoder : stderrDecoder;
+        String text = decoder.decode(chunk, offset, length);
+        if (!text.isEmpty()) {
+            send(SseEmitter.event().name(stream).data(text));
+        }
+    }
+
+    /**
+     * Send the stored execution record and close the stream
+     *
+     * @param execution The stored execution record
+     */
+    void complete(TaskExecution execution) {
+        send(SseEmitter.event().name("execution").data(execution, MediaType.APPLICATION_JSON));
+        emitter.complete();
+    }
+
+    /**
+     * Report a failed execution and close the stream
+     *
+     * @param message The failure reason
+     */
+    void fail(String message) {
+        send(SseEmitter.event().name("error").data(message));
+        emitter.complete();
+    }
+
+    /**
+     * Send an SSE event, giving up quietly once the client has gone away
+     *
+     * @param event The event to send
+     */
+    private void send(SseEmitter.SseEventBuilder event) {
+        if (disconnected) {
+            return;
+        }
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // Client disconnected; the execution keeps running and is still stored
+            disconnected = true;
+        }
+    }
+}
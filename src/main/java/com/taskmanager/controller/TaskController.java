@@ -1,49 +1,196 @@
 package com.taskmanager.controller;
 
+import com.taskmanager.dto.BatchExecutionRequest;
+import com.taskmanager.dto.ExecutionPage;
+import com.taskmanager.dto.TaskBulkResult;
 import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.dto.TaskImportResult;
+import com.taskmanager.dto.TaskStats;
+import com.taskmanager.exception.ExecutionRejectedException;
+import com.taskmanager.model.ExecutionJob;
 import com.taskmanager.model.Task;
 import com.taskmanager.model.TaskExecution;
+import com.taskmanager.service.BatchExecutionPlan;
+import com.taskmanager.service.BatchExecutionService;
+import com.taskmanager.service.ExecutionJobService;
+import com.taskmanager.service.FairExecutionScheduler;
+import com.taskmanager.service.TaskEventFeed;
 import com.taskmanager.service.TaskService;
+import com.taskmanager.service.TaskTransferService;
 import com.taskmanager.exception.TaskNotFoundException;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * TaskController handles all REST API endpoints for task management.
+ * The "reactive" profile serves the same API through ReactiveTaskController.
  * Base URL: /api/v1/tasks
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/tasks")
 @CrossOrigin(origins = "*") // Allow CORS for testing with Postman/frontend
 public class TaskController {
 
+    /**
+     * Upper bound for how long a client may block on GET /tasks/jobs/{jobId}
+     */
+    private static final long MAX_WAIT_SECONDS = 30;
+
+    /**
+     * Extra time a live stream stays open beyond the command timeout, for storing the result
+     */
+    private static final long LIVE_STREAM_GRACE_SECONDS = 30;
+
+    /**
+     * Page size limits for GET /tasks and GET /tasks/{id}/executions
+     */
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Maximum number of tasks in PUT /tasks/bulk and of IDs in GET /tasks?ids=
+     */
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    /**
+     * Buffer size of the gzip streams of exports and imports
+     */
+    private static final int TRANSFER_BUFFER_BYTES = 65536;
+
+    /**
+     * Key of the interceptor giving an export its own async timeout
+     */
+    private static final String TRANSFER_TIMEOUT_INTERCEPTOR = TaskController.class.getName() + ".transferTimeout";
+
+    /**
+     * Response header carrying the cursor of the next page
+     */
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Response header carrying the total number of search matches
+     */
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     private final TaskService taskService;
+    private final ExecutionJobService executionJobService;
+    private final BatchExecutionService batchExecutionService;
+    private final FairExecutionScheduler executionScheduler;
+    private final TaskTransferService taskTransferService;
+    private final TaskEventFeed taskEventFeed;
+    private final long liveStreamTimeoutMillis;
+    private final long eventStreamTimeoutMillis;
+    private final long transferTimeoutMillis;
+    private final Duration eventHeartbeat;
+    private final ObjectMapper objectMapper;
 
     /**
      * Constructor with dependency injection
      *
      * @param taskService Service for task operations
+     * @param executionJobService Service for asynchronous executions
+     * @param batchExecutionService Service for batch executions
+     * @param executionScheduler Per-owner fair scheduler running synchronous and live executions
+     * @param taskTransferService Service for NDJSON export and import
+     * @param taskEventFeed Feed of task and execution events for GET /tasks/events
+     * @param executionTimeoutSeconds Maximum run time of a command
+     * @param eventStreamTimeoutMinutes How long an event stream stays open before the client reconnects
+     * @param eventHeartbeatSeconds How often an idle event stream gets a keep-alive comment
+     * @param transferTimeoutMinutes How long an export or import may take
+     * @param objectMapper JSON mapper for streamed responses
      */
     @Autowired
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, ExecutionJobService executionJobService,
+                          BatchExecutionService batchExecutionService,
+                          FairExecutionScheduler executionScheduler,
+                          TaskTransferService taskTransferService,
+                          TaskEventFeed taskEventFeed,
+                          @Value("${taskmanager.execution.timeout-seconds:30}") long executionTimeoutSeconds,
+                          @Value("${taskmanager.events.stream-timeout-minutes:30}") long eventStreamTimeoutMinutes,
+                          @Value("${taskmanager.events.heartbeat-seconds:15}") long eventHeartbeatSeconds,
+                          @Value("${taskmanager.transfer.timeout-minutes:60}") long transferTimeoutMinutes,
+                          ObjectMapper objectMapper) {
         this.taskService = taskService;
+        this.executionJobService = executionJobService;
+        this.batchExecutionService = batchExecutionService;
+        this.executionScheduler = executionScheduler;
+        this.taskTransferService = taskTransferService;
+        this.taskEventFeed = taskEventFeed;
+        this.liveStreamTimeoutMillis = TimeUnit.SECONDS.toMillis(executionTimeoutSeconds + LIVE_STREAM_GRACE_SECONDS);
+        this.eventStreamTimeoutMillis = TimeUnit.MINUTES.toMillis(eventStreamTimeoutMinutes);
+        this.eventHeartbeat = Duration.ofSeconds(eventHeartbeatSeconds);
+        this.transferTimeoutMillis = TimeUnit.MINUTES.toMillis(transferTimeoutMinutes);
+        this.objectMapper = objectMapper;
     }
 
     /**
-     * GET /tasks - Get all tasks or a specific task by ID
+     * GET /tasks - Get a page of tasks, a specific task by ID, or several tasks by ID
+     * Tasks are ordered by ID and streamed from a database cursor without their execution history.
+     * When more tasks follow, the X-Next-Cursor header holds the cursor of the next page, and the
+     * page ends at that task; it may hold more than limit tasks if tasks are inserted meanwhile.
+     * With ids=a,b,c the tasks found are returned in the order given; unknown IDs are left out.
      *
      * @param id Optional task ID parameter
-     * @return List of all tasks or a specific task
+     * @param ids Optional comma-separated task IDs (at most 1000)
+     * @param cursor Optional cursor from a previous page's X-Next-Cursor header
+     * @param limit Maximum number of tasks in the page (1-1000, default 100)
+     * @return A page of tasks, a specific task, or the tasks with the given IDs
      */
     @GetMapping
-    public ResponseEntity<?> getTasks(@RequestParam(required = false) String id) {
+    public ResponseEntity<?> getTasks(@RequestParam(required = false) String id,
+                                      @RequestParam(required = false) List<String> ids,
+                                      @RequestParam(required = false) String cursor,
+                                      @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        if (ids != null) {
+            List<String> taskIds = ids.stream()
+                    .map(String::trim)
+                    .filter(taskId -> !taskId.isEmpty())
+                    .toList();
+            if (taskIds.isEmpty()) {
+                throw new IllegalArgumentException("Parameter 'ids' cannot be empty");
+            }
+            if (taskIds.size() > MAX_BATCH_SIZE) {
+                throw new IllegalArgumentException("Parameter 'ids' cannot hold more than " + MAX_BATCH_SIZE + " IDs");
+            }
+            return ResponseEntity.ok(taskService.getTasksByIds(taskIds));
+        }
+
         if (id != null && !id.trim().isEmpty()) {
             // Get specific task by ID
             Optional<Task> task = taskService.getTaskById(id.trim());
@@ -52,15 +199,39 @@ public class TaskController {
             } else {
                 throw new TaskNotFoundException("Task with ID '" + id + "' not found");
             }
-        } else {
-            // Get all tasks
-            List<Task> tasks = taskService.getAllTasks();
-            return ResponseEntity.ok(tasks);
         }
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Parameter 'limit' must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        String afterId = cursor != null && !cursor.isEmpty() ? cursor : null;
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        String nextCursor = taskService.getNextPageCursor(afterId, limit).orElse(null);
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+
+        // The page ends at the cursor in the header, so tasks inserted meanwhile are not skipped.
+        // Open the cursor here so that database errors are reported before the response starts
+        Stream<Task> tasks = taskService.streamTasks(afterId, nextCursor, limit);
+        StreamingResponseBody body = out -> {
+            try (tasks; JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.writeStartArray();
+                Iterator<Task> iterator = tasks.iterator();
+                while (iterator.hasNext()) {
+                    generator.writeObject(iterator.next());
+                }
+                generator.writeEndArray();
+            }
+        };
+        return response.body(body);
     }
 
     /**
      * PUT /tasks - Create or update a task
+     * When the body carries the version of the task last read, the update is rejected
+     * with 409 Conflict if the task has changed since.
      *
      * @param taskRequest The task data from request body
      * @return The created/updated task
@@ -76,6 +247,95 @@ public class TaskController {
         }
     }
 
+    /**
+     * PUT /tasks/bulk - Create or update many tasks with one database write
+     * Each task is validated like in PUT /tasks; invalid tasks are rejected without
+     * affecting the others, so the response is 200 with one result per task, in request order.
+     *
+     * @param taskRequests The tasks from the request body (at most 1000)
+     * @return The result for each task
+     */
+    @PutMapping("/bulk")
+    public ResponseEntity<List<TaskBulkResult>> bulkCreateOrUpdateTasks(@RequestBody List<TaskCreateRequest> taskRequests) {
+        if (taskRequests == null || taskRequests.isEmpty()) {
+            throw new IllegalArgumentException("Request body must contain at least one task");
+        }
+        if (taskRequests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A bulk request cannot hold more than " + MAX_BATCH_SIZE + " tasks");
+        }
+        return ResponseEntity.ok(taskService.bulkCreateOrUpdateTasks(taskRequests));
+    }
+
+    /**
+     * GET /tasks/export - Export all tasks, then their executions, as newline-delimited JSON
+     * with one {"type":"task"|"execution",...} record per line. Records are written as they are
+     * read from database cursors, gzip-compressed for clients accepting gzip.
+     * Full outputs stored in GridFS are not exported; execution records keep their preview.
+     * The export may run for up to transfer.timeout-minutes.
+     *
+     * @param executions Whether to export the executions too (default true)
+     * @param acceptEncoding The client's Accept-Encoding header
+     * @param request The current request
+     * @return The records as application/x-ndjson
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(defaultValue = "true") boolean executions,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request) {
+        // A StreamingResponseBody always starts with the default async timeout; override it for this request
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(TRANSFER_TIMEOUT_INTERCEPTOR,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest asyncRequest, Callable<T> task) {
+                        ((AsyncWebRequest) asyncRequest).setTimeout(transferTimeoutMillis);
+                    }
+                });
+
+        boolean gzip = ContentEncodings.acceptsGzip(acceptEncoding);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, ContentEncodings.GZIP);
+        }
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, TRANSFER_BUFFER_BYTES);
+                taskTransferService.exportNdjson(compressed, executions);
+                compressed.finish();
+            } else {
+                taskTransferService.exportNdjson(out, executions);
+            }
+        };
+        return response.body(body);
+    }
+
+    /**
+     * POST /tasks/import - Import records in the format of GET /tasks/export
+     * The body is parsed and written in batches as it arrives, so it may be of any size;
+     * it may be gzip-compressed (Content-Encoding: gzip). Tasks are validated and upserted as
+     * by PUT /tasks/bulk; executions already stored, or whose task does not exist, are skipped.
+     * Responds 400 if the body could not be read to the end; the records before are stored.
+     * The import runs off the request thread for up to transfer.timeout-minutes.
+     *
+     * @param body The request body
+     * @param contentEncoding The Content-Encoding header of the request
+     * @return Counts of what was written and why records were not
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public WebAsyncTask<ResponseEntity<TaskImportResult>> importTasks(
+            InputStream body,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding) {
+        boolean gzip = contentEncoding != null && contentEncoding.contains("gzip");
+        return new WebAsyncTask<>(transferTimeoutMillis, () -> {
+            TaskImportResult result = taskTransferService.importNdjson(
+                    gzip ? new GZIPInputStream(body, TRANSFER_BUFFER_BYTES) : body);
+            HttpStatus status = result.getError() != null ? HttpStatus.BAD_REQUEST : HttpStatus.OK;
+            return ResponseEntity.status(status).body(result);
+        });
+    }
+
     /**
      * DELETE /tasks/{id} - Delete a task by ID
      *
@@ -93,38 +353,64 @@ public class TaskController {
     }
 
     /**
-     * GET /tasks/search - Find tasks by name pattern
+     * GET /tasks/search - Find tasks whose name contains the given text
+     * The text is matched literally and case-insensitively.
+     * The X-Total-Count header holds the number of matching tasks.
      *
      * @param name The name pattern to search for
+     * @param limit Maximum number of tasks returned (1-1000, default 100)
      * @return List of matching tasks
      */
     @GetMapping("/search")
-    public ResponseEntity<List<Task>> findTasksByName(@RequestParam String name) {
+    public ResponseEntity<List<Task>> findTasksByName(@RequestParam String name,
+                                                      @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Search parameter 'name' cannot be empty");
         }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Parameter 'limit' must be between 1 and " + MAX_PAGE_SIZE);
+        }
 
-        List<Task> tasks = taskService.findTasksByName(name.trim());
+        List<Task> tasks = taskService.findTasksByName(name.trim(), limit);
 
         if (tasks.isEmpty()) {
             throw new TaskNotFoundException("No tasks found with name containing '" + name + "'");
         }
 
-        return ResponseEntity.ok(tasks);
+        long total = tasks.size() < limit ? tasks.size() : taskService.countTasksByName(name.trim());
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(total))
+                .body(tasks);
     }
 
     /**
      * PUT /tasks/{id}/execute - Execute a task by ID
+     * With async=true the execution is queued and 202 Accepted is returned with a job handle
+     * that can be polled at GET /tasks/jobs/{jobId}. Otherwise the execution waits its turn in
+     * the owner's queue of the FairExecutionScheduler and the request blocks until it finished.
      *
      * @param id The task ID to execute
-     * @return The task execution result
+     * @param async Whether to run the execution in the background
+     * @return The task execution result, or the job handle when async
      */
     @PutMapping("/{id}/execute")
-    public ResponseEntity<TaskExecution> executeTask(@PathVariable String id) {
+    public ResponseEntity<?> executeTask(@PathVariable String id,
+                                         @RequestParam(defaultValue = "false") boolean async) {
+        if (async) {
+            ExecutionJob job = executionJobService.submit(id);
+            URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                    .path("/tasks/jobs/{jobId}")
+                    .buildAndExpand(job.getId())
+                    .toUri();
+            return ResponseEntity.accepted().location(location).body(job);
+        }
+
+        Task task = taskService.getTaskById(id)
+                .orElseThrow(() -> new TaskNotFoundException("Task with ID '" + id + "' not found"));
         try {
-            TaskExecution execution = taskService.executeTask(id);
+            TaskExecution execution = executionScheduler.call(task.getOwner(), id, () -> taskService.executeTask(id));
             return ResponseEntity.ok(execution);
-        } catch (TaskNotFoundException e) {
+        } catch (TaskNotFoundException | ExecutionRejectedException e) {
             throw e; // Will be handled by global exception handler
         } catch (Exception e) {
             throw new RuntimeException("Failed to execute task: " + e.getMessage(), e);
@@ -132,19 +418,180 @@ public class TaskController {
     }
 
     /**
-     * GET /tasks/{id}/executions - Get execution history for a task
+     * POST /tasks/execute-batch - Execute many tasks in parallel
+     * The body names the tasks either by "ids" or by "owner", and may set "concurrency"
+     * (tasks running at once). The response is a JSON array of per-task results, streamed
+     * in the order the tasks finish. Execution records are stored in bulk as results arrive,
+     * and still are if the client disconnects.
+     *
+     * @param request The batch request
+     * @return The stream of results
+     */
+    @PostMapping("/execute-batch")
+    public ResponseEntity<ResponseBodyEmitter> executeBatch(@RequestBody BatchExecutionRequest request) {
+        BatchExecutionPlan plan = batchExecutionService.plan(request);
+
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(
+                batchExecutionService.getMaxRunMillis(plan) + liveStreamTimeoutMillis);
+        BatchResultWriter writer = new BatchResultWriter(emitter, objectMapper);
+        writer.begin();
+        batchExecutionService.start(plan, writer);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(emitter);
+    }
+
+    /**
+     * GET /tasks/jobs/{jobId} - Get the state of an asynchronous execution
+     *
+     * @param jobId The execution job ID
+     * @param waitSeconds Optional time to wait for the execution to finish (capped at 30 seconds)
+     * @return The execution job
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ExecutionJob> getExecutionJob(@PathVariable String jobId,
+                                                        @RequestParam(defaultValue = "0") long waitSeconds) {
+        if (waitSeconds < 0) {
+            throw new IllegalArgumentException("Parameter 'waitSeconds' cannot be negative");
+        }
+
+        Optional<ExecutionJob> job = waitSeconds > 0
+                ? executionJobService.awaitJob(jobId, Math.min(waitSeconds, MAX_WAIT_SECONDS) * 1000)
+                : executionJobService.getJob(jobId);
+        if (job.isPresent()) {
+            return ResponseEntity.ok(job.get());
+        } else {
+            throw new TaskNotFoundException("Execution job with ID '" + jobId + "' not found");
+        }
+    }
+
+    /**
+     * GET /tasks/{id}/executions - Get execution history for a task, newest first
+     * When more executions follow, the X-Next-Cursor header holds the cursor of the next page.
      *
      * @param id The task ID
+     * @param from Optional ISO-8601 time; only executions started at or after it
+     * @param to Optional ISO-8601 time; only executions started before it
+     * @param cursor Optional cursor from a previous page's X-Next-Cursor header
+     * @param limit Maximum number of executions in the page (1-1000, default 100)
      * @return List of task executions
      */
     @GetMapping("/{id}/executions")
-    public ResponseEntity<List<TaskExecution>> getTaskExecutions(@PathVariable String id) {
+    public ResponseEntity<List<TaskExecution>> getTaskExecutions(
+            @PathVariable String id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Parameter 'limit' must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        ExecutionPage page = taskService.getTaskExecutions(id, from, to,
+                cursor != null && !cursor.isEmpty() ? cursor : null, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getExecutions());
+    }
+
+    /**
+     * GET /tasks/{id}/executions/{executionId}/output - Get the full output of an execution
+     * whose record only holds a preview (it has stdoutRef/stderrRef). The output is stored
+     * compressed; it is sent as is to clients accepting gzip and decompressed for the others.
+     *
+     * @param id The task ID
+     * @param executionId The execution ID
+     * @param stream Either stdout (default) or stderr
+     * @param acceptEncoding The client's Accept-Encoding header
+     * @return The output as plain text
+     */
+    @GetMapping("/{id}/executions/{executionId}/output")
+    public ResponseEntity<StreamingResponseBody> getExecutionOutput(
+            @PathVariable String id,
+            @PathVariable String executionId,
+            @RequestParam(defaultValue = "stdout") String stream,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        InputStream compressed = taskService.openExecutionOutput(id, executionId, stream);
+        boolean gzip = ContentEncodings.acceptsGzip(acceptEncoding);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.TEXT_PLAIN)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, ContentEncodings.GZIP);
+        }
+        StreamingResponseBody body = out -> {
+            try (InputStream in = gzip ? compressed : new GZIPInputStream(compressed)) {
+                in.transferTo(out);
+            }
+        };
+        return response.body(body);
+    }
+
+    /**
+     * GET /tasks/{id}/stats - Execution statistics of a task over the last hour, day and week:
+     * counts, error rate, min/max/mean duration and duration percentiles, read from rollups
+     * that are updated as executions are stored
+     *
+     * @param id The task ID
+     * @return The statistics by window
+     */
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<TaskStats> getTaskStats(@PathVariable String id) {
+        return ResponseEntity.ok(taskService.getTaskStats(id));
+    }
+
+    /**
+     * GET /tasks/{id}/executions/live - Execute a task and stream its output as Server-Sent Events
+     * Sends "stdout"/"stderr" events as output arrives and a final "execution" event with the
+     * stored record (or an "error" event). The execution is stored even if the client disconnects.
+     *
+     * @param id The task ID to execute
+     * @return The event stream
+     */
+    @GetMapping("/{id}/executions/live")
+    public SseEmitter executeTaskLive(@PathVariable String id) {
         Optional<Task> task = taskService.getTaskById(id);
-        if (task.isPresent()) {
-            return ResponseEntity.ok(task.get().getTaskExecutions());
-        } else {
+        if (task.isEmpty()) {
             throw new TaskNotFoundException("Task with ID '" + id + "' not found");
         }
+        if (!taskService.isCommandSafe(task.get().getCommand())) {
+            throw new IllegalArgumentException("Cannot execute unsafe command: " + task.get().getCommand());
+        }
+
+        SseEmitter emitter = new SseEmitter(liveStreamTimeoutMillis);
+        SseOutputListener listener = new SseOutputListener(emitter);
+        executionScheduler.executeInteractive(task.get().getOwner(), id, () -> {
+            try {
+                listener.complete(taskService.executeTask(id, listener));
+            } catch (Exception e) {
+                listener.fail("Failed to execute task: " + e.getMessage());
+            }
+        });
+        return emitter;
+    }
+
+    /**
+     * GET /tasks/events - Watch task and execution changes as Server-Sent Events instead of polling
+     * Sends "task.created", "task.updated" (with the task), "task.deleted" and
+     * "execution.completed" (with the execution record, without output) events as they happen on
+     * any replica. Every event carries an ID; a client reconnecting with it in Last-Event-ID (as
+     * EventSource does) or in the after parameter receives every event after it, or a "reset"
+     * event if they are no longer all kept, after which it should reload the tasks it shows.
+     * The stream is closed after a while and the client is expected to reconnect.
+     *
+     * @param lastEventId ID of the last event received, sent by reconnecting EventSource clients
+     * @param after ID of the last event received, for clients that cannot set headers
+     * @return The event stream
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                   @RequestParam(required = false) String after) {
+        // The header is newer than the URL when EventSource reconnects
+        String resumeAfter = lastEventId != null && !lastEventId.isBlank() ? lastEventId : after;
+
+        SseEmitter emitter = new SseEmitter(eventStreamTimeoutMillis);
+        new SseEventForwarder(emitter).forward(taskEventFeed.subscribe(resumeAfter), eventHeartbeat);
+        return emitter;
     }
 
     /**
@@ -168,6 +615,16 @@ public class TaskController {
         }
     }
 
+    /**
+     * GET /tasks/cache/stats - Hit/miss statistics of the task cache on this replica
+     *
+     * @return Cache statistics
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(taskService.getCacheStats());
+    }
+
     /**
      * GET /health - Health check endpoint
      *
@@ -0,0 +1,76 @@
+package com.taskmanager.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for batch execution requests.
+ * Either the task IDs or an owner (whose tasks are all executed) must be given.
+ */
+public class BatchExecutionRequest {
+
+    /**
+     * IDs of the tasks to execute, in the order they are started
+     */
+    private List<String> ids;
+
+    /**
+     * Owner whose tasks are executed, when no IDs are given
+     */
+    private String owner;
+
+    /**
+     * Maximum number of tasks running at once (optional, capped by configuration)
+     */
+    private Integer concurrency;
+
+    // Default constructor
+    public BatchExecutionRequest() {}
+
+    /**
+     * Constructor with all fields
+     *
+     * @param ids IDs of the tasks to execute
+     * @param owner Owner whose tasks are executed
+     * @param concurrency Maximum number of tasks running at once
+     */
+    public BatchExecutionRequest(List<String> ids, String owner, Integer concurrency) {
+        this.ids = ids;
+        this.owner = owner;
+        this.concurrency = concurrency;
+    }
+
+    // Getters and Setters
+
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public Integer getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(Integer concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchExecutionRequest{" +
+                "ids=" + ids +
+                ", owner='" + owner + '\'' +
+                ", concurrency=" + concurrency +
+                '}';
+    }
+}
@@ -0,0 +1,75 @@
+package com.taskmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.taskmanager.model.TaskExecution;
+
+/**
+ * Data Transfer Object for the outcome of one task of a batch execution.
+ * Results are streamed in the order the tasks finish.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchExecutionResult {
+
+    /**
+     * Outcome of a batch item
+     */
+    public enum Status {
+        /** The command ran; the execution record holds its output and exit code */
+        COMPLETED,
+        /** The task was not run: unknown ID or unsafe command */
+        REJECTED,
+        /** The task could not be run or its record could not be built */
+        FAILED
+    }
+
+    /**
+     * The ID of the task
+     */
+    private final String taskId;
+
+    /**
+     * Outcome of the task
+     */
+    private final Status status;
+
+    /**
+     * The execution record, when the command ran
+     */
+    private final TaskExecution execution;
+
+    /**
+     * Why the task was rejected or failed; null when it ran
+     */
+    private final String error;
+
+    /**
+     * Constructor with all fields
+     *
+     * @param taskId The ID of the task
+     * @param status Outcome of the task
+     * @param execution The execution record, or null
+     * @param error Why the task was rejected or failed, or null
+     */
+    public BatchExecutionResult(String taskId, Status status, TaskExecution execution, String error) {
+        this.taskId = taskId;
+        this.status = status;
+        this.execution = execution;
+        this.error = error;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public TaskExecution getExecution() {
+        return execution;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
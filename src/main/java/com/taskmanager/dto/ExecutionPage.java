@@ -0,0 +1,41 @@
+package com.taskmanager.dto;
+
+import com.taskmanager.model.TaskExecution;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of a task's execution history.
+ * The next cursor is returned to clients in the X-Next-Cursor header.
+ */
+public class ExecutionPage {
+
+    /**
+     * Executions in this page, newest first
+     */
+    private final List<TaskExecution> executions;
+
+    /**
+     * Cursor of the following page, or null if this is the last page
+     */
+    private final String nextCursor;
+
+    /**
+     * Constructor with all fields
+     *
+     * @param executions Executions in this page
+     * @param nextCursor Cursor of the following page, or null
+     */
+    public ExecutionPage(List<TaskExecution> executions, String nextCursor) {
+        this.executions = executions;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<TaskExecution> getExecutions() {
+        return executions;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
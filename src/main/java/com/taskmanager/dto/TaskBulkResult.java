@@ -0,0 +1,65 @@
+package com.taskmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Data Transfer Object for the outcome of one item of a bulk task upsert.
+ * Results are returned in the same order as the items of the request.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskBulkResult {
+
+    /**
+     * Outcome of a bulk item
+     */
+    public enum Status {
+        /** The task did not exist and was inserted */
+        CREATED,
+        /** An existing task was replaced */
+        UPDATED,
+        /** The item failed validation and was not written */
+        REJECTED,
+        /** The database refused the write */
+        FAILED
+    }
+
+    /**
+     * Task ID of the item (as sent, may be null for rejected items)
+     */
+    private final String id;
+
+    /**
+     * Outcome of the item
+     */
+    private final Status status;
+
+    /**
+     * Why the item was rejected or failed; null on success
+     */
+    private final String message;
+
+    /**
+     * Constructor with all fields
+     *
+     * @param id Task ID of the item
+     * @param status Outcome of the item
+     * @param message Why the item was rejected or failed, or null
+     */
+    public TaskBulkResult(String id, Status status, String message) {
+        this.id = id;
+        this.status = status;
+        this.message = message;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
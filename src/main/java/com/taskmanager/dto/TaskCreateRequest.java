@@ -32,6 +32,17 @@ public class TaskCreateRequest {
     @NotBlank(message = "Command is required")
     private String command;
 
+    /**
+     * Cron expression on which the task is executed automatically (optional)
+     */
+    private String schedule;
+
+    /**
+     * Version of the task the client last read (optional).
+     * When set, the update only applies if the task still has this version.
+     */
+    private Long version;
+
     // Default constructor
     public TaskCreateRequest() {}
 
@@ -84,6 +95,22 @@ public class TaskCreateRequest {
         this.command = command;
     }
 
+    public String getSchedule() {
+        return schedule;
+    }
+
+    public void setSchedule(String schedule) {
+        this.schedule = schedule;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "TaskCreateRequest{" +
@@ -91,6 +118,8 @@ public class TaskCreateRequest {
                 ", name='" + name + '\'' +
                 ", owner='" + owner + '\'' +
                 ", command='" + command + '\'' +
+                ", schedule='" + schedule + '\'' +
+                ", version=" + version +
                 '}';
     }
 }
\ No newline at end of file
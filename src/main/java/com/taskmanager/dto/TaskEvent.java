@@ -0,0 +1,118 @@
+package com.taskmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.util.Date;
+
+/**
+ * Data Transfer Object for one event of the task event stream (GET /tasks/events).
+ * Task events carry the task as stored after the write; execution events carry the
+ * execution record without its output, which GET /tasks/{id}/executions returns.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskEvent {
+
+    /**
+     * A task was created; task holds it
+     */
+    public static final String TASK_CREATED = "task.created";
+
+    /**
+     * A task was updated; task holds it
+     */
+    public static final String TASK_UPDATED = "task.updated";
+
+    /**
+     * A task was deleted, with its executions
+     */
+    public static final String TASK_DELETED = "task.deleted";
+
+    /**
+     * An execution was stored; execution holds it
+     */
+    public static final String EXECUTION_COMPLETED = "execution.completed";
+
+    /**
+     * The events after the client's resume token are no longer known, so some may have been
+     * missed: the client reloads the tasks it shows, and the stream continues after this event
+     */
+    public static final String RESET = "reset";
+
+    /**
+     * ID of the event, the token to resume the stream after it
+     */
+    private final String id;
+
+    /**
+     * What happened, one of the constants above
+     */
+    private final String type;
+
+    /**
+     * The ID of the task concerned; null for reset events
+     */
+    private final String taskId;
+
+    /**
+     * When the event was recorded
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss.SSSZ", timezone = "UTC")
+    private final Date at;
+
+    /**
+     * The task as JSON, for task.created and task.updated
+     */
+    @JsonRawValue
+    private final String task;
+
+    /**
+     * The execution as JSON, for execution.completed
+     */
+    @JsonRawValue
+    private final String execution;
+
+    /**
+     * Constructor with all fields
+     *
+     * @param id ID of the event
+     * @param type What happened
+     * @param taskId The ID of the task concerned, or null
+     * @param at When the event was recorded
+     * @param task The task as JSON, or null
+     * @param execution The execution as JSON, or null
+     */
+    public TaskEvent(String id, String type, String taskId, Date at, String task, String execution) {
+        this.id = id;
+        this.type = type;
+        this.taskId = taskId;
+        this.at = at;
+        this.task = task;
+        this.execution = execution;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public Date getAt() {
+        return at;
+    }
+
+    public String getTask() {
+        return task;
+    }
+
+    public String getExecution() {
+        return execution;
+    }
+}
@@ -0,0 +1,110 @@
+package com.taskmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the outcome of a task import (POST /tasks/import).
+ * Records are written in batches as they are read, so when the body cannot be read to the end
+ * the batches before the unreadable record are stored and error says where reading stopped.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskImportResult {
+
+    /**
+     * Number of records read
+     */
+    private final long records;
+
+    /**
+     * Number of tasks that did not exist and were inserted
+     */
+    private final long tasksCreated;
+
+    /**
+     * Number of existing tasks that were replaced
+     */
+    private final long tasksUpdated;
+
+    /**
+     * Number of executions inserted
+     */
+    private final long executionsInserted;
+
+    /**
+     * Number of executions left alone because they were already stored
+     */
+    private final long executionsExisting;
+
+    /**
+     * Number of records that failed validation or were refused by the database
+     */
+    private final long failed;
+
+    /**
+     * Why the first failed records were not written, with their position in the body
+     */
+    private final List<String> failures;
+
+    /**
+     * Why the body could not be read to the end; null if it was
+     */
+    private final String error;
+
+    /**
+     * Constructor with all fields
+     *
+     * @param records Number of records read
+     * @param tasksCreated Number of tasks inserted
+     * @param tasksUpdated Number of tasks replaced
+     * @param executionsInserted Number of executions inserted
+     * @param executionsExisting Number of executions already stored
+     * @param failed Number of records not written
+     * @param failures Why the first failed records were not written
+     * @param error Why the body could not be read to the end, or null
+     */
+    public TaskImportResult(long records, long tasksCreated, long tasksUpdated, long executionsInserted,
+                            long executionsExisting, long failed, List<String> failures, String error) {
+        this.records = records;
+        this.tasksCreated = tasksCreated;
+        this.tasksUpdated = tasksUpdated;
+        this.executionsInserted = executionsInserted;
+        this.executionsExisting = executionsExisting;
+        this.failed = failed;
+        this.failures = failures;
+        this.error = error;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public long getTasksCreated() {
+        return tasksCreated;
+    }
+
+    public long getTasksUpdated() {
+        return tasksUpdated;
+    }
+
+    public long getExecutionsInserted() {
+        return executionsInserted;
+    }
+
+    public long getExecutionsExisting() {
+        return executionsExisting;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public List<String> getFailures() {
+        return failures;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
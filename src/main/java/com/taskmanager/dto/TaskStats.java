@@ -0,0 +1,132 @@
+package com.taskmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Data Transfer Object for the execution statistics of a task, by time window ("1h", "24h", "7d").
+ * A window starts at the beginning of the rollup bucket its length reaches back into, so it may
+ * cover up to one bucket (5 minutes for "1h", an hour otherwise) more than its name says.
+ */
+public class TaskStats {
+
+    /**
+     * The ID of the task
+     */
+    private final String taskId;
+
+    /**
+     * Statistics by window name, shortest window first
+     */
+    private final Map<String, WindowStats> windows;
+
+    /**
+     * Constructor with all fields
+     *
+     * @param taskId The ID of the task
+     * @param windows Statistics by window name
+     */
+    public TaskStats(String taskId, Map<String, WindowStats> windows) {
+        this.taskId = taskId;
+        this.windows = windows;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public Map<String, WindowStats> getWindows() {
+        return windows;
+    }
+
+    /**
+     * Statistics of the executions that started within one window.
+     * Durations are in milliseconds and null while the window holds no execution;
+     * percentiles are estimates within 2% of the true value.
+     */
+    public static class WindowStats {
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss.SSSZ", timezone = "UTC")
+        private final Date from;
+        private final long count;
+        private final long failures;
+        private final double errorRate;
+        private final Long minMillis;
+        private final Long maxMillis;
+        private final Double meanMillis;
+        private final Double p50Millis;
+        private final Double p90Millis;
+        private final Double p99Millis;
+
+        /**
+         * Constructor with all fields
+         *
+         * @param from Start of the window
+         * @param count Number of executions
+         * @param failures Number of executions that did not exit with code 0
+         * @param errorRate Share of failed executions, 0 if there were none
+         * @param minMillis Shortest duration
+         * @param maxMillis Longest duration
+         * @param meanMillis Mean duration
+         * @param p50Millis Median duration
+         * @param p90Millis 90th percentile duration
+         * @param p99Millis 99th percentile duration
+         */
+        public WindowStats(Date from, long count, long failures, double errorRate, Long minMillis,
+                           Long maxMillis, Double meanMillis, Double p50Millis, Double p90Millis,
+                           Double p99Millis) {
+            this.from = from;
+            this.count = count;
+            this.failures = failures;
+            this.errorRate = errorRate;
+            this.minMillis = minMillis;
+            this.maxMillis = maxMillis;
+            this.meanMillis = meanMillis;
+            this.p50Millis = p50Millis;
+            this.p90Millis = p90Millis;
+            this.p99Millis = p99Millis;
+        }
+
+        public Date getFrom() {
+            return from;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        public double getErrorRate() {
+            return errorRate;
+        }
+
+        public Long getMinMillis() {
+            return minMillis;
+        }
+
+        public Long getMaxMillis() {
+            return maxMillis;
+        }
+
+        public Double getMeanMillis() {
+            return meanMillis;
+        }
+
+        public Double getP50Millis() {
+            return p50Millis;
+        }
+
+        public Double getP90Millis() {
+            return p90Millis;
+        }
+
+        public Double getP99Millis() {
+            return p99Millis;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.taskmanager.dto;
+
+import com.taskmanager.model.TaskExecution;
+
+/**
+ * Data Transfer Object for one line of a task export (GET /tasks/export, POST /tasks/import).
+ * An export is newline-delimited JSON with one record per line: {"type":"task","task":{...}}
+ * for every task, then {"type":"execution","execution":{...}} for every execution.
+ * A task record holds the task as returned by GET /tasks; its version is not checked on import.
+ */
+public class TransferRecord {
+
+    /**
+     * Type of a record holding a task
+     */
+    public static final String TASK = "task";
+
+    /**
+     * Type of a record holding an execution
+     */
+    public static final String EXECUTION = "execution";
+
+    /**
+     * Either "task" or "execution"
+     */
+    private String type;
+
+    /**
+     * The task, for records of type "task"
+     */
+    private TaskCreateRequest task;
+
+    /**
+     * The execution, for records of type "execution"
+     */
+    private TaskExecution execution;
+
+    // Default constructor
+    public TransferRecord() {}
+
+    // Getters and Setters
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public TaskCreateRequest getTask() {
+        return task;
+    }
+
+    public void setTask(TaskCreateRequest task) {
+        this.task = task;
+    }
+
+    public TaskExecution getExecution() {
+        return execution;
+    }
+
+    public void setExecution(TaskExecution execution) {
+        this.execution = execution;
+    }
+}
@@ -0,0 +1,31 @@
+package com.taskmanager.exception;
+
+/**
+ * Custom exception thrown when the server has no capacity left to accept an execution.
+ * This exception will be handled by the global exception handler to return a 503 status
+ * with a Retry-After header.
+ */
+public class ExecutionRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Suggested number of seconds the client should wait before retrying
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructor with message and retry hint
+     *
+     * @param message The error message describing why the execution was rejected
+     * @param retryAfterSeconds Suggested delay before retrying
+     */
+    public ExecutionRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
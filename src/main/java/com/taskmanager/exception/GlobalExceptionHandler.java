@@ -1,5 +1,8 @@
 package com.taskmanager.exception;
 
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -14,8 +17,10 @@ import java.util.Map;
 /**
  * Global exception handler for the application.
  * This class handles all exceptions and provides consistent error responses.
+ * The "reactive" profile uses ReactiveExceptionHandler instead.
  */
 @ControllerAdvice
+@Profile("!reactive")
 public class GlobalExceptionHandler {
 
     /**
@@ -89,6 +94,50 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handle OptimisticLockingFailureException (409 Conflict)
+     *
+     * @param ex The exception that was thrown
+     * @param request The web request
+     * @return ResponseEntity with error details and 409 status
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex, WebRequest request) {
+
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", HttpStatus.CONFLICT.value());
+        errorResponse.put("error", "Conflict");
+        errorResponse.put("message", ex.getMessage());
+        errorResponse.put("path", request.getDescription(false));
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handle ExecutionRejectedException (503 Service Unavailable)
+     *
+     * @param ex The exception that was thrown
+     * @param request The web request
+     * @return ResponseEntity with error details, a Retry-After header and 503 status
+     */
+    @ExceptionHandler(ExecutionRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleExecutionRejectedException(
+            ExecutionRejectedException ex, WebRequest request) {
+
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        errorResponse.put("error", "Service Unavailable");
+        errorResponse.put("message", ex.getMessage());
+        errorResponse.put("path", request.getDescription(false));
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
     /**
      * Handle all other exceptions (500 Internal Server Error)
      *
@@ -0,0 +1,146 @@
+package com.taskmanager.exception;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Exception handler for the "reactive" profile.
+ * It returns the same error responses as GlobalExceptionHandler, for WebFlux requests.
+ */
+@ControllerAdvice
+@Profile("reactive")
+public class ReactiveExceptionHandler {
+
+    /**
+     * Handle TaskNotFoundException (404 Not Found)
+     *
+     * @param ex The exception that was thrown
+     * @param exchange The current exchange
+     * @return ResponseEntity with error details and 404 status
+     */
+    @ExceptionHandler(TaskNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleTaskNotFoundException(
+            TaskNotFoundException ex, ServerWebExchange exchange) {
+
+        return new ResponseEntity<>(errorResponse(HttpStatus.NOT_FOUND, "Not Found", ex.getMessage(), exchange),
+                HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Handle validation errors (400 Bad Request)
+     *
+     * @param ex The validation exception
+     * @param exchange The current exchange
+     * @return ResponseEntity with validation error details and 400 status
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, Object>> handleValidationException(
+            WebExchangeBindException ex, ServerWebExchange exchange) {
+
+        Map<String, String> validationErrors = new HashMap<>();
+        ex.getBindingResult().getFieldErrors().forEach(error -> {
+            validationErrors.put(error.getField(), error.getDefaultMessage());
+        });
+
+        Map<String, Object> errorResponse = errorResponse(HttpStatus.BAD_REQUEST, "Validation Failed",
+                "Invalid input provided", exchange);
+        errorResponse.put("validationErrors", validationErrors);
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handle IllegalArgumentException (400 Bad Request)
+     *
+     * @param ex The exception that was thrown
+     * @param exchange The current exchange
+     * @return ResponseEntity with error details and 400 status
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, Object>> handleIllegalArgumentException(
+            IllegalArgumentException ex, ServerWebExchange exchange) {
+
+        return new ResponseEntity<>(errorResponse(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage(), exchange),
+                HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handle OptimisticLockingFailureException (409 Conflict)
+     *
+     * @param ex The exception that was thrown
+     * @param exchange The current exchange
+     * @return ResponseEntity with error details and 409 status
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex, ServerWebExchange exchange) {
+
+        return new ResponseEntity<>(errorResponse(HttpStatus.CONFLICT, "Conflict", ex.getMessage(), exchange),
+                HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handle ExecutionRejectedException (503 Service Unavailable)
+     *
+     * @param ex The exception that was thrown
+     * @param exchange The current exchange
+     * @return ResponseEntity with error details, a Retry-After header and 503 status
+     */
+    @ExceptionHandler(ExecutionRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleExecutionRejectedException(
+            ExecutionRejectedException ex, ServerWebExchange exchange) {
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", ex.getMessage(), exchange));
+    }
+
+    /**
+     * Handle all other exceptions (500 Internal Server Error)
+     *
+     * @param ex The exception that was thrown
+     * @param exchange The current exchange
+     * @return ResponseEntity with error details and 500 status
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<Map<String, Object>> handleGenericException(
+            Exception ex, ServerWebExchange exchange) {
+
+        System.err.println("Unexpected error: " + ex.getMessage());
+        ex.printStackTrace();
+
+        return new ResponseEntity<>(errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error",
+                "An unexpected error occurred", exchange), HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    /**
+     * Build the error body shared by all handlers
+     *
+     * @param status The response status
+     * @param error Short description of the error
+     * @param message The error message
+     * @param exchange The current exchange
+     * @return The mutable error body
+     */
+    private static Map<String, Object> errorResponse(HttpStatus status, String error, String message,
+                                                     ServerWebExchange exchange) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", status.value());
+        errorResponse.put("error", error);
+        errorResponse.put("message", message);
+        // Same format as WebRequest.getDescription(false) in the servlet stack
+        errorResponse.put("path", "uri=" + exchange.getRequest().getPath().value());
+        return errorResponse;
+    }
+}
@@ -0,0 +1,100 @@
+package com.taskmanager.migration;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskExecution;
+import org.bson.Document;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * ExecutionHistoryMigration moves execution histories that are still embedded in task
+ * documents (the legacy "taskExecutions" array) into the task_executions collection.
+ * It runs once per startup, before the web server accepts requests, and only touches
+ * tasks that still carry the legacy field. Migrated executions get deterministic IDs
+ * (taskId:index), so an interrupted run, or two replicas starting together, can safely
+ * migrate the same task again.
+ */
+@Component
+@ConditionalOnProperty(name = "taskmanager.migration.execution-history.enabled", havingValue = "true", matchIfMissing = true)
+public class ExecutionHistoryMigration implements SmartInitializingSingleton {
+
+    private static final String LEGACY_FIELD = "taskExecutions";
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param mongoTemplate Template for raw document access
+     */
+    @Autowired
+    public ExecutionHistoryMigration(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Migrate all tasks that still embed their execution history
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        String tasksCollection = mongoTemplate.getCollectionName(Task.class);
+        Query legacyTasks = query(where(LEGACY_FIELD).exists(true));
+        legacyTasks.fields().include(LEGACY_FIELD);
+
+        int migratedTasks = 0;
+        long migratedExecutions = 0;
+        try (Stream<Document> stream = mongoTemplate.stream(legacyTasks, Document.class, tasksCollection)) {
+            Iterator<Document> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                migratedExecutions += migrateTask(iterator.next(), tasksCollection);
+                migratedTasks++;
+            }
+        }
+
+        if (migratedTasks > 0) {
+            System.out.println("Migrated " + migratedExecutions + " embedded executions of "
+                    + migratedTasks + " tasks to the execution history collection");
+        }
+    }
+
+    /**
+     * Copy one task's embedded executions to the execution collection and drop the array
+     *
+     * @param taskDocument The raw task document with its legacy executions
+     * @param tasksCollection Name of the task collection
+     * @return Number of executions migrated
+     */
+    private long migrateTask(Document taskDocument, String tasksCollection) {
+        Object rawId = taskDocument.get("_id");
+        String taskId = String.valueOf(rawId);
+        List<Document> legacyExecutions = taskDocument.getList(LEGACY_FIELD, Document.class, List.of());
+
+        if (!legacyExecutions.isEmpty()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TaskExecution.class);
+            for (int i = 0; i < legacyExecutions.size(); i++) {
+                String executionId = taskId + ":" + i;
+                Document execution = new Document(legacyExecutions.get(i))
+                        .append("_id", executionId)
+                        .append("taskId", taskId);
+                bulk.upsert(query(where("_id").is(executionId)), Update.fromDocument(execution));
+            }
+            bulk.execute();
+        }
+
+        mongoTemplate.updateFirst(query(where("_id").is(rawId)), new Update().unset(LEGACY_FIELD), tasksCollection);
+        return legacyExecutions.size();
+    }
+}
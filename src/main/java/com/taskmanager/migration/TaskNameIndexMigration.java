@@ -0,0 +1,82 @@
+package com.taskmanager.migration;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.util.NameSearchTokens;
+import org.bson.Document;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * TaskNameIndexMigration fills the indexed search fields (nameLower, nameGrams) of task
+ * documents written before name search was index-backed. It runs once per startup, before
+ * the web server accepts requests, and only touches tasks that lack the fields.
+ */
+@Component
+@ConditionalOnProperty(name = "taskmanager.migration.task-name-index.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskNameIndexMigration implements SmartInitializingSingleton {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param mongoTemplate Template for raw document access
+     */
+    @Autowired
+    public TaskNameIndexMigration(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Backfill the search fields of all tasks that lack them
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        String tasksCollection = mongoTemplate.getCollectionName(Task.class);
+        Query unindexedTasks = query(where("nameLower").exists(false));
+        unindexedTasks.fields().include("name");
+
+        int migrated = 0;
+        BulkOperations bulk = null;
+        try (Stream<Document> stream = mongoTemplate.stream(unindexedTasks, Document.class, tasksCollection)) {
+            Iterator<Document> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                Document task = iterator.next();
+                String nameLower = NameSearchTokens.normalize(task.getString("name"));
+
+                if (bulk == null) {
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, tasksCollection);
+                }
+                bulk.updateOne(query(where("_id").is(task.get("_id"))), new Update()
+                        .set("nameLower", nameLower)
+                        .set("nameGrams", NameSearchTokens.nameGrams(nameLower)));
+
+                if (++migrated % BATCH_SIZE == 0) {
+                    bulk.execute();
+                    bulk = null;
+                }
+            }
+        }
+        if (bulk != null) {
+            bulk.execute();
+        }
+
+        if (migrated > 0) {
+            System.out.println("Indexed the names of " + migrated + " tasks for search");
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.taskmanager.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.util.Date;
+
+/**
+ * ExecutionJob is the handle returned for an asynchronous task execution.
+ * Clients use its ID to poll for (or wait on) the execution result.
+ */
+public class ExecutionJob {
+
+    /**
+     * Unique identifier of this execution job
+     */
+    private String id;
+
+    /**
+     * The ID of the task being executed
+     */
+    private String taskId;
+
+    /**
+     * Current state of the execution
+     */
+    private volatile ExecutionStatus status;
+
+    /**
+     * When the execution was accepted
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss.SSSZ", timezone = "UTC")
+    private Date submittedAt;
+
+    /**
+     * When a worker picked the execution up
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss.SSSZ", timezone = "UTC")
+    private volatile Date startedAt;
+
+    /**
+     * When the execution reached a final state
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss.SSSZ", timezone = "UTC")
+    private volatile Date finishedAt;
+
+    /**
+     * The stored execution record, once completed
+     */
+    private volatile TaskExecution execution;
+
+    /**
+     * The failure reason, if the execution failed
+     */
+    private volatile String error;
+
+    // Default constructor for JSON deserialization
+    public ExecutionJob() {}
+
+    /**
+     * Constructor for a newly submitted execution
+     *
+     * @param id Unique job identifier
+     * @param taskId The ID of the task to execute
+     */
+    public ExecutionJob(String id, String taskId) {
+        this.id = id;
+        this.taskId = taskId;
+        this.status = ExecutionStatus.QUEUED;
+        this.submittedAt = new Date();
+    }
+
+    /**
+     * Mark the job as picked up by a worker
+     */
+    public void markRunning() {
+        this.startedAt = new Date();
+        this.status = ExecutionStatus.RUNNING;
+    }
+
+    /**
+     * Mark the job as completed with its execution record
+     *
+     * @param execution The stored execution record
+     */
+    public void markCompleted(TaskExecution execution) {
+        this.execution = execution;
+        this.finishedAt = new Date();
+        this.status = ExecutionStatus.COMPLETED;
+    }
+
+    /**
+     * Mark the job as failed
+     *
+     * @param error The failure reason
+     */
+    public void markFailed(String error) {
+        this.error = error;
+        this.finishedAt = new Date();
+        this.status = ExecutionStatus.FAILED;
+    }
+
+    // Getters and Setters
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(String taskId) {
+        this.taskId = taskId;
+    }
+
+    public ExecutionStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ExecutionStatus status) {
+        this.status = status;
+    }
+
+    public Date getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(Date submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public Date getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Date startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Date getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Date finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public TaskExecution getExecution() {
+        return execution;
+    }
+
+    public void setExecution(TaskExecution execution) {
+        this.execution = execution;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutionJob{" +
+                "id='" + id + '\'' +
+                ", taskId='" + taskId + '\'' +
+                ", status=" + status +
+                ", submittedAt=" + submittedAt +
+                ", startedAt=" + startedAt +
+                ", finishedAt=" + finishedAt +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,170 @@
+package com.taskmanager.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * ExecutionStatsBucket is the rollup of a task's executions that started within one time bucket.
+ * Buckets are updated in place with $inc/$min/$max as executions are stored, so statistics over
+ * a window are read by merging a bounded number of buckets instead of scanning the history.
+ * Every bucket expires once no window reaches back to it.
+ */
+@Document(collection = "task_execution_stats")
+@CompoundIndex(name = "task_granularity_start_idx", def = "{'taskId': 1, 'granularity': 1, 'start': 1}")
+public class ExecutionStatsBucket {
+
+    /**
+     * Unique identifier: task ID, granularity and start of the bucket
+     */
+    @Id
+    private String id;
+
+    /**
+     * The ID of the task the executions belong to
+     */
+    private String taskId;
+
+    /**
+     * Length of the bucket in minutes
+     */
+    private int granularity;
+
+    /**
+     * Start of the bucket
+     */
+    private Date start;
+
+    /**
+     * When the bucket is deleted
+     */
+    @Indexed(name = "expire_at_ttl_idx", expireAfter = "0s")
+    private Date expireAt;
+
+    /**
+     * Number of executions
+     */
+    private long count;
+
+    /**
+     * Number of executions that did not exit with code 0 (failed or timed out)
+     */
+    private long failures;
+
+    /**
+     * Sum of the execution durations in milliseconds
+     */
+    private long totalMillis;
+
+    /**
+     * Shortest execution duration in milliseconds
+     */
+    private long minMillis;
+
+    /**
+     * Longest execution duration in milliseconds
+     */
+    private long maxMillis;
+
+    /**
+     * Execution counts by DurationSketch bucket
+     */
+    private Map<String, Long> histogram;
+
+    // Default constructor
+    public ExecutionStatsBucket() {}
+
+    // Getters and Setters
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(String taskId) {
+        this.taskId = taskId;
+    }
+
+    public int getGranularity() {
+        return granularity;
+    }
+
+    public void setGranularity(int granularity) {
+        this.granularity = granularity;
+    }
+
+    public Date getStart() {
+        return start;
+    }
+
+    public void setStart(Date start) {
+        this.start = start;
+    }
+
+    public Date getExpireAt() {
+        return expireAt;
+    }
+
+    public void setExpireAt(Date expireAt) {
+        this.expireAt = expireAt;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public void setFailures(long failures) {
+        this.failures = failures;
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    public void setTotalMillis(long totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+
+    public long getMinMillis() {
+        return minMillis;
+    }
+
+    public void setMinMillis(long minMillis) {
+        this.minMillis = minMillis;
+    }
+
+    public long getMaxMillis() {
+        return maxMillis;
+    }
+
+    public void setMaxMillis(long maxMillis) {
+        this.maxMillis = maxMillis;
+    }
+
+    public Map<String, Long> getHistogram() {
+        return histogram;
+    }
+
+    public void setHistogram(Map<String, Long> histogram) {
+        this.histogram = histogram;
+    }
+}
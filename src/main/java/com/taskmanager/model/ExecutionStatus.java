@@ -0,0 +1,36 @@
+package com.taskmanager.model;
+
+/**
+ * ExecutionStatus describes the lifecycle of an asynchronous task execution.
+ */
+public enum ExecutionStatus {
+
+    /**
+     * The execution is waiting for a free worker
+     */
+    QUEUED,
+
+    /**
+     * The command is currently running
+     */
+    RUNNING,
+
+    /**
+     * The command ran and its execution record was stored
+     */
+    COMPLETED,
+
+    /**
+     * The execution could not be carried out (e.g. the task was deleted)
+     */
+    FAILED;
+
+    /**
+     * Check whether the execution has reached a final state
+     *
+     * @return true if the execution is completed or failed
+     */
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
@@ -0,0 +1,212 @@
+package com.taskmanager.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * QueuedExecution is an asynchronous execution in the shared execution queue.
+ * Any replica may claim a queued entry by taking a lease on it; the lease is renewed
+ * by heartbeats while the command runs, and an entry whose lease ran out (its replica
+ * crashed) is queued again. Finished entries are kept for a limited time so that
+ * clients can poll the job on any replica.
+ */
+@Document(collection = "execution_queue")
+@CompoundIndexes({
+        @CompoundIndex(name = "status_submitted_idx", def = "{'status': 1, 'submittedAt': 1}"),
+        @CompoundIndex(name = "status_lease_idx", def = "{'status': 1, 'leaseExpiresAt': 1}")
+})
+public class QueuedExecution {
+
+    /**
+     * Unique identifier, also the ID of the execution job handed to clients
+     */
+    @Id
+    private String id;
+
+    /**
+     * The ID of the task to execute
+     */
+    private String taskId;
+
+    /**
+     * Owner of the task, so replicas can leave entries of owners at their concurrency limit queued
+     */
+    private String taskOwner;
+
+    /**
+     * Current state of the execution
+     */
+    private ExecutionStatus status;
+
+    /**
+     * When the execution was queued
+     */
+    private Date submittedAt;
+
+    /**
+     * When the current (or last) lease holder started the command
+     */
+    private Date startedAt;
+
+    /**
+     * When the execution reached a final state; finished entries expire after this
+     */
+    private Date finishedAt;
+
+    /**
+     * Replica holding the lease while running
+     */
+    private String leaseOwner;
+
+    /**
+     * When the lease runs out unless renewed
+     */
+    private Date leaseExpiresAt;
+
+    /**
+     * Number of times the entry was claimed
+     */
+    private int attempts;
+
+    /**
+     * ID of the stored execution record, once completed
+     */
+    private String executionId;
+
+    /**
+     * The failure reason, if the execution failed
+     */
+    private String error;
+
+    // Default constructor
+    public QueuedExecution() {}
+
+    /**
+     * Constructor for a newly queued execution
+     *
+     * @param id Unique job identifier
+     * @param taskId The ID of the task to execute
+     * @param taskOwner Owner of the task
+     */
+    public QueuedExecution(String id, String taskId, String taskOwner) {
+        this.id = id;
+        this.taskId = taskId;
+        this.taskOwner = taskOwner;
+        this.status = ExecutionStatus.QUEUED;
+        this.submittedAt = new Date();
+    }
+
+    // Getters and Setters
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(String taskId) {
+        this.taskId = taskId;
+    }
+
+    public String getTaskOwner() {
+        return taskOwner;
+    }
+
+    public void setTaskOwner(String taskOwner) {
+        this.taskOwner = taskOwner;
+    }
+
+    public ExecutionStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ExecutionStatus status) {
+        this.status = status;
+    }
+
+    public Date getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(Date submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public Date getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Date startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Date getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Date finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+
+    public void setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+    }
+
+    public Date getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+
+    public void setLeaseExpiresAt(Date leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getExecutionId() {
+        return executionId;
+    }
+
+    public void setExecutionId(String executionId) {
+        this.executionId = executionId;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "QueuedExecution{" +
+                "id='" + id + '\'' +
+                ", taskId='" + taskId + '\'' +
+                ", status=" + status +
+                ", leaseOwner='" + leaseOwner + '\'' +
+                ", leaseExpiresAt=" + leaseExpiresAt +
+                ", attempts=" + attempts +
+                '}';
+    }
+}
@@ -1,6 +1,12 @@
 package com.taskmanager.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.taskmanager.util.NameSearchTokens;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.NotBlank;
@@ -28,9 +34,24 @@ public class Task {
     private String name;
 
     /**
-     * Owner of the task
+     * Lower-cased name, indexed for case-insensitive exact and prefix lookups
+     */
+    @JsonIgnore
+    @Indexed
+    private String nameLower;
+
+    /**
+     * N-grams of the lower-cased name, indexed for substring search (see NameSearchTokens)
+     */
+    @JsonIgnore
+    @Indexed
+    private List<String> nameGrams;
+
+    /**
+     * Owner of the task, indexed for per-owner lookups such as batch execution
      */
     @NotBlank(message = "Task owner is required")
+    @Indexed
     private String owner;
 
     /**
@@ -40,9 +61,33 @@ public class Task {
     private String command;
 
     /**
-     * List of all executions for this task
+     * Optional cron expression (Spring format, seconds first, e.g. "0 0 2 * * *" or "@daily",
+     * evaluated in UTC) on which the built-in scheduler executes the task
+     */
+    @Indexed(sparse = true)
+    private String schedule;
+
+    /**
+     * Optimistic locking version, incremented by every write of the task
+     */
+    @Version
+    private Long version;
+
+    /**
+     * Random ID of the write that inserted the document, set with $setOnInsert; an upsert that
+     * reads back its own ID created the task. Absent on documents written before it was added.
+     */
+    @JsonIgnore
+    private String insertId;
+
+    /**
+     * Executions of this task, when loaded alongside it.
+     * Executions are stored in their own collection (see TaskExecution) and are not
+     * part of the task document; this list is only filled for responses that ask for it.
      */
     @NotNull
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
     private List<TaskExecution> taskExecutions;
 
     // Default constructor
@@ -60,7 +105,7 @@ public class Task {
      */
     public Task(String id, String name, String owner, String command) {
         this.id = id;
-        this.name = name;
+        setName(name);
         this.owner = owner;
         this.command = command;
         this.taskExecutions = new ArrayList<>();
@@ -82,6 +127,16 @@ public class Task {
 
     public void setName(String name) {
         this.name = name;
+        this.nameLower = NameSearchTokens.normalize(name);
+        this.nameGrams = NameSearchTokens.nameGrams(this.nameLower);
+    }
+
+    public String getNameLower() {
+        return nameLower;
+    }
+
+    public List<String> getNameGrams() {
+        return nameGrams;
     }
 
     public String getOwner() {
@@ -100,6 +155,30 @@ public class Task {
         this.command = command;
     }
 
+    public String getSchedule() {
+        return schedule;
+    }
+
+    public void setSchedule(String schedule) {
+        this.schedule = schedule;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getInsertId() {
+        return insertId;
+    }
+
+    public void setInsertId(String insertId) {
+        this.insertId = insertId;
+    }
+
     public List<TaskExecution> getTaskExecutions() {
         return taskExecutions;
     }
@@ -127,6 +206,8 @@ public class Task {
                 ", name='" + name + '\'' +
                 ", owner='" + owner + '\'' +
                 ", command='" + command + '\'' +
+                ", schedule='" + schedule + '\'' +
+                ", version=" + version +
                 ", taskExecutions=" + taskExecutions +
                 '}';
     }
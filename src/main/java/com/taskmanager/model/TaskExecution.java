@@ -1,15 +1,36 @@
 package com.taskmanager.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.Date;
 
 /**
  * TaskExecution represents a single execution of a task command.
  * This class stores the execution details including timing and output.
+ * Executions live in their own append-only collection, one document per run,
+ * indexed by task and start time (with the ID as tie-breaker for paging).
+ * Output too large to store inline is kept compressed in the execution_output GridFS bucket;
+ * the record then holds a preview in output and the IDs of the stored streams.
  */
+@Document(collection = "task_executions")
+@CompoundIndex(name = "task_start_id_idx", def = "{'taskId': 1, 'startTime': -1, '_id': -1}")
 public class TaskExecution {
 
+    /**
+     * Unique identifier for the execution
+     */
+    @Id
+    private String id;
+
+    /**
+     * The ID of the task this execution belongs to
+     */
+    private String taskId;
+
     /**
      * The date and time when the task execution started
      */
@@ -23,10 +44,45 @@ public class TaskExecution {
     private Date endTime;
 
     /**
-     * The output produced by the command execution
+     * The output produced by the command execution, or its preview if the full output is stored separately
      */
     private String output;
 
+    /**
+     * The exit code of the command, or null if it did not run to completion
+     */
+    private Integer exitCode;
+
+    /**
+     * Number of bytes the command wrote to standard output
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long stdoutBytes;
+
+    /**
+     * Number of bytes the command wrote to standard error
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long stderrBytes;
+
+    /**
+     * GridFS file holding the full standard output, or null if it is not stored separately
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String stdoutRef;
+
+    /**
+     * GridFS file holding the full standard error, or null if it is not stored separately
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String stderrRef;
+
+    /**
+     * Compressed size of the separately stored output, or null if nothing is stored separately
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long storedOutputBytes;
+
     // Default constructor for JSON deserialization
     public TaskExecution() {}
 
@@ -43,8 +99,37 @@ public class TaskExecution {
         this.output = output;
     }
 
+    /**
+     * Constructor for creating a new task execution with its exit code
+     *
+     * @param startTime When the execution started
+     * @param endTime When the execution ended
+     * @param output The command output
+     * @param exitCode The command exit code, or null if it did not run to completion
+     */
+    public TaskExecution(Date startTime, Date endTime, String output, Integer exitCode) {
+        this(startTime, endTime, output);
+        this.exitCode = exitCode;
+    }
+
     // Getters and Setters
 
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(String taskId) {
+        this.taskId = taskId;
+    }
+
     public Date getStartTime() {
         return startTime;
     }
@@ -69,12 +154,68 @@ public class TaskExecution {
         this.output = output;
     }
 
+    public Integer getExitCode() {
+        return exitCode;
+    }
+
+    public void setExitCode(Integer exitCode) {
+        this.exitCode = exitCode;
+    }
+
+    public Long getStdoutBytes() {
+        return stdoutBytes;
+    }
+
+    public void setStdoutBytes(Long stdoutBytes) {
+        this.stdoutBytes = stdoutBytes;
+    }
+
+    public Long getStderrBytes() {
+        return stderrBytes;
+    }
+
+    public void setStderrBytes(Long stderrBytes) {
+        this.stderrBytes = stderrBytes;
+    }
+
+    public String getStdoutRef() {
+        return stdoutRef;
+    }
+
+    public void setStdoutRef(String stdoutRef) {
+        this.stdoutRef = stdoutRef;
+    }
+
+    public String getStderrRef() {
+        return stderrRef;
+    }
+
+    public void setStderrRef(String stderrRef) {
+        this.stderrRef = stderrRef;
+    }
+
+    public Long getStoredOutputBytes() {
+        return storedOutputBytes;
+    }
+
+    public void setStoredOutputBytes(Long storedOutputBytes) {
+        this.storedOutputBytes = storedOutputBytes;
+    }
+
     @Override
     public String toString() {
         return "TaskExecution{" +
-                "startTime=" + startTime +
+                "id='" + id + '\'' +
+                ", taskId='" + taskId + '\'' +
+                ", startTime=" + startTime +
                 ", endTime=" + endTime +
                 ", output='" + output + '\'' +
+                ", exitCode=" + exitCode +
+                ", stdoutBytes=" + stdoutBytes +
+                ", stderrBytes=" + stderrBytes +
+                ", stdoutRef='" + stdoutRef + '\'' +
+                ", stderrRef='" + stderrRef + '\'' +
+                ", storedOutputBytes=" + storedOutputBytes +
                 '}';
     }
 }
\ No newline at end of file
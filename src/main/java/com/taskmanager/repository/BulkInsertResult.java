@@ -0,0 +1,42 @@
+package com.taskmanager.repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BulkInsertResult is the outcome of a bulk write that inserts only documents not stored yet.
+ * Every item ends up in exactly one of inserted, existing or failures.
+ *
+ * @param <T> Type of the documents written
+ */
+public final class BulkInsertResult<T> {
+
+    private final List<T> inserted;
+    private final int existing;
+    private final Map<String, String> failures;
+
+    /**
+     * Constructor with all fields
+     *
+     * @param inserted The documents that were inserted, in the order given
+     * @param existing Number of documents left alone because their ID was already stored
+     * @param failures Why the database refused a document, by document ID
+     */
+    public BulkInsertResult(List<T> inserted, int existing, Map<String, String> failures) {
+        this.inserted = inserted;
+        this.existing = existing;
+        this.failures = failures;
+    }
+
+    public List<T> getInserted() {
+        return inserted;
+    }
+
+    public int getExisting() {
+        return existing;
+    }
+
+    public Map<String, String> getFailures() {
+        return failures;
+    }
+}
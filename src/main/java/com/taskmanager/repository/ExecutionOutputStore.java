@@ -0,0 +1,185 @@
+package com.taskmanager.repository;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSBuckets;
+import com.mongodb.client.gridfs.GridFSUploadStream;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import com.taskmanager.util.SpillingOutputBuffer;
+import jakarta.annotation.PostConstruct;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Repository;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+import static com.mongodb.client.model.Filters.eq;
+
+/**
+ * ExecutionOutputStore keeps the full output of executions too large to store inline,
+ * gzip-compressed in the execution_output GridFS bucket. Each stream of an execution is one
+ * GridFS file; the execution record holds its ID. Files are tagged with their task, so they
+ * are deleted together with the task's execution history.
+ */
+@Repository
+public class ExecutionOutputStore {
+
+    private static final String BUCKET = "execution_output";
+    private static final String TASK_ID_FIELD = "metadata.taskId";
+    private static final int COMPRESSION_BUFFER_BYTES = 64 * 1024;
+
+    private final MongoTemplate mongoTemplate;
+    private final GridFSBucket bucket;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param mongoTemplate Template for MongoDB operations
+     */
+    @Autowired
+    public ExecutionOutputStore(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        this.bucket = GridFSBuckets.create(mongoTemplate.getDb(), BUCKET);
+    }
+
+    /**
+     * Index the files by task, for deleting a task's output
+     */
+    @PostConstruct
+    public void ensureIndexes() {
+        try {
+            mongoTemplate.indexOps(BUCKET + ".files").ensureIndex(new Index(TASK_ID_FIELD, Sort.Direction.ASC));
+        } catch (RuntimeException e) {
+            // Deletes still work without the index, only slower
+            System.err.println("Failed to create the execution output index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Store one output stream of an execution, compressed while it is uploaded
+     *
+     * @param taskId The task the execution belongs to
+     * @param stream Either stdout or stderr
+     * @param output The captured output
+     * @return The stored file
+     * @throws IOException if the output cannot be read or uploaded
+     */
+    public StoredOutput store(String taskId, String stream, SpillingOutputBuffer output) throws IOException {
+        GridFSUploadOptions options = new GridFSUploadOptions().metadata(new Document()
+                .append("taskId", taskId)
+                .append("stream", stream)
+                .append("size", output.size())
+                .append("compression", "gzip"));
+
+        GridFSUploadStream upload = bucket.openUploadStream(taskId + "." + stream + ".gz", options);
+        CountingOutputStream counter = new CountingOutputStream(upload);
+        try {
+            try (GZIPOutputStream gzip = new GZIPOutputStream(counter, COMPRESSION_BUFFER_BYTES)) {
+                output.writeTo(gzip);
+            }
+            upload.close();
+        } catch (IOException | MongoException e) {
+            // Drop the chunks uploaded so far instead of leaving a partial file behind
+            upload.abort();
+            throw e instanceof IOException io ? io : new IOException("Upload to GridFS failed: " + e.getMessage(), e);
+        }
+        return new StoredOutput(upload.getObjectId().toHexString(), counter.count);
+    }
+
+    /**
+     * Open a stored output stream
+     *
+     * @param id The file ID held by the execution record
+     * @return The gzip-compressed content, empty if the file does not exist
+     */
+    public Optional<InputStream> openCompressed(String id) {
+        if (!ObjectId.isValid(id)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(bucket.openDownloadStream(new ObjectId(id)));
+        } catch (MongoException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Delete the stored output of all executions of a task
+     *
+     * @param taskId The task ID
+     */
+    public void deleteByTaskId(String taskId) {
+        List<ObjectId> ids = new ArrayList<>();
+        for (GridFSFile file : bucket.find(eq(TASK_ID_FIELD, taskId))) {
+            ids.add(file.getObjectId());
+        }
+        ids.forEach(bucket::delete);
+    }
+
+    /**
+     * A stored output stream
+     */
+    public static final class StoredOutput {
+        private final String id;
+        private final long storedBytes;
+
+        private StoredOutput(String id, long storedBytes) {
+            this.id = id;
+            this.storedBytes = storedBytes;
+        }
+
+        /**
+         * @return The GridFS file ID
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * @return Compressed size of the stored file
+         */
+        public long getStoredBytes() {
+            return storedBytes;
+        }
+    }
+
+    /**
+     * Stream counting the bytes passing through; closing it leaves the target open
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.ExecutionStatus;
+import com.taskmanager.model.QueuedExecution;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * ExecutionQueueRepository provides data access methods for the shared execution queue.
+ * Lease operations that must be atomic are declared in ExecutionQueueRepositoryCustom.
+ */
+@Repository
+public interface ExecutionQueueRepository extends MongoRepository<QueuedExecution, String>, ExecutionQueueRepositoryCustom {
+
+    /**
+     * Count queue entries in a state
+     *
+     * @param status The state
+     * @return Number of entries in that state
+     */
+    long countByStatus(ExecutionStatus status);
+}
@@ -0,0 +1,69 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.QueuedExecution;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * ExecutionQueueRepositoryCustom declares the lease operations of the execution queue.
+ * Each one is a single atomic update, so replicas never run the same entry at once.
+ */
+public interface ExecutionQueueRepositoryCustom {
+
+    /**
+     * Claim the oldest queued entry with one findAndModify, marking it running under a new lease
+     *
+     * @param owner ID of the claiming replica
+     * @param leaseMillis Length of the lease
+     * @param excludedTaskOwners Task owners whose entries are left queued
+     * @return Optional containing the claimed entry, empty if nothing claimable is queued
+     */
+    Optional<QueuedExecution> claimNext(String owner, long leaseMillis, Collection<String> excludedTaskOwners);
+
+    /**
+     * Extend the leases a replica holds
+     *
+     * @param owner ID of the replica
+     * @param ids IDs of the entries it is running
+     * @param leaseMillis New lease length, from now
+     * @return Number of leases extended; fewer than requested means some were reclaimed
+     */
+    long renewLeases(String owner, Collection<String> ids, long leaseMillis);
+
+    /**
+     * Queue again the running entries whose lease ran out, failing those out of attempts
+     *
+     * @param maxAttempts Number of claims after which an entry is failed instead
+     * @return Number of entries queued again or failed
+     */
+    long reclaimExpired(int maxAttempts);
+
+    /**
+     * Give a claimed entry back to the queue without counting the attempt
+     *
+     * @param id The entry ID
+     * @param owner ID of the replica holding the lease
+     */
+    void release(String id, String owner);
+
+    /**
+     * Mark a claimed entry completed
+     *
+     * @param id The entry ID
+     * @param owner ID of the replica holding the lease
+     * @param executionId ID of the stored execution record
+     * @return true if the replica still held the lease
+     */
+    boolean complete(String id, String owner, String executionId);
+
+    /**
+     * Mark a claimed entry failed
+     *
+     * @param id The entry ID
+     * @param owner ID of the replica holding the lease
+     * @param error The failure reason
+     * @return true if the replica still held the lease
+     */
+    boolean fail(String id, String owner, String error);
+}
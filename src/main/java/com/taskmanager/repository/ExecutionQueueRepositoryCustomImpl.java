@@ -0,0 +1,193 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.ExecutionStatus;
+import com.taskmanager.model.QueuedExecution;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.Optional;
+
+/**
+ * ExecutionQueueRepositoryCustomImpl implements the lease operations with MongoTemplate.
+ * Spring Data merges it into ExecutionQueueRepository.
+ */
+public class ExecutionQueueRepositoryCustomImpl implements ExecutionQueueRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param mongoTemplate Template for MongoDB operations
+     */
+    @Autowired
+    public ExecutionQueueRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Claim the oldest queued entry with one findAndModify
+     *
+     * @param owner ID of the claiming replica
+     * @param leaseMillis Length of the lease
+     * @param excludedTaskOwners Task owners whose entries are left queued
+     * @return Optional containing the claimed entry, empty if nothing claimable is queued
+     */
+    @Override
+    public Optional<QueuedExecution> claimNext(String owner, long leaseMillis, Collection<String> excludedTaskOwners) {
+        Date now = new Date();
+        Criteria criteria = Criteria.where("status").is(ExecutionStatus.QUEUED);
+        if (!excludedTaskOwners.isEmpty()) {
+            criteria = criteria.and("taskOwner").nin(excludedTaskOwners);
+        }
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "submittedAt"));
+        Update update = new Update()
+                .set("status", ExecutionStatus.RUNNING)
+                .set("leaseOwner", owner)
+                .set("leaseExpiresAt", new Date(now.getTime() + leaseMillis))
+                .set("startedAt", now)
+                .inc("attempts", 1);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), QueuedExecution.class));
+    }
+
+    /**
+     * Extend the leases a replica holds
+     *
+     * @param owner ID of the replica
+     * @param ids IDs of the entries it is running
+     * @param leaseMillis New lease length, from now
+     * @return Number of leases extended
+     */
+    @Override
+    public long renewLeases(String owner, Collection<String> ids, long leaseMillis) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Query query = new Query(Criteria.where("_id").in(ids)
+                .and("status").is(ExecutionStatus.RUNNING)
+                .and("leaseOwner").is(owner));
+        Update update = new Update().set("leaseExpiresAt", new Date(System.currentTimeMillis() + leaseMillis));
+        return mongoTemplate.updateMulti(query, update, QueuedExecution.class).getModifiedCount();
+    }
+
+    /**
+     * Queue again the running entries whose lease ran out, failing those out of attempts
+     *
+     * @param maxAttempts Number of claims after which an entry is failed instead
+     * @return Number of entries queued again or failed
+     */
+    @Override
+    public long reclaimExpired(int maxAttempts) {
+        Date now = new Date();
+        long failed = mongoTemplate.updateMulti(
+                new Query(expiredLease(now).and("attempts").gte(maxAttempts)),
+                new Update()
+                        .set("status", ExecutionStatus.FAILED)
+                        .set("finishedAt", now)
+                        .set("error", "Execution lease expired " + maxAttempts + " times; the replicas running it stopped")
+                        .unset("leaseOwner")
+                        .unset("leaseExpiresAt"),
+                QueuedExecution.class).getModifiedCount();
+        long requeued = mongoTemplate.updateMulti(new Query(expiredLease(now)),
+                new Update()
+                        .set("status", ExecutionStatus.QUEUED)
+                        .unset("leaseOwner")
+                        .unset("leaseExpiresAt"),
+                QueuedExecution.class).getModifiedCount();
+        return failed + requeued;
+    }
+
+    /**
+     * Give a claimed entry back to the queue without counting the attempt
+     *
+     * @param id The entry ID
+     * @param owner ID of the replica holding the lease
+     */
+    @Override
+    public void release(String id, String owner) {
+        mongoTemplate.updateFirst(leasedBy(id, owner),
+                new Update()
+                        .set("status", ExecutionStatus.QUEUED)
+                        .unset("leaseOwner")
+                        .unset("leaseExpiresAt")
+                        .unset("startedAt")
+                        .inc("attempts", -1),
+                QueuedExecution.class);
+    }
+
+    /**
+     * Mark a claimed entry completed
+     *
+     * @param id The entry ID
+     * @param owner ID of the replica holding the lease
+     * @param executionId ID of the stored execution record
+     * @return true if the replica still held the lease
+     */
+    @Override
+    public boolean complete(String id, String owner, String executionId) {
+        return finish(id, owner, new Update()
+                .set("status", ExecutionStatus.COMPLETED)
+                .set("executionId", executionId));
+    }
+
+    /**
+     * Mark a claimed entry failed
+     *
+     * @param id The entry ID
+     * @param owner ID of the replica holding the lease
+     * @param error The failure reason
+     * @return true if the replica still held the lease
+     */
+    @Override
+    public boolean fail(String id, String owner, String error) {
+        return finish(id, owner, new Update()
+                .set("status", ExecutionStatus.FAILED)
+                .set("error", error));
+    }
+
+    /**
+     * Move a claimed entry to a final state
+     *
+     * @param id The entry ID
+     * @param owner ID of the replica holding the lease
+     * @param update The state-specific fields
+     * @return true if the replica still held the lease
+     */
+    private boolean finish(String id, String owner, Update update) {
+        update.set("finishedAt", new Date())
+                .unset("leaseOwner")
+                .unset("leaseExpiresAt");
+        return mongoTemplate.updateFirst(leasedBy(id, owner), update, QueuedExecution.class).getModifiedCount() > 0;
+    }
+
+    /**
+     * Build the criteria matching running entries whose lease ran out
+     *
+     * @param now The current time
+     * @return The criteria
+     */
+    private Criteria expiredLease(Date now) {
+        return Criteria.where("status").is(ExecutionStatus.RUNNING).and("leaseExpiresAt").lt(now);
+    }
+
+    /**
+     * Build the query matching an entry only while the given replica holds its lease
+     *
+     * @param id The entry ID
+     * @param owner ID of the replica
+     * @return The query
+     */
+    private Query leasedBy(String id, String owner) {
+        return new Query(Criteria.where("_id").is(id)
+                .and("status").is(ExecutionStatus.RUNNING)
+                .and("leaseOwner").is(owner));
+    }
+}
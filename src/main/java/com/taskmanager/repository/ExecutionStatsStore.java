@@ -0,0 +1,158 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.ExecutionStatsBucket;
+import com.taskmanager.model.TaskExecution;
+import com.taskmanager.util.DurationSketch;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExecutionStatsStore maintains the per-task execution rollups in task_execution_stats.
+ * Every stored execution is added with one upsert per granularity: 5-minute buckets, kept for
+ * two hours, serve windows up to an hour; hourly buckets, kept for eight days, serve windows up
+ * to a week. A window is therefore read from at most a few hundred small documents, however
+ * long the task's history is.
+ */
+@Repository
+public class ExecutionStatsStore {
+
+    /**
+     * Length of the fine buckets in minutes
+     */
+    public static final int FINE_MINUTES = 5;
+
+    /**
+     * Length of the coarse buckets in minutes
+     */
+    public static final int COARSE_MINUTES = 60;
+
+    private static final long FINE_RETENTION_MILLIS = TimeUnit.HOURS.toMillis(2);
+    private static final long COARSE_RETENTION_MILLIS = TimeUnit.DAYS.toMillis(8);
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param mongoTemplate Template for MongoDB operations
+     */
+    @Autowired
+    public ExecutionStatsStore(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Add stored executions to the rollups of their tasks, with a single bulk write.
+     * Statistics are secondary to the execution records, so a failure is logged, not thrown.
+     *
+     * @param executions The stored executions
+     */
+    public void record(Collection<TaskExecution> executions) {
+        long now = System.currentTimeMillis();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ExecutionStatsBucket.class);
+        int updates = 0;
+        for (TaskExecution execution : executions) {
+            if (execution.getTaskId() == null || execution.getStartTime() == null) {
+                continue;
+            }
+            updates += addTo(bulk, execution, FINE_MINUTES, FINE_RETENTION_MILLIS, now);
+            updates += addTo(bulk, execution, COARSE_MINUTES, COARSE_RETENTION_MILLIS, now);
+        }
+        if (updates == 0) {
+            return;
+        }
+
+        try {
+            bulk.execute();
+        } catch (RuntimeException e) {
+            System.err.println("Failed to update execution statistics: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Find the buckets of a task from a point in time on
+     *
+     * @param taskId The task ID
+     * @param granularity Bucket length in minutes, FINE_MINUTES or COARSE_MINUTES
+     * @param from Start of the earliest bucket to return
+     * @return The buckets, oldest first
+     */
+    public List<ExecutionStatsBucket> findBuckets(String taskId, int granularity, Date from) {
+        Query query = new Query(Criteria.where("taskId").is(taskId)
+                .and("granularity").is(granularity)
+                .and("start").gte(from))
+                .with(Sort.by(Sort.Direction.ASC, "start"));
+        return mongoTemplate.find(query, ExecutionStatsBucket.class);
+    }
+
+    /**
+     * Delete the rollups of a task
+     *
+     * @param taskId The task ID
+     */
+    public void deleteByTaskId(String taskId) {
+        mongoTemplate.remove(new Query(Criteria.where("taskId").is(taskId)), ExecutionStatsBucket.class);
+    }
+
+    /**
+     * Get the start of the bucket a point in time falls into
+     *
+     * @param millis The point in time
+     * @param granularity Bucket length in minutes
+     * @return Start of the bucket
+     */
+    public static long bucketStart(long millis, int granularity) {
+        long length = TimeUnit.MINUTES.toMillis(granularity);
+        return Math.floorDiv(millis, length) * length;
+    }
+
+    /**
+     * Queue the upsert adding an execution to its bucket of one granularity
+     *
+     * @param bulk The bulk write
+     * @param execution The execution
+     * @param granularity Bucket length in minutes
+     * @param retentionMillis How long buckets of this granularity are kept
+     * @param now The current time
+     * @return 1 if an update was queued, 0 if the bucket has already expired
+     */
+    private static int addTo(BulkOperations bulk, TaskExecution execution, int granularity,
+                             long retentionMillis, long now) {
+        long start = bucketStart(execution.getStartTime().getTime(), granularity);
+        long expireAt = start + TimeUnit.MINUTES.toMillis(granularity) + retentionMillis;
+        if (expireAt <= now) {
+            return 0;
+        }
+
+        long millis = execution.getEndTime() != null
+                ? Math.max(0, execution.getEndTime().getTime() - execution.getStartTime().getTime())
+                : 0;
+        boolean failed = execution.getExitCode() == null || execution.getExitCode() != 0;
+
+        String id = execution.getTaskId() + ":" + granularity + ":" + start;
+        Update update = new Update()
+                .setOnInsert("taskId", execution.getTaskId())
+                .setOnInsert("granularity", granularity)
+                .setOnInsert("start", new Date(start))
+                .setOnInsert("expireAt", new Date(expireAt))
+                .inc("count", 1)
+                .inc("failures", failed ? 1 : 0)
+                .inc("totalMillis", millis)
+                .min("minMillis", millis)
+                .max("maxMillis", millis)
+                .inc("histogram." + DurationSketch.bucketOf(millis), 1L);
+        bulk.upsert(new Query(Criteria.where("_id").is(id)), update);
+        return 1;
+    }
+}
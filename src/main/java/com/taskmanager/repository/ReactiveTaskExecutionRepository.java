@@ -0,0 +1,23 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.TaskExecution;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * ReactiveTaskExecutionRepository is the non-blocking counterpart of TaskExecutionRepository,
+ * used by the "reactive" profile. Paged history queries are declared in ReactiveTaskExecutionRepositoryCustom.
+ */
+@Repository
+public interface ReactiveTaskExecutionRepository extends ReactiveMongoRepository<TaskExecution, String>,
+        ReactiveTaskExecutionRepositoryCustom {
+
+    /**
+     * Delete all executions of a task
+     *
+     * @param taskId The task ID
+     * @return Number of deleted executions
+     */
+    Mono<Long> deleteByTaskId(String taskId);
+}
@@ -0,0 +1,25 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.TaskExecution;
+import reactor.core.publisher.Flux;
+
+import java.util.Date;
+
+/**
+ * ReactiveTaskExecutionRepositoryCustom declares the non-blocking execution history queries
+ */
+public interface ReactiveTaskExecutionRepositoryCustom {
+
+    /**
+     * Find a slice of a task's executions, newest first
+     *
+     * @param taskId The task ID
+     * @param from Only executions started at or after this time; null for no lower bound
+     * @param to Only executions started before this time; null for no upper bound
+     * @param afterStartTime Start time of the last execution already seen; null for the first page
+     * @param afterId ID of the last execution already seen; null for the first page
+     * @param limit Maximum number of executions to return
+     * @return The executions in the slice
+     */
+    Flux<TaskExecution> findSlice(String taskId, Date from, Date to, Date afterStartTime, String afterId, int limit);
+}
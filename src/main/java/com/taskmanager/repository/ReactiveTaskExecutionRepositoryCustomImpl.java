@@ -0,0 +1,44 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.TaskExecution;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+
+import java.util.Date;
+
+/**
+ * ReactiveTaskExecutionRepositoryCustomImpl implements the execution history queries with
+ * ReactiveMongoTemplate. Spring Data merges it into ReactiveTaskExecutionRepository.
+ */
+public class ReactiveTaskExecutionRepositoryCustomImpl implements ReactiveTaskExecutionRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param mongoTemplate Template for reactive MongoDB operations
+     */
+    @Autowired
+    public ReactiveTaskExecutionRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Find a slice of a task's executions, newest first
+     *
+     * @param taskId The task ID
+     * @param from Only executions started at or after this time; null for no lower bound
+     * @param to Only executions started before this time; null for no upper bound
+     * @param afterStartTime Start time of the last execution already seen; null for the first page
+     * @param afterId ID of the last execution already seen; null for the first page
+     * @param limit Maximum number of executions to return
+     * @return The executions in the slice
+     */
+    @Override
+    public Flux<TaskExecution> findSlice(String taskId, Date from, Date to, Date afterStartTime, String afterId, int limit) {
+        return mongoTemplate.find(TaskQueries.executionSlice(taskId, from, to, afterStartTime, afterId, limit),
+                TaskExecution.class);
+    }
+}
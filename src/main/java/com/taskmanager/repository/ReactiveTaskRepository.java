@@ -0,0 +1,22 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.Task;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * ReactiveTaskRepository is the non-blocking counterpart of TaskRepository, used by the
+ * "reactive" profile. Queries are built by the same TaskQueries as the blocking repository.
+ */
+@Repository
+public interface ReactiveTaskRepository extends ReactiveMongoRepository<Task, String>, ReactiveTaskRepositoryCustom {
+
+    /**
+     * Find tasks by owner
+     *
+     * @param owner The owner to search for
+     * @return Tasks owned by the specified owner
+     */
+    Flux<Task> findByOwner(String owner);
+}
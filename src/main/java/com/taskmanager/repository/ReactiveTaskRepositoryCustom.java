@@ -0,0 +1,75 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.Task;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * ReactiveTaskRepositoryCustom declares the non-blocking task queries built with ReactiveMongoTemplate
+ */
+public interface ReactiveTaskRepositoryCustom {
+
+    /**
+     * Find one task without its legacy embedded executions
+     *
+     * @param id The task ID
+     * @return The task, or empty if it does not exist
+     */
+    Mono<Task> findTask(String id);
+
+    /**
+     * Find one page of tasks ordered by ID, without legacy embedded executions
+     *
+     * @param afterId Only tasks with an ID greater than this; null for the first page
+     * @param lastId ID of the last task in the page, i.e. the next page's cursor; null for the
+     *        last page, which then holds all remaining tasks
+     * @param limit Page size
+     * @return The tasks of the page, as they are read from the cursor
+     */
+    Flux<Task> findPage(String afterId, String lastId, int limit);
+
+    /**
+     * Find the cursor of the page following the given one
+     *
+     * @param afterId Cursor of the current page; null for the first page
+     * @param limit Page size
+     * @return The next cursor, or empty if this is the last page
+     */
+    Mono<String> findNextPageCursor(String afterId, int limit);
+
+    /**
+     * Find tasks whose name contains the given text, ordered by ID
+     *
+     * @param text The text to search for (matched literally, case-insensitive)
+     * @param limit Maximum number of tasks to return
+     * @return The matching tasks
+     */
+    Flux<Task> searchByName(String text, int limit);
+
+    /**
+     * Count tasks whose name contains the given text
+     *
+     * @param text The text to search for (matched literally, case-insensitive)
+     * @return Number of matching tasks
+     */
+    Mono<Long> countByName(String text);
+
+    /**
+     * Find several tasks with a single $in query
+     *
+     * @param ids The task IDs
+     * @return The tasks found, in no particular order
+     */
+    Flux<Task> findByIds(Collection<String> ids);
+
+    /**
+     * Write the editable fields of a task with one atomic update, as TaskRepositoryCustom.upsertFields
+     *
+     * @param task The task holding the new field values
+     * @param expectedVersion Version the task must still have; null to write unconditionally
+     * @return The stored task, or an OptimisticLockingFailureException if the version did not match
+     */
+    Mono<Task> upsertFields(Task task, Long expectedVersion);
+}
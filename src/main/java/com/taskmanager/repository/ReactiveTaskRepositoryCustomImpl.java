@@ -0,0 +1,130 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.Task;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * ReactiveTaskRepositoryCustomImpl implements the non-blocking task queries with ReactiveMongoTemplate.
+ * Spring Data merges it into ReactiveTaskRepository.
+ */
+public class ReactiveTaskRepositoryCustomImpl implements ReactiveTaskRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param mongoTemplate Template for reactive MongoDB operations
+     */
+    @Autowired
+    public ReactiveTaskRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Find one task without its legacy embedded executions
+     *
+     * @param id The task ID
+     * @return The task, or empty if it does not exist
+     */
+    @Override
+    public Mono<Task> findTask(String id) {
+        return mongoTemplate.findOne(TaskQueries.byIds(List.of(id)), Task.class);
+    }
+
+    /**
+     * Find one page of tasks ordered by ID, without legacy embedded executions
+     *
+     * @param afterId Only tasks with an ID greater than this; null for the first page
+     * @param lastId ID of the last task in the page, i.e. the next page's cursor; null for the
+     *        last page, which then holds all remaining tasks
+     * @param limit Page size
+     * @return The tasks of the page, as they are read from the cursor
+     */
+    @Override
+    public Flux<Task> findPage(String afterId, String lastId, int limit) {
+        return mongoTemplate.find(TaskQueries.page(afterId, lastId, limit), Task.class);
+    }
+
+    /**
+     * Find the cursor of the page following the given one
+     *
+     * @param afterId Cursor of the current page; null for the first page
+     * @param limit Page size
+     * @return The next cursor, or empty if this is the last page
+     */
+    @Override
+    public Mono<String> findNextPageCursor(String afterId, int limit) {
+        // Look at the last task of this page and the first of the next one
+        return mongoTemplate.find(TaskQueries.pageBoundary(afterId, limit), Document.class,
+                        mongoTemplate.getCollectionName(Task.class))
+                .collectList()
+                .filter(boundary -> boundary.size() == 2)
+                .map(boundary -> String.valueOf(boundary.get(0).get("_id")));
+    }
+
+    /**
+     * Find tasks whose name contains the given text, ordered by ID
+     *
+     * @param text The text to search for (matched literally, case-insensitive)
+     * @param limit Maximum number of tasks to return
+     * @return The matching tasks
+     */
+    @Override
+    public Flux<Task> searchByName(String text, int limit) {
+        return mongoTemplate.find(TaskQueries.nameSearch(text, limit), Task.class);
+    }
+
+    /**
+     * Count tasks whose name contains the given text
+     *
+     * @param text The text to search for (matched literally, case-insensitive)
+     * @return Number of matching tasks
+     */
+    @Override
+    public Mono<Long> countByName(String text) {
+        return mongoTemplate.count(TaskQueries.nameCount(text), Task.class);
+    }
+
+    /**
+     * Find several tasks with a single $in query
+     *
+     * @param ids The task IDs
+     * @return The tasks found, in no particular order
+     */
+    @Override
+    public Flux<Task> findByIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return mongoTemplate.find(TaskQueries.byIds(ids), Task.class);
+    }
+
+    /**
+     * Write the editable fields of a task with one atomic update
+     *
+     * @param task The task holding the new field values
+     * @param expectedVersion Version the task must still have; null to write unconditionally
+     * @return The stored task, or an OptimisticLockingFailureException if the version did not match
+     */
+    @Override
+    public Mono<Task> upsertFields(Task task, Long expectedVersion) {
+        // A versioned write must not upsert: a version mismatch would otherwise insert a duplicate ID
+        return mongoTemplate.findAndModify(TaskQueries.upsertTarget(task.getId(), expectedVersion),
+                        TaskQueries.editableFields(task),
+                        FindAndModifyOptions.options().returnNew(true).upsert(expectedVersion == null),
+                        Task.class)
+                .switchIfEmpty(Mono.error(() -> new OptimisticLockingFailureException(
+                        "Task with ID '" + task.getId()
+                        + "' does not have version " + expectedVersion + "; it was modified or deleted")));
+    }
+}
@@ -0,0 +1,22 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.TaskExecution;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * TaskExecutionRepository provides data access methods for TaskExecution entities.
+ * Each execution is a separate document, so recording a run is a single insert.
+ * Paged history queries are declared in TaskExecutionRepositoryCustom.
+ */
+@Repository
+public interface TaskExecutionRepository extends MongoRepository<TaskExecution, String>, TaskExecutionRepositoryCustom {
+
+    /**
+     * Delete all executions of a task
+     *
+     * @param taskId The task ID
+     * @return Number of deleted executions
+     */
+    long deleteByTaskId(String taskId);
+}
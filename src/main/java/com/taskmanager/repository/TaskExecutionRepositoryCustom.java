@@ -0,0 +1,46 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.TaskExecution;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * TaskExecutionRepositoryCustom declares execution history queries built with MongoTemplate.
+ */
+public interface TaskExecutionRepositoryCustom {
+
+    /**
+     * Find a slice of a task's executions, newest first, using the (taskId, startTime, _id) index.
+     * Passing the start time and ID of the last execution already seen continues after it.
+     *
+     * @param taskId The task ID
+     * @param from Only executions started at or after this time; null for no lower bound
+     * @param to Only executions started before this time; null for no upper bound
+     * @param afterStartTime Start time of the last execution already seen; null for the first page
+     * @param afterId ID of the last execution already seen; null for the first page
+     * @param limit Maximum number of executions to return
+     * @return The executions in the slice
+     */
+    List<TaskExecution> findSlice(String taskId, Date from, Date to, Date afterStartTime, String afterId, int limit);
+
+    /**
+     * Stream all executions grouped by task, newest first within a task, read lazily from a
+     * Mongo cursor in batches, for export. The caller must close the stream.
+     *
+     * @param batchSize Number of executions fetched per cursor batch
+     * @return Stream of all executions
+     */
+    Stream<TaskExecution> streamAll(int batchSize);
+
+    /**
+     * Insert the executions whose ID is not stored yet with a single unordered bulk write.
+     * Executions are never changed once recorded, so stored ones are left as they are, which
+     * makes importing the same records again harmless. A failing item does not stop the others.
+     *
+     * @param executions The executions to write; IDs must be set and distinct
+     * @return The executions inserted, the number already stored and the failures by ID
+     */
+    BulkInsertResult<TaskExecution> insertMissing(List<TaskExecution> executions);
+}
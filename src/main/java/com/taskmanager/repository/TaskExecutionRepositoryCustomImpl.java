@@ -0,0 +1,129 @@
+package com.taskmanager.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.taskmanager.model.TaskExecution;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * TaskExecutionRepositoryCustomImpl implements the execution history queries with MongoTemplate.
+ * Spring Data merges it into TaskExecutionRepository.
+ */
+public class TaskExecutionRepositoryCustomImpl implements TaskExecutionRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param mongoTemplate Template for MongoDB operations
+     */
+    @Autowired
+    public TaskExecutionRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Find a slice of a task's executions, newest first
+     *
+     * @param taskId The task ID
+     * @param from Only executions started at or after this time; null for no lower bound
+     * @param to Only executions started before this time; null for no upper bound
+     * @param afterStartTime Start time of the last execution already seen; null for the first page
+     * @param afterId ID of the last execution already seen; null for the first page
+     * @param limit Maximum number of executions to return
+     * @return The executions in the slice
+     */
+    @Override
+    public List<TaskExecution> findSlice(String taskId, Date from, Date to, Date afterStartTime, String afterId, int limit) {
+        return mongoTemplate.find(TaskQueries.executionSlice(taskId, from, to, afterStartTime, afterId, limit),
+                TaskExecution.class);
+    }
+
+    /**
+     * Stream all executions grouped by task, read lazily from a Mongo cursor in batches
+     *
+     * @param batchSize Number of executions fetched per cursor batch
+     * @return Stream of all executions
+     */
+    @Override
+    public Stream<TaskExecution> streamAll(int batchSize) {
+        return mongoTemplate.stream(TaskQueries.allExecutions(batchSize), TaskExecution.class);
+    }
+
+    /**
+     * Insert the executions whose ID is not stored yet with a single unordered bulk write
+     *
+     * @param executions The executions to write; IDs must be set and distinct
+     * @return The executions inserted, the number already stored and the failures by ID
+     */
+    @Override
+    public BulkInsertResult<TaskExecution> insertMissing(List<TaskExecution> executions) {
+        if (executions.isEmpty()) {
+            return new BulkInsertResult<>(Collections.emptyList(), 0, Collections.emptyMap());
+        }
+
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TaskExecution.class);
+        for (TaskExecution execution : executions) {
+            // Upsert that only sets fields on insert: a stored execution is matched and left alone
+            Document document = new Document();
+            mongoTemplate.getConverter().write(execution, document);
+            Update update = new Update();
+            document.forEach((field, value) -> {
+                if (!"_id".equals(field)) {
+                    update.setOnInsert(field, value);
+                }
+            });
+            operations.upsert(new Query(Criteria.where("_id").is(execution.getId())), update);
+        }
+
+        BulkWriteResult result;
+        Map<Integer, String> failures = new LinkedHashMap<>();
+        try {
+            result = operations.execute();
+        } catch (BulkOperationException e) {
+            // Unordered: the other writes were applied, only the listed ones failed
+            result = e.getResult();
+            for (BulkWriteError error : e.getErrors()) {
+                failures.put(error.getIndex(), error.getMessage());
+            }
+        }
+
+        Set<Integer> inserted = new HashSet<>();
+        for (BulkWriteUpsert upsert : result.getUpserts()) {
+            inserted.add(upsert.getIndex());
+        }
+
+        List<TaskExecution> insertedExecutions = new ArrayList<>(inserted.size());
+        Map<String, String> failuresById = new LinkedHashMap<>();
+        int existing = 0;
+        for (int i = 0; i < executions.size(); i++) {
+            if (failures.containsKey(i)) {
+                failuresById.put(executions.get(i).getId(), failures.get(i));
+            } else if (inserted.contains(i)) {
+                insertedExecutions.add(executions.get(i));
+            } else {
+                existing++;
+            }
+        }
+        return new BulkInsertResult<>(insertedExecutions, existing, failuresById);
+    }
+}
@@ -0,0 +1,235 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.util.NameSearchTokens;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.Date;
+
+/**
+ * TaskQueries builds the task and execution queries shared by the blocking and the
+ * reactive repository implementations, so both read and write documents the same way.
+ */
+final class TaskQueries {
+
+    /**
+     * Embedded execution array of documents that predate the execution collection
+     */
+    static final String LEGACY_EXECUTIONS_FIELD = "taskExecutions";
+
+    private TaskQueries() {}
+
+    /**
+     * Build the query for one page of tasks ordered by ID, without legacy executions.
+     * The page is bounded by the ID range rather than by a count, so tasks inserted into the
+     * range while it is read cannot push its end past the next page's cursor.
+     *
+     * @param afterId Only tasks with an ID greater than this; null for the first page
+     * @param lastId ID of the last task in the page, i.e. the next page's cursor; null for the
+     *        last page, which then holds all remaining tasks
+     * @param limit Page size, fetched in one cursor batch
+     * @return The query
+     */
+    static Query page(String afterId, String lastId, int limit) {
+        Query query = lastId != null
+                ? new Query(afterId != null
+                        ? Criteria.where("_id").gt(afterId).lte(lastId)
+                        : Criteria.where("_id").lte(lastId))
+                        .with(Sort.by(Sort.Direction.ASC, "_id"))
+                : afterKey(afterId);
+        query.cursorBatchSize(limit).fields().exclude(LEGACY_EXECUTIONS_FIELD);
+        return query;
+    }
+
+    /**
+     * Build the query for all tasks ordered by ID, without legacy executions, read from the
+     * cursor in batches of the given size
+     *
+     * @param batchSize Number of tasks per cursor batch
+     * @return The query
+     */
+    static Query all(int batchSize) {
+        Query query = afterKey(null).cursorBatchSize(batchSize);
+        query.fields().exclude(LEGACY_EXECUTIONS_FIELD);
+        return query;
+    }
+
+    /**
+     * Build the index-only query for the last task of a page and the first of the next one
+     *
+     * @param afterId Cursor of the current page; null for the first page
+     * @param limit Page size
+     * @return The query, returning up to two IDs
+     */
+    static Query pageBoundary(String afterId, int limit) {
+        Query query = afterKey(afterId).skip(limit - 1L).limit(2);
+        query.fields().include("_id");
+        return query;
+    }
+
+    /**
+     * Build the query for tasks whose name contains the given text, ordered by ID
+     *
+     * @param text The text to search for
+     * @param limit Maximum number of tasks to return
+     * @return The query
+     */
+    static Query nameSearch(String text, int limit) {
+        Query query = new Query(nameCriteria(text))
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(limit);
+        query.fields().exclude(LEGACY_EXECUTIONS_FIELD);
+        return query;
+    }
+
+    /**
+     * Build the query counting tasks whose name contains the given text
+     *
+     * @param text The text to search for
+     * @return The query
+     */
+    static Query nameCount(String text) {
+        return new Query(nameCriteria(text));
+    }
+
+    /**
+     * Build the $in query for tasks by ID, without legacy executions
+     *
+     * @param ids The task IDs
+     * @return The query
+     */
+    static Query byIds(Collection<String> ids) {
+        Query query = new Query(Criteria.where("_id").in(ids));
+        query.fields().exclude(LEGACY_EXECUTIONS_FIELD);
+        return query;
+    }
+
+    /**
+     * Build the query matching the task an upsert writes
+     *
+     * @param id The task ID
+     * @param expectedVersion Version the task must still have; null for any
+     * @return The query
+     */
+    static Query upsertTarget(String id, Long expectedVersion) {
+        Criteria criteria = Criteria.where("_id").is(id);
+        if (expectedVersion != null) {
+            criteria.and("version").is(expectedVersion);
+        }
+        Query query = new Query(criteria);
+        query.fields().exclude(LEGACY_EXECUTIONS_FIELD);
+        return query;
+    }
+
+    /**
+     * Build the update that writes the user-editable fields of a task and bumps its version
+     *
+     * @param task The task holding the new field values, and the insert ID written only if the
+     *        update inserts the document
+     * @return The update; fields it does not name, such as legacy executions, are left alone
+     */
+    static Update editableFields(Task task) {
+        Update update = new Update()
+                .set("name", task.getName())
+                .set("nameLower", task.getNameLower())
+                .set("nameGrams", task.getNameGrams())
+                .set("owner", task.getOwner())
+                .set("command", task.getCommand())
+                .inc("version", 1);
+        if (task.getInsertId() != null) {
+            update.setOnInsert("insertId", task.getInsertId());
+        }
+        // Unset rather than store null, so the sparse schedule index only holds scheduled tasks
+        return task.getSchedule() != null ? update.set("schedule", task.getSchedule()) : update.unset("schedule");
+    }
+
+    /**
+     * Build the query for a slice of a task's executions, newest first, using the
+     * (taskId, startTime, _id) index
+     *
+     * @param taskId The task ID
+     * @param from Only executions started at or after this time; null for no lower bound
+     * @param to Only executions started before this time; null for no upper bound
+     * @param afterStartTime Start time of the last execution already seen; null for the first page
+     * @param afterId ID of the last execution already seen; null for the first page
+     * @param limit Maximum number of executions to return
+     * @return The query
+     */
+    static Query executionSlice(String taskId, Date from, Date to, Date afterStartTime, String afterId, int limit) {
+        Criteria criteria = Criteria.where("taskId").is(taskId);
+
+        if (from != null || to != null) {
+            Criteria startTime = Criteria.where("startTime");
+            if (from != null) {
+                startTime.gte(from);
+            }
+            if (to != null) {
+                startTime.lt(to);
+            }
+            criteria.andOperator(startTime);
+        }
+
+        if (afterStartTime != null && afterId != null) {
+            // Keyset continuation on (startTime desc, _id desc)
+            criteria.orOperator(
+                    Criteria.where("startTime").lt(afterStartTime),
+                    Criteria.where("startTime").is(afterStartTime).and("_id").lt(afterId));
+        }
+
+        return new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "startTime").and(Sort.by(Sort.Direction.DESC, "_id")))
+                .limit(limit);
+    }
+
+    /**
+     * Build the query for all executions grouped by task, newest first within a task, read from
+     * the cursor in batches of the given size. The order is that of the (taskId, startTime, _id)
+     * index, so no in-memory sort is needed.
+     *
+     * @param batchSize Number of executions per cursor batch
+     * @return The query
+     */
+    static Query allExecutions(int batchSize) {
+        return new Query()
+                .with(Sort.by(Sort.Direction.ASC, "taskId")
+                        .and(Sort.by(Sort.Direction.DESC, "startTime"))
+                        .and(Sort.by(Sort.Direction.DESC, "_id")))
+                .cursorBatchSize(batchSize);
+    }
+
+    /**
+     * Build the index-backed criteria for a case-insensitive substring match on the name
+     *
+     * @param text The text to search for
+     * @return The criteria
+     */
+    private static Criteria nameCriteria(String text) {
+        String normalized = NameSearchTokens.normalize(text);
+        String literal = NameSearchTokens.escapeRegex(normalized);
+
+        if (normalized.length() < NameSearchTokens.GRAM_LENGTH) {
+            // Short text: some n-gram must start with it (anchored, so the index gives tight bounds)
+            return Criteria.where("nameGrams").regex("^" + literal);
+        }
+        // Narrow candidates by trigrams through the index, then confirm the exact substring
+        return Criteria.where("nameGrams").all(NameSearchTokens.queryGrams(normalized))
+                .and("nameLower").regex(literal);
+    }
+
+    /**
+     * Build the keyset query for the tasks following a cursor
+     *
+     * @param afterId The cursor, or null for the first page
+     * @return Query sorted by ID
+     */
+    private static Query afterKey(String afterId) {
+        Query query = afterId != null
+                ? new Query(Criteria.where("_id").gt(afterId))
+                : new Query();
+        return query.with(Sort.by(Sort.Direction.ASC, "_id"));
+    }
+}
@@ -1,36 +1,37 @@
 package com.taskmanager.repository;
 
 import com.taskmanager.model.Task;
+import com.taskmanager.util.NameSearchTokens;
 import org.springframework.data.mongodb.repository.MongoRepository;
-import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 /**
  * TaskRepository provides data access methods for Task entities.
- * It extends MongoRepository which provides basic CRUD operations.
+ * It extends MongoRepository which provides basic CRUD operations,
+ * and TaskRepositoryCustom for queries built with MongoTemplate.
  */
 @Repository
-public interface TaskRepository extends MongoRepository<Task, String> {
+public interface TaskRepository extends MongoRepository<Task, String>, TaskRepositoryCustom {
 
     /**
-     * Find tasks by name containing the specified string (case-insensitive)
+     * Find tasks by exact name match (case-insensitive)
      *
-     * @param namePattern The string to search for in task names
-     * @return List of tasks whose names contain the search string
+     * @param name The exact name to search for
+     * @return List of tasks with matching names
      */
-    @Query("{'name': {$regex: ?0, $options: 'i'}}")
-    List<Task> findByNameContainingIgnoreCase(String namePattern);
+    default List<Task> findByNameIgnoreCase(String name) {
+        return findByNameLower(NameSearchTokens.normalize(name));
+    }
 
     /**
-     * Find tasks by exact name match (case-insensitive)
+     * Find tasks by their indexed lower-cased name
      *
-     * @param name The exact name to search for
+     * @param nameLower The lower-cased name
      * @return List of tasks with matching names
      */
-    @Query("{'name': {$regex: ?0, $options: 'i'}}")
-    List<Task> findByNameIgnoreCase(String name);
+    List<Task> findByNameLower(String nameLower);
 
     /**
      * Find tasks by owner
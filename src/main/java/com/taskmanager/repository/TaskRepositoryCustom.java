@@ -0,0 +1,102 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.dto.TaskBulkResult;
+import com.taskmanager.model.Task;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * TaskRepositoryCustom declares task queries that need MongoTemplate features
+ * (projections, keyset pagination, cursors, bulk writes) beyond derived repository methods.
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Stream one page of tasks ordered by ID, read lazily from a Mongo cursor.
+     * Legacy embedded execution histories are excluded by projection.
+     * The caller must close the stream.
+     *
+     * @param afterId Only tasks with an ID greater than this are returned; null for the first page
+     * @param lastId ID of the last task in the page, i.e. the next page's cursor; null for the
+     *        last page, which then holds all remaining tasks
+     * @param limit Page size
+     * @return Stream of tasks in the page
+     */
+    Stream<Task> streamPage(String afterId, String lastId, int limit);
+
+    /**
+     * Stream all tasks ordered by ID, read lazily from a Mongo cursor in batches, for export.
+     * Legacy embedded execution histories are excluded by projection.
+     * The caller must close the stream.
+     *
+     * @param batchSize Number of tasks fetched per cursor batch
+     * @return Stream of all tasks
+     */
+    Stream<Task> streamAll(int batchSize);
+
+    /**
+     * Find the cursor for the page following the given one, using an index-only query
+     *
+     * @param afterId Cursor of the current page; null for the first page
+     * @param limit Page size
+     * @return Optional containing the ID of the last task in the current page if more tasks follow it
+     */
+    Optional<String> findNextPageCursor(String afterId, int limit);
+
+    /**
+     * Find tasks whose name contains the given text (case-insensitive), using the name n-gram index.
+     * The text is matched literally; regular expression syntax has no effect.
+     *
+     * @param text The text to search for in task names
+     * @param limit Maximum number of tasks to return
+     * @return Matching tasks ordered by ID
+     */
+    List<Task> searchByName(String text, int limit);
+
+    /**
+     * Count tasks whose name contains the given text (case-insensitive)
+     *
+     * @param text The text to search for in task names
+     * @return Number of matching tasks
+     */
+    long countByName(String text);
+
+    /**
+     * Find the tasks with the given IDs in a single $in query, without legacy embedded executions
+     *
+     * @param ids The task IDs
+     * @return The tasks found, in no particular order
+     */
+    List<Task> findByIds(Collection<String> ids);
+
+    /**
+     * Stream the IDs and schedules of all scheduled tasks. The caller must close the stream.
+     *
+     * @return Stream of tasks holding only ID and schedule
+     */
+    Stream<Task> streamScheduled();
+
+    /**
+     * Create a task or update its name, owner, command and schedule in one atomic findAndModify.
+     * Other fields of an existing task document are left untouched and its version is incremented.
+     *
+     * @param task The task holding the ID and the new field values
+     * @param expectedVersion Version the task must still have; null to create or update unconditionally
+     * @return The task as stored after the write
+     * @throws org.springframework.dao.OptimisticLockingFailureException if an expected version was
+     *         given and the task no longer has it (or does not exist)
+     */
+    Task upsertFields(Task task, Long expectedVersion);
+
+    /**
+     * Create tasks or update their name, owner, command and schedule with a single unordered bulk write.
+     * A failing item does not stop the others.
+     *
+     * @param tasks The tasks to write; IDs must be distinct
+     * @return One result per task, in the same order, with status CREATED, UPDATED or FAILED
+     */
+    List<TaskBulkResult> upsertAll(List<Task> tasks);
+}
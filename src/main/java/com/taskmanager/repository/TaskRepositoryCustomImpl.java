@@ -0,0 +1,206 @@
+package com.taskmanager.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.taskmanager.dto.TaskBulkResult;
+import com.taskmanager.model.Task;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * TaskRepositoryCustomImpl implements the custom task queries with MongoTemplate.
+ * Spring Data merges it into TaskRepository.
+ */
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param mongoTemplate Template for MongoDB operations
+     */
+    @Autowired
+    public TaskRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Stream one page of tasks ordered by ID, read lazily from a Mongo cursor
+     *
+     * @param afterId Only tasks with an ID greater than this are returned; null for the first page
+     * @param lastId ID of the last task in the page, i.e. the next page's cursor; null for the
+     *        last page, which then holds all remaining tasks
+     * @param limit Page size
+     * @return Stream of tasks in the page
+     */
+    @Override
+    public Stream<Task> streamPage(String afterId, String lastId, int limit) {
+        return mongoTemplate.stream(TaskQueries.page(afterId, lastId, limit), Task.class);
+    }
+
+    /**
+     * Stream all tasks ordered by ID, read lazily from a Mongo cursor in batches
+     *
+     * @param batchSize Number of tasks fetched per cursor batch
+     * @return Stream of all tasks
+     */
+    @Override
+    public Stream<Task> streamAll(int batchSize) {
+        return mongoTemplate.stream(TaskQueries.all(batchSize), Task.class);
+    }
+
+    /**
+     * Find the cursor for the page following the given one, using an index-only query
+     *
+     * @param afterId Cursor of the current page; null for the first page
+     * @param limit Page size
+     * @return Optional containing the ID of the last task in the current page if more tasks follow it
+     */
+    @Override
+    public Optional<String> findNextPageCursor(String afterId, int limit) {
+        // Look at the last task of this page and the first of the next one
+        List<Document> boundary = mongoTemplate.find(TaskQueries.pageBoundary(afterId, limit), Document.class,
+                mongoTemplate.getCollectionName(Task.class));
+        if (boundary.size() < 2) {
+            return Optional.empty();
+        }
+        return Optional.of(String.valueOf(boundary.get(0).get("_id")));
+    }
+
+    /**
+     * Find tasks whose name contains the given text (case-insensitive)
+     *
+     * @param text The text to search for in task names
+     * @param limit Maximum number of tasks to return
+     * @return Matching tasks ordered by ID
+     */
+    @Override
+    public List<Task> searchByName(String text, int limit) {
+        return mongoTemplate.find(TaskQueries.nameSearch(text, limit), Task.class);
+    }
+
+    /**
+     * Count tasks whose name contains the given text (case-insensitive)
+     *
+     * @param text The text to search for in task names
+     * @return Number of matching tasks
+     */
+    @Override
+    public long countByName(String text) {
+        return mongoTemplate.count(TaskQueries.nameCount(text), Task.class);
+    }
+
+    /**
+     * Find the tasks with the given IDs in a single $in query
+     *
+     * @param ids The task IDs
+     * @return The tasks found, in no particular order
+     */
+    @Override
+    public List<Task> findByIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return mongoTemplate.find(TaskQueries.byIds(ids), Task.class);
+    }
+
+    /**
+     * Stream the IDs and schedules of all scheduled tasks, using the sparse schedule index
+     *
+     * @return Stream of tasks holding only ID and schedule
+     */
+    @Override
+    public Stream<Task> streamScheduled() {
+        Query query = new Query(Criteria.where("schedule").exists(true));
+        query.fields().include("_id").include("schedule");
+        return mongoTemplate.stream(query, Task.class);
+    }
+
+    /**
+     * Create a task or update its name, owner, command and schedule in one atomic findAndModify
+     *
+     * @param task The task holding the ID and the new field values
+     * @param expectedVersion Version the task must still have; null to create or update unconditionally
+     * @return The task as stored after the write
+     */
+    @Override
+    public Task upsertFields(Task task, Long expectedVersion) {
+        // A versioned write must not upsert: a version mismatch would otherwise insert a duplicate ID
+        Task stored = mongoTemplate.findAndModify(TaskQueries.upsertTarget(task.getId(), expectedVersion),
+                TaskQueries.editableFields(task),
+                FindAndModifyOptions.options().returnNew(true).upsert(expectedVersion == null), Task.class);
+        if (stored == null) {
+            throw new OptimisticLockingFailureException("Task with ID '" + task.getId()
+                    + "' does not have version " + expectedVersion + "; it was modified or deleted");
+        }
+        return stored;
+    }
+
+    /**
+     * Create tasks or update their name, owner, command and schedule with a single unordered bulk write
+     *
+     * @param tasks The tasks to write; IDs must be distinct
+     * @return One result per task, in the same order, with status CREATED, UPDATED or FAILED
+     */
+    @Override
+    public List<TaskBulkResult> upsertAll(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Task.class);
+        for (Task task : tasks) {
+            operations.upsert(TaskQueries.upsertTarget(task.getId(), null), TaskQueries.editableFields(task));
+        }
+
+        BulkWriteResult result;
+        Map<Integer, String> failures = new HashMap<>();
+        try {
+            result = operations.execute();
+        } catch (BulkOperationException e) {
+            // Unordered: the other writes were applied, only the listed ones failed
+            result = e.getResult();
+            for (BulkWriteError error : e.getErrors()) {
+                failures.put(error.getIndex(), error.getMessage());
+            }
+        }
+
+        Set<Integer> inserted = new HashSet<>();
+        for (BulkWriteUpsert upsert : result.getUpserts()) {
+            inserted.add(upsert.getIndex());
+        }
+
+        List<TaskBulkResult> results = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            String id = tasks.get(i).getId();
+            if (failures.containsKey(i)) {
+                results.add(new TaskBulkResult(id, TaskBulkResult.Status.FAILED, failures.get(i)));
+            } else if (inserted.contains(i)) {
+                results.add(new TaskBulkResult(id, TaskBulkResult.Status.CREATED, null));
+            } else {
+                results.add(new TaskBulkResult(id, TaskBulkResult.Status.UPDATED, null));
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,360 @@
+package com.taskmanager.scheduler;
+
+import com.taskmanager.cache.TaskChangedEvent;
+import com.taskmanager.model.Task;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.service.ExecutionJobService;
+import com.taskmanager.util.TimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * TaskScheduleRunner executes tasks that carry a cron schedule, inside the application.
+ * All pending runs sit in one TimingWheel driven by a single thread, so tens of thousands
+ * of scheduled tasks cost O(1) per tick and no thread or timer each. Due runs are queued
+ * like PUT /tasks/{id}/execute?async=true.
+ * Every replica schedules every task; a run is claimed by inserting its task ID and
+ * scheduled time into the task_schedule_claims collection, so exactly one replica executes
+ * it and a restarting replica's runs are still made by the others.
+ * Task changes (TaskChangedEvent) reschedule the task. The delay between a run's scheduled
+ * time and its firing is recorded as the taskmanager.scheduler.drift timer.
+ */
+@Component
+@ConditionalOnProperty(name = "taskmanager.scheduler.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskScheduleRunner {
+
+    private static final String CLAIMS_COLLECTION = "task_schedule_claims";
+
+    /**
+     * Number of 64-slot wheel levels; with 100 ms ticks four levels cover about 19 days
+     */
+    private static final int WHEEL_LEVELS = 4;
+
+    /**
+     * How long claims are kept; only needs to outlast the clock skew between replicas
+     */
+    private static final long CLAIM_RETENTION_HOURS = 24;
+
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    private final TaskRepository taskRepository;
+    private final ExecutionJobService executionJobService;
+    private final MongoTemplate mongoTemplate;
+    private final long tickMillis;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final TimingWheel<ScheduledRun> wheel = new TimingWheel<>(WHEEL_LEVELS);
+    private final Map<String, TimingWheel.Timer<ScheduledRun>> timers = new ConcurrentHashMap<>();
+    private final Queue<String> changedTaskIds = new ConcurrentLinkedQueue<>();
+
+    private final Timer drift;
+    private final Counter submittedRuns;
+    private final Counter claimedElsewhereRuns;
+    private final Counter failedRuns;
+
+    private long startMillis;
+    private volatile boolean running;
+    private Thread ticker;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param taskRepository Repository for loading schedules
+     * @param executionJobService Service the due runs are queued with
+     * @param mongoTemplate Template for the run claims
+     * @param tickMillis Resolution of the scheduler
+     * @param meterRegistry Registry for scheduler metrics
+     */
+    @Autowired
+    public TaskScheduleRunner(TaskRepository taskRepository, ExecutionJobService executionJobService,
+                              MongoTemplate mongoTemplate,
+                              @Value("${taskmanager.scheduler.tick-millis:100}") long tickMillis,
+                              MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.executionJobService = executionJobService;
+        this.mongoTemplate = mongoTemplate;
+        this.tickMillis = tickMillis;
+
+        this.drift = Timer.builder("taskmanager.scheduler.drift")
+                .description("Delay between the scheduled time of a run and its firing")
+                .register(meterRegistry);
+        this.submittedRuns = runCounter(meterRegistry, "submitted");
+        this.claimedElsewhereRuns = runCounter(meterRegistry, "claimed_elsewhere");
+        this.failedRuns = runCounter(meterRegistry, "failed");
+        Gauge.builder("taskmanager.scheduler.scheduled.tasks", timers, Map::size)
+                .description("Tasks with a pending scheduled run on this replica")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start the ticking thread, which loads all schedules first
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        ticker = new Thread(this::tick, "task-scheduler");
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    /**
+     * Stop the ticking thread; runs already queued still execute
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (ticker != null) {
+            ticker.interrupt();
+        }
+    }
+
+    /**
+     * Reschedule a task when it changes on this or another replica
+     *
+     * @param event The change event
+     */
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        changedTaskIds.add(event.getTaskId());
+    }
+
+    /**
+     * Load all schedules, then advance the wheel in step with the clock until stopped
+     */
+    private void tick() {
+        startMillis = System.currentTimeMillis();
+        while (running && !loadSchedules()) {
+            if (!sleep(RETRY_DELAY_MILLIS)) {
+                return;
+            }
+        }
+
+        while (running) {
+            try {
+                applyChanges();
+                long now = System.currentTimeMillis();
+                while (tickToMillis(wheel.getCurrentTick() + 1) <= now) {
+                    for (ScheduledRun run : wheel.advance()) {
+                        fire(run);
+                    }
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Task scheduler tick failed: " + e.getMessage());
+            }
+
+            if (!sleep(tickToMillis(wheel.getCurrentTick() + 1) - System.currentTimeMillis())) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Put the next run of every scheduled task into the wheel
+     *
+     * @return true once loaded, false if the database could not be read
+     */
+    private boolean loadSchedules() {
+        try {
+            mongoTemplate.indexOps(CLAIMS_COLLECTION)
+                    .ensureIndex(new Index("at", Sort.Direction.ASC).expire(CLAIM_RETENTION_HOURS, TimeUnit.HOURS));
+            try (Stream<Task> tasks = taskRepository.streamScheduled()) {
+                Iterator<Task> iterator = tasks.iterator();
+                while (iterator.hasNext()) {
+                    schedule(iterator.next());
+                }
+            }
+            return true;
+        } catch (RuntimeException e) {
+            System.err.println("Failed to load task schedules: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Reschedule the tasks that changed since the last tick, reading them with one query
+     */
+    private void applyChanges() {
+        Set<String> ids = new HashSet<>();
+        String id;
+        while ((id = changedTaskIds.poll()) != null) {
+            ids.add(id);
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        List<Task> tasks;
+        try {
+            tasks = taskRepository.findByIds(ids);
+        } catch (RuntimeException e) {
+            // Keep the current timers and try again on the next tick
+            changedTaskIds.addAll(ids);
+            throw e;
+        }
+        ids.forEach(this::unschedule);
+        tasks.forEach(this::schedule);
+    }
+
+    /**
+     * Put the next run of a task into the wheel, replacing any pending one
+     *
+     * @param task The task; ignored if it has no valid schedule
+     */
+    private void schedule(Task task) {
+        unschedule(task.getId());
+        if (task.getSchedule() == null || !CronExpression.isValidExpression(task.getSchedule())) {
+            return;
+        }
+        scheduleNext(task.getId(), CronExpression.parse(task.getSchedule()), System.currentTimeMillis());
+    }
+
+    /**
+     * Put the first run of a cron expression after the given time into the wheel
+     *
+     * @param taskId The task ID
+     * @param cron The task's schedule
+     * @param afterMillis Time after which the run is due
+     */
+    private void scheduleNext(String taskId, CronExpression cron, long afterMillis) {
+        ZonedDateTime next = cron.next(ZonedDateTime.ofInstant(Instant.ofEpochMilli(afterMillis), ZoneOffset.UTC));
+        if (next == null) {
+            return;
+        }
+        long scheduledMillis = next.toInstant().toEpochMilli();
+        long deadlineTick = Math.floorDiv(scheduledMillis - startMillis + tickMillis - 1, tickMillis);
+        timers.put(taskId, wheel.add(deadlineTick, new ScheduledRun(taskId, cron, scheduledMillis)));
+    }
+
+    /**
+     * Cancel the pending run of a task, if any
+     *
+     * @param taskId The task ID
+     */
+    private void unschedule(String taskId) {
+        TimingWheel.Timer<ScheduledRun> timer = timers.remove(taskId);
+        if (timer != null) {
+            timer.cancel();
+        }
+    }
+
+    /**
+     * Execute a due run if this replica wins its claim, then schedule the next one
+     *
+     * @param run The due run
+     */
+    private void fire(ScheduledRun run) {
+        long now = System.currentTimeMillis();
+        drift.record(Math.max(now - run.scheduledMillis, 0), TimeUnit.MILLISECONDS);
+        timers.remove(run.taskId);
+
+        try {
+            if (claim(run)) {
+                executionJobService.submit(run.taskId);
+                submittedRuns.increment();
+            } else {
+                claimedElsewhereRuns.increment();
+            }
+        } catch (RuntimeException e) {
+            // Unknown or unsafe task, full queue or unreachable database: this run is skipped
+            failedRuns.increment();
+            System.err.println("Scheduled run of task " + run.taskId + " failed: " + e.getMessage());
+        }
+
+        // Runs missed while this one was late are not made up; continue from now
+        scheduleNext(run.taskId, run.cron, Math.max(now, run.scheduledMillis));
+    }
+
+    /**
+     * Claim a run for this replica
+     *
+     * @param run The due run
+     * @return true if no other replica claimed it before
+     */
+    private boolean claim(ScheduledRun run) {
+        try {
+            mongoTemplate.insert(new Document()
+                    .append("_id", run.taskId + "@" + run.scheduledMillis)
+                    .append("instance", instanceId)
+                    .append("at", new Date()), CLAIMS_COLLECTION);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private long tickToMillis(long tick) {
+        return startMillis + tick * tickMillis;
+    }
+
+    private static Counter runCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("taskmanager.scheduler.runs")
+                .description("Scheduled runs that came due on this replica, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sleep on the ticking thread
+     *
+     * @param millis Time to sleep; nothing happens if not positive
+     * @return false if the thread was interrupted
+     */
+    private static boolean sleep(long millis) {
+        if (millis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * A pending run of a scheduled task
+     */
+    private static final class ScheduledRun {
+        private final String taskId;
+        private final CronExpression cron;
+        private final long scheduledMillis;
+
+        private ScheduledRun(String taskId, CronExpression cron, long scheduledMillis) {
+            this.taskId = taskId;
+            this.cron = cron;
+            this.scheduledMillis = scheduledMillis;
+        }
+    }
+}
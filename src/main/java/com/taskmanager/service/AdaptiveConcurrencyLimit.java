@@ -0,0 +1,105 @@
+package com.taskmanager.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * AdaptiveConcurrencyLimit estimates how many executions can run at once before they slow
+ * each other down, in the style of a gradient limiter. Commands differ wildly in run time, so
+ * a sample is not compared with a global average but with the unloaded run time of the same
+ * task: its fastest recent run, which follows a faster run at once and a slower one only very
+ * slowly, so sustained load is not mistaken for the norm. The ratio of the two is the slowdown
+ * caused by load.
+ * A short moving average of that slowdown gives the gradient
+ * clamp(tolerance / slowdown, 0.5, 1), and the limit moves towards
+ * limit * gradient + 1: it grows by one while executions run at their unloaded speed and
+ * shrinks, at most by half, once they run more than tolerance times slower; it settles where
+ * the slowdown is just above the tolerance. It only grows while at least half of it is in use,
+ * so an idle replica does not talk itself into a limit it has never tried.
+ * Not thread-safe: the caller serializes access.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    /**
+     * Weight of a slower sample in the per-task unloaded run time; tiny, so that load shows as
+     * slowdown, yet a task that really got slower is eventually taken as it is
+     */
+    private static final double BASELINE_RISE_ALPHA = 0.002;
+
+    /**
+     * Weight of a sample in the recent slowdown
+     */
+    private static final double SLOWDOWN_ALPHA = 0.2;
+
+    /**
+     * Share of the new estimate taken into the limit per sample
+     */
+    private static final double SMOOTHING = 0.2;
+
+    private static final double MIN_GRADIENT = 0.5;
+
+    private static final int BASELINE_CACHE_SIZE = 10_000;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final Cache<String, double[]> baselines;
+
+    private double limit;
+    private double slowdown = 1;
+
+    /**
+     * Constructor with the bounds of the limit
+     *
+     * @param initialLimit Limit before any execution finished
+     * @param minLimit Lowest limit
+     * @param maxLimit Highest limit, e.g. the number of worker threads
+     * @param tolerance Slowdown accepted before the limit shrinks, e.g. 1.5
+     */
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        if (minLimit < 1 || minLimit > maxLimit || tolerance < 1) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max, tolerance must be at least 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.baselines = Caffeine.newBuilder().maximumSize(BASELINE_CACHE_SIZE).build();
+    }
+
+    /**
+     * Record a finished execution and adjust the limit
+     *
+     * @param key Identifies executions expected to take about the same time (the task ID)
+     * @param nanos Run time of the execution
+     * @param inFlight Executions running when it finished, itself included
+     */
+    void onSample(String key, long nanos, int inFlight) {
+        double sample = Math.max(nanos, 1);
+        double[] baseline = baselines.get(key, k -> new double[] {sample});
+        double ratio = sample / baseline[0];
+        baseline[0] = sample < baseline[0] ? sample : baseline[0] + BASELINE_RISE_ALPHA * (sample - baseline[0]);
+
+        slowdown += SLOWDOWN_ALPHA * (ratio - slowdown);
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance / slowdown));
+        double estimate = limit * gradient + 1;
+        if (inFlight < limit / 2) {
+            estimate = Math.min(estimate, limit);
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, limit + SMOOTHING * (estimate - limit)));
+    }
+
+    /**
+     * @return Number of executions allowed to run at once
+     */
+    int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * @return Recent run time relative to the usual one (1 = executions run at their usual speed)
+     */
+    double getSlowdown() {
+        return slowdown;
+    }
+}
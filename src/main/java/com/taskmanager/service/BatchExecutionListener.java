@@ -0,0 +1,22 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.BatchExecutionResult;
+
+/**
+ * BatchExecutionListener receives the results of a batch execution as its tasks finish.
+ * All calls for one batch arrive on the same thread.
+ */
+public interface BatchExecutionListener {
+
+    /**
+     * Handle the result of one task
+     *
+     * @param result The task result; its execution record is stored shortly after
+     */
+    void onResult(BatchExecutionResult result);
+
+    /**
+     * Handle the end of the batch, after every result was delivered and stored
+     */
+    void onComplete();
+}
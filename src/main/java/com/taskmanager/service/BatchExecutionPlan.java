@@ -0,0 +1,48 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.Task;
+
+import java.util.List;
+
+/**
+ * BatchExecutionPlan holds a validated batch execution request: the tasks to run,
+ * the requested IDs that matched no task, and the number of tasks run at once.
+ */
+public class BatchExecutionPlan {
+
+    private final List<Task> tasks;
+    private final List<String> missingIds;
+    private final int concurrency;
+
+    /**
+     * Constructor with all fields
+     *
+     * @param tasks The tasks to run, in start order
+     * @param missingIds Requested task IDs that do not exist
+     * @param concurrency Maximum number of tasks running at once
+     */
+    public BatchExecutionPlan(List<Task> tasks, List<String> missingIds, int concurrency) {
+        this.tasks = tasks;
+        this.missingIds = missingIds;
+        this.concurrency = concurrency;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    public List<String> getMissingIds() {
+        return missingIds;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * @return Number of results the batch produces
+     */
+    public int size() {
+        return tasks.size() + missingIds.size();
+    }
+}
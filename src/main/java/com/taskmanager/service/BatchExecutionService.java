@@ -0,0 +1,38 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.BatchExecutionRequest;
+
+/**
+ * BatchExecutionService defines operations for running many tasks in one request.
+ * Tasks run in parallel on the shared execution pool, limited per batch, and
+ * their execution records are stored in bulk.
+ */
+public interface BatchExecutionService {
+
+    /**
+     * Validate a batch request and resolve the tasks it names
+     *
+     * @param request The batch request
+     * @return The plan of the batch
+     * @throws IllegalArgumentException if the request names no tasks, both or neither of IDs and
+     *         owner, too many tasks, or an invalid concurrency
+     */
+    BatchExecutionPlan plan(BatchExecutionRequest request);
+
+    /**
+     * Start running a planned batch in the background
+     *
+     * @param plan The plan of the batch
+     * @param listener Receiver for the results as tasks finish
+     * @throws ExecutionRejectedException if too many batches are running already
+     */
+    void start(BatchExecutionPlan plan, BatchExecutionListener listener);
+
+    /**
+     * Get the longest time a batch may run, for response timeouts
+     *
+     * @param plan The plan of the batch
+     * @return Upper bound of the batch run time in milliseconds, assuming free workers
+     */
+    long getMaxRunMillis(BatchExecutionPlan plan);
+}
@@ -0,0 +1,304 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.BatchExecutionRequest;
+import com.taskmanager.dto.BatchExecutionResult;
+import com.taskmanager.exception.ExecutionRejectedException;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskExecution;
+import com.taskmanager.repository.ExecutionStatsStore;
+import com.taskmanager.repository.TaskExecutionRepository;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BatchExecutionServiceImpl runs the tasks of a batch in parallel on the shared execution pool.
+ * Each batch has a coordinator thread that keeps at most the batch's concurrency of tasks
+ * submitted to the FairExecutionScheduler, hands results to the listener in completion order and stores the
+ * execution records with one insert per group of results. Records get their IDs before they
+ * are reported, so the streamed and the stored record are the same.
+ */
+@Service
+public class BatchExecutionServiceImpl implements BatchExecutionService {
+
+    /**
+     * Maximum number of tasks in one batch
+     */
+    private static final int MAX_BATCH_TASKS = 1000;
+
+    /**
+     * Number of finished executions stored together
+     */
+    private static final int INSERT_GROUP_SIZE = 50;
+
+    /**
+     * Longest time finished executions wait to be stored while the batch is still running
+     */
+    private static final long INSERT_INTERVAL_MILLIS = 1000;
+
+    /**
+     * Pause before resubmitting when the execution queues are full and none of the batch's tasks is running
+     */
+    private static final long RESUBMIT_DELAY_MILLIS = 200;
+
+    private final TaskService taskService;
+    private final TaskExecutionRepository taskExecutionRepository;
+    private final ExecutionStatsStore executionStatsStore;
+    private final TaskEventFeed taskEventFeed;
+    private final FairExecutionScheduler executionScheduler;
+    private final int defaultConcurrency;
+    private final int maxConcurrency;
+    private final long executionTimeoutSeconds;
+    private final Semaphore runningBatches;
+    private final AtomicInteger coordinatorCount = new AtomicInteger();
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param taskService Service for task operations
+     * @param taskExecutionRepository Repository for execution history
+     * @param executionStatsStore Store for the per-task execution rollups
+     * @param taskEventFeed Feed announcing stored executions to watching clients
+     * @param executionScheduler Per-owner fair scheduler in front of the shared worker pool
+     * @param defaultConcurrency Tasks running at once when the request does not say
+     * @param maxConcurrency Upper bound for the concurrency a request may ask for
+     * @param maxRunningBatches Maximum number of batches running at once
+     * @param executionTimeoutSeconds Maximum run time of a command
+     */
+    @Autowired
+    public BatchExecutionServiceImpl(TaskService taskService, TaskExecutionRepository taskExecutionRepository,
+                                     ExecutionStatsStore executionStatsStore,
+                                     TaskEventFeed taskEventFeed,
+                                     FairExecutionScheduler executionScheduler,
+                                     @Value("${taskmanager.execution.batch.default-concurrency:4}") int defaultConcurrency,
+                                     @Value("${taskmanager.execution.batch.max-concurrency:16}") int maxConcurrency,
+                                     @Value("${taskmanager.execution.batch.max-running:4}") int maxRunningBatches,
+                                     @Value("${taskmanager.execution.timeout-seconds:30}") long executionTimeoutSeconds) {
+        this.taskService = taskService;
+        this.taskExecutionRepository = taskExecutionRepository;
+        this.executionStatsStore = executionStatsStore;
+        this.taskEventFeed = taskEventFeed;
+        this.executionScheduler = executionScheduler;
+        this.defaultConcurrency = defaultConcurrency;
+        this.maxConcurrency = maxConcurrency;
+        this.executionTimeoutSeconds = executionTimeoutSeconds;
+        this.runningBatches = new Semaphore(maxRunningBatches);
+    }
+
+    /**
+     * Validate a batch request and resolve the tasks it names
+     *
+     * @param request The batch request
+     * @return The plan of the batch
+     */
+    @Override
+    public BatchExecutionPlan plan(BatchExecutionRequest request) {
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean byOwner = request.getOwner() != null && !request.getOwner().trim().isEmpty();
+        if (byIds == byOwner) {
+            throw new IllegalArgumentException("Exactly one of 'ids' and 'owner' must be given");
+        }
+
+        int concurrency = request.getConcurrency() != null ? request.getConcurrency() : defaultConcurrency;
+        if (concurrency < 1 || concurrency > maxConcurrency) {
+            throw new IllegalArgumentException("Parameter 'concurrency' must be between 1 and " + maxConcurrency);
+        }
+
+        List<Task> tasks;
+        List<String> missingIds = new ArrayList<>();
+        if (byIds) {
+            Set<String> ids = new LinkedHashSet<>();
+            for (String id : request.getIds()) {
+                if (id != null && !id.trim().isEmpty()) {
+                    ids.add(id.trim());
+                }
+            }
+            if (ids.size() > MAX_BATCH_TASKS) {
+                throw new IllegalArgumentException("A batch cannot hold more than " + MAX_BATCH_TASKS + " tasks");
+            }
+            tasks = taskService.getTasksByIds(new ArrayList<>(ids));
+            Set<String> found = new LinkedHashSet<>();
+            tasks.forEach(task -> found.add(task.getId()));
+            ids.stream().filter(id -> !found.contains(id)).forEach(missingIds::add);
+        } else {
+            tasks = taskService.getTasksByOwner(request.getOwner().trim());
+            if (tasks.size() > MAX_BATCH_TASKS) {
+                throw new IllegalArgumentException("Owner '" + request.getOwner().trim() + "' has more than "
+                        + MAX_BATCH_TASKS + " tasks; execute them by ID in several batches");
+            }
+        }
+
+        if (tasks.isEmpty() && missingIds.isEmpty()) {
+            throw new IllegalArgumentException("The batch does not name any task");
+        }
+        return new BatchExecutionPlan(tasks, missingIds, concurrency);
+    }
+
+    /**
+     * Start running a planned batch on its own coordinator thread
+     *
+     * @param plan The plan of the batch
+     * @param listener Receiver for the results as tasks finish
+     */
+    @Override
+    public void start(BatchExecutionPlan plan, BatchExecutionListener listener) {
+        if (!runningBatches.tryAcquire()) {
+            throw new ExecutionRejectedException("Too many batch executions running, try again later",
+                    executionTimeoutSeconds);
+        }
+
+        Thread coordinator = new Thread(() -> {
+            try {
+                run(plan, listener);
+            } finally {
+                runningBatches.release();
+            }
+        }, "task-batch-" + coordinatorCount.incrementAndGet());
+        coordinator.setDaemon(true);
+        coordinator.start();
+    }
+
+    /**
+     * Get the longest time a batch may run, for response timeouts
+     *
+     * The scheduler runs at most max-per-owner tasks of one owner at once, so each owner's tasks
+     * take ceil(tasks / min(concurrency, max-per-owner)) rounds; the owners' rounds are added up,
+     * as the batch submits in plan order and one owner's tasks can hold up the next owner's.
+     *
+     * @param plan The plan of the batch
+     * @return Upper bound of the batch run time in milliseconds, assuming free workers
+     */
+    @Override
+    public long getMaxRunMillis(BatchExecutionPlan plan) {
+        int perOwner = Math.min(plan.getConcurrency(), executionScheduler.getMaxPerOwner());
+        Map<String, Integer> tasksByOwner = new HashMap<>();
+        plan.getTasks().forEach(task ->
+                tasksByOwner.merge(FairExecutionScheduler.ownerKey(task.getOwner()), 1, Integer::sum));
+        long rounds = 0;
+        for (int tasks : tasksByOwner.values()) {
+            rounds += (tasks + perOwner - 1) / perOwner;
+        }
+        return TimeUnit.SECONDS.toMillis(Math.max(rounds, 1) * executionTimeoutSeconds);
+    }
+
+    /**
+     * Run the tasks of a batch, keeping up to its concurrency submitted to the shared pool
+     *
+     * @param plan The plan of the batch
+     * @param listener Receiver for the results
+     */
+    private void run(BatchExecutionPlan plan, BatchExecutionListener listener) {
+        BlockingQueue<BatchExecutionResult> finished = new LinkedBlockingQueue<>();
+        List<TaskExecution> unstored = new ArrayList<>();
+        long lastInsertMillis = System.currentTimeMillis();
+
+        for (String missingId : plan.getMissingIds()) {
+            listener.onResult(new BatchExecutionResult(missingId, BatchExecutionResult.Status.REJECTED,
+                    null, "Task with ID '" + missingId + "' not found"));
+        }
+
+        Iterator<Task> pending = plan.getTasks().iterator();
+        Task next = pending.hasNext() ? pending.next() : null;
+        int inFlight = 0;
+
+        try {
+            while (next != null || inFlight > 0) {
+                // Fill the batch's window of running tasks
+                while (next != null && inFlight < plan.getConcurrency()) {
+                    Task task = next;
+                    try {
+                        executionScheduler.execute(task.getOwner(), task.getId(), () -> finished.add(runTask(task)));
+                    } catch (RejectedExecutionException e) {
+                        break;
+                    }
+                    inFlight++;
+                    next = pending.hasNext() ? pending.next() : null;
+                }
+
+                BatchExecutionResult result = inFlight > 0
+                        ? finished.poll(INSERT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)
+                        : null;
+                if (result == null && inFlight == 0) {
+                    // The owners' queues are full of other work; try again shortly
+                    Thread.sleep(RESUBMIT_DELAY_MILLIS);
+                }
+                if (result != null) {
+                    inFlight--;
+                    if (result.getExecution() != null) {
+                        unstored.add(result.getExecution());
+                    }
+                    listener.onResult(result);
+                }
+
+                long now = System.currentTimeMillis();
+                if (unstored.size() >= INSERT_GROUP_SIZE
+                        || (!unstored.isEmpty() && now - lastInsertMillis >= INSERT_INTERVAL_MILLIS)) {
+                    store(unstored);
+                    lastInsertMillis = now;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            store(unstored);
+            listener.onComplete();
+        }
+    }
+
+    /**
+     * Run one task of a batch on a worker thread
+     *
+     * @param task The task to run
+     * @return The task result, with an execution record holding its future ID
+     */
+    private BatchExecutionResult runTask(Task task) {
+        if (!taskService.isCommandSafe(task.getCommand())) {
+            return new BatchExecutionResult(task.getId(), BatchExecutionResult.Status.REJECTED,
+                    null, "Cannot execute unsafe command: " + task.getCommand());
+        }
+        try {
+            TaskExecution execution = taskService.runTask(task);
+            execution.setId(new ObjectId().toHexString());
+            return new BatchExecutionResult(task.getId(), BatchExecutionResult.Status.COMPLETED, execution, null);
+        } catch (Exception e) {
+            return new BatchExecutionResult(task.getId(), BatchExecutionResult.Status.FAILED,
+                    null, "Failed to execute task: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Store finished execution records with a single insert, add them to the statistics,
+     * announce them to watching clients and clear the list
+     *
+     * @param executions The records to store
+     */
+    private void store(List<TaskExecution> executions) {
+        if (executions.isEmpty()) {
+            return;
+        }
+        try {
+            taskExecutionRepository.insert(executions);
+            executionStatsStore.record(executions);
+            taskEventFeed.executionsCompleted(executions);
+        } catch (RuntimeException e) {
+            // The results were already reported; there is nobody left to fail the request for
+            System.err.println("Failed to store " + executions.size() + " batch executions: " + e.getMessage());
+        }
+        executions.clear();
+    }
+}
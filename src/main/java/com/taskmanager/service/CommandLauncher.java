@@ -0,0 +1,177 @@
+package com.taskmanager.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * CommandLauncher turns a command into the argument vector of the process to start.
+ * In direct mode a command whose shell parse is a plain split on blanks (no quotes,
+ * expansions, redirections, globs, assignments or builtins) is executed without a shell:
+ * the first word is resolved against PATH, with the lookups cached, and the words are the
+ * arguments. That saves starting and initialising a shell for every execution. Every other
+ * command, and every command on Windows, goes through the platform shell as before, so a
+ * command behaves the same in both modes.
+ */
+final class CommandLauncher {
+
+    /**
+     * Characters that give a command a meaning beyond splitting it on blanks
+     */
+    private static final String SHELL_SYNTAX = "'\"\\$`|&;<>()[]{}*?!\n\r";
+
+    /**
+     * Words that are shell builtins or keywords, whatever PATH holds
+     */
+    private static final Set<String> SHELL_WORDS = Set.of(
+            ".", ":", "alias", "bg", "break", "case", "cd", "command", "continue", "do", "done",
+            "elif", "else", "esac", "eval", "exec", "exit", "export", "fc", "fg", "fi", "for",
+            "getopts", "hash", "if", "jobs", "local", "read", "readonly", "return", "set",
+            "shift", "source", "then", "times", "trap", "type", "ulimit", "umask", "unalias",
+            "unset", "until", "wait", "while");
+
+    /**
+     * Resolved binaries are looked up again after this, so newly installed ones are picked up
+     */
+    private static final Duration RESOLVE_TTL = Duration.ofMinutes(5);
+
+    private static final int RESOLVE_CACHE_SIZE = 1024;
+
+    /**
+     * Evaluated once: the platform does not change while the application runs
+     */
+    private static final boolean WINDOWS = System.getProperty("os.name").toLowerCase().contains("windows");
+
+    private final boolean direct;
+    private final List<Path> searchPath;
+    private final Cache<String, Optional<String>> resolved;
+
+    /**
+     * Constructor with the launch mode
+     *
+     * @param direct Whether plain commands are executed without a shell
+     */
+    CommandLauncher(boolean direct) {
+        this.direct = direct && !WINDOWS;
+        this.searchPath = parseSearchPath(System.getenv("PATH"));
+        this.resolved = Caffeine.newBuilder()
+                .maximumSize(RESOLVE_CACHE_SIZE)
+                .expireAfterWrite(RESOLVE_TTL)
+                .build();
+    }
+
+    /**
+     * Build the process arguments that execute a command without a shell
+     *
+     * @param command The validated command
+     * @return The arguments, starting with the resolved executable; null if the command needs the shell
+     */
+    List<String> directArgv(String command) {
+        List<String> words = direct ? plainWords(command) : null;
+        if (words == null) {
+            return null;
+        }
+        Optional<String> executable = resolved.get(words.get(0), this::resolve);
+        if (executable.isEmpty()) {
+            return null;
+        }
+        words.set(0, executable.get());
+        return words;
+    }
+
+    /**
+     * Build the OS-specific shell invocation for a command
+     *
+     * @param command The command to execute
+     * @return The process arguments
+     */
+    static List<String> shellArgv(String command) {
+        return WINDOWS ? List.of("cmd.exe", "/c", command) : List.of("sh", "-c", command);
+    }
+
+    /**
+     * Split a command on blanks if that is all the shell would do with it
+     *
+     * @param command The command
+     * @return The words, or null if the command needs the shell
+     */
+    static List<String> plainWords(String command) {
+        for (int i = 0; i < command.length(); i++) {
+            if (SHELL_SYNTAX.indexOf(command.charAt(i)) >= 0) {
+                return null;
+            }
+        }
+
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= command.length(); i++) {
+            boolean blank = i == command.length() || command.charAt(i) == ' ' || command.charAt(i) == '\t';
+            if (blank && start >= 0) {
+                words.add(command.substring(start, i));
+                start = -1;
+            } else if (!blank && start < 0) {
+                start = i;
+            }
+        }
+
+        if (words.isEmpty() || words.get(0).indexOf('=') >= 0 || SHELL_WORDS.contains(words.get(0))) {
+            return null;
+        }
+        for (String word : words) {
+            // Tilde expansion and comments only apply at the start of a word
+            if (word.charAt(0) == '~' || word.charAt(0) == '#') {
+                return null;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Find the executable a command name refers to
+     *
+     * @param name The command name
+     * @return The path of the executable, empty if the shell has to look it up
+     */
+    private Optional<String> resolve(String name) {
+        if (name.indexOf('/') >= 0) {
+            Path path = Path.of(name);
+            return Files.isRegularFile(path) && Files.isExecutable(path) ? Optional.of(name) : Optional.empty();
+        }
+        for (Path directory : searchPath) {
+            if (directory == null) {
+                // A relative entry depends on the working directory; leave the lookup to the shell
+                return Optional.empty();
+            }
+            Path candidate = directory.resolve(name);
+            if (Files.isRegularFile(candidate) && Files.isExecutable(candidate)) {
+                return Optional.of(candidate.toString());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Split PATH into its directories
+     *
+     * @param path The PATH value, may be null
+     * @return The directories in search order, null for relative (including empty) entries
+     */
+    private static List<Path> parseSearchPath(String path) {
+        List<Path> directories = new ArrayList<>();
+        if (path == null) {
+            return directories;
+        }
+        for (String entry : path.split(File.pathSeparator)) {
+            directories.add(!entry.isEmpty() && Path.of(entry).isAbsolute() ? Path.of(entry) : null);
+        }
+        return directories;
+    }
+}
@@ -0,0 +1,65 @@
+package com.taskmanager.service;
+
+import com.taskmanager.util.SpillingOutputBuffer;
+
+/**
+ * CommandResult holds the outcome of a single shell command run:
+ * the captured output streams, the exit code and whether the run timed out.
+ * Closing it deletes the spill files of the output streams.
+ */
+public class CommandResult implements AutoCloseable {
+
+    private final SpillingOutputBuffer stdout;
+    private final SpillingOutputBuffer stderr;
+    private final Integer exitCode;
+    private final boolean timedOut;
+
+    /**
+     * Constructor with all fields
+     *
+     * @param stdout Captured standard output
+     * @param stderr Captured standard error
+     * @param exitCode The process exit code, or null if the process was killed on timeout
+     * @param timedOut Whether the process exceeded the execution timeout
+     */
+    public CommandResult(SpillingOutputBuffer stdout, SpillingOutputBuffer stderr, Integer exitCode, boolean timedOut) {
+        this.stdout = stdout;
+        this.stderr = stderr;
+        this.exitCode = exitCode;
+        this.timedOut = timedOut;
+    }
+
+    public SpillingOutputBuffer getStdout() {
+        return stdout;
+    }
+
+    public SpillingOutputBuffer getStderr() {
+        return stderr;
+    }
+
+    public Integer getExitCode() {
+        return exitCode;
+    }
+
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    /**
+     * Check whether either stream was cut off at the capture limit
+     *
+     * @return true if any output was truncated
+     */
+    public boolean isTruncated() {
+        return stdout.isTruncated() || stderr.isTruncated();
+    }
+
+    /**
+     * Release the captured output
+     */
+    @Override
+    public void close() {
+        stdout.close();
+        stderr.close();
+    }
+}
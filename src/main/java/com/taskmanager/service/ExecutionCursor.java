@@ -0,0 +1,68 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.ExecutionPage;
+import com.taskmanager.model.TaskExecution;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * ExecutionCursor is the keyset position in a task's execution history, encoded for clients
+ * as {@code <startTime epoch millis>:<execution id>}. Shared by the blocking and the
+ * reactive task services.
+ */
+final class ExecutionCursor {
+
+    private final Date startTime;
+    private final String id;
+
+    private ExecutionCursor(Date startTime, String id) {
+        this.startTime = startTime;
+        this.id = id;
+    }
+
+    /**
+     * Parse a cursor sent by a client
+     *
+     * @param cursor The cursor, or null for the first page
+     * @return The position, or null for the first page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    static ExecutionCursor parse(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        int separator = cursor.indexOf(':');
+        try {
+            return new ExecutionCursor(new Date(Long.parseLong(cursor.substring(0, Math.max(separator, 0)))),
+                    cursor.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Build a page from a slice read with one execution more than the page size
+     *
+     * @param slice The executions read, newest first
+     * @param limit The page size
+     * @return The page, with the cursor of the next page if the slice held more than a page
+     */
+    static ExecutionPage page(List<TaskExecution> slice, int limit) {
+        if (slice.size() <= limit) {
+            return new ExecutionPage(slice, null);
+        }
+
+        List<TaskExecution> page = slice.subList(0, limit);
+        TaskExecution last = page.get(limit - 1);
+        return new ExecutionPage(page, last.getStartTime().getTime() + ":" + last.getId());
+    }
+
+    Date getStartTime() {
+        return startTime;
+    }
+
+    String getId() {
+        return id;
+    }
+}
@@ -0,0 +1,73 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.TaskExecution;
+
+/**
+ * ExecutionEvent is one element of a live execution stream: either a chunk of raw process
+ * output as it was read, or the stored execution record that ends the stream.
+ */
+public class ExecutionEvent {
+
+    private final String stream;
+    private final byte[] chunk;
+    private final TaskExecution execution;
+
+    private ExecutionEvent(String stream, byte[] chunk, TaskExecution execution) {
+        this.stream = stream;
+        this.chunk = chunk;
+        this.execution = execution;
+    }
+
+    /**
+     * Create an output event, copying the bytes out of the reused read buffer
+     *
+     * @param stream Either {@link OutputListener#STDOUT} or {@link OutputListener#STDERR}
+     * @param chunk Buffer holding the bytes read
+     * @param offset Start of the bytes in the buffer
+     * @param length Number of bytes read
+     * @return The event
+     */
+    public static ExecutionEvent output(String stream, byte[] chunk, int offset, int length) {
+        byte[] copy = new byte[length];
+        System.arraycopy(chunk, offset, copy, 0, length);
+        return new ExecutionEvent(stream, copy, null);
+    }
+
+    /**
+     * Create the final event of a stream
+     *
+     * @param execution The stored execution record
+     * @return The event
+     */
+    public static ExecutionEvent finished(TaskExecution execution) {
+        return new ExecutionEvent(null, null, execution);
+    }
+
+    /**
+     * @return true if this is the final event carrying the execution record
+     */
+    public boolean isFinished() {
+        return execution != null;
+    }
+
+    /**
+     * @return The stream the chunk was read from, or null for the final event
+     */
+    public String getStream() {
+        return stream;
+    }
+
+    /**
+     * @return The bytes read, or null for the final event
+     */
+    public byte[] getChunk() {
+        return chunk;
+    }
+
+    /**
+     * @return The stored execution record, or null for an output event
+     */
+    public TaskExecution getExecution() {
+        return execution;
+    }
+}
@@ -0,0 +1,40 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.ExecutionJob;
+
+import java.util.Optional;
+
+/**
+ * ExecutionJobService defines operations for asynchronous task executions.
+ * Executions are accepted immediately into a queue shared by all replicas and run on
+ * the bounded worker pool of whichever replica claims them.
+ */
+public interface ExecutionJobService {
+
+    /**
+     * Validate a task and queue it for asynchronous execution
+     *
+     * @param taskId The ID of the task to execute
+     * @return The handle of the queued execution
+     * @throws TaskNotFoundException if the task doesn't exist
+     * @throws ExecutionRejectedException if the queue is full
+     */
+    ExecutionJob submit(String taskId);
+
+    /**
+     * Get the current state of an execution job
+     *
+     * @param jobId The execution job ID
+     * @return Optional containing the job if known, empty otherwise
+     */
+    Optional<ExecutionJob> getJob(String jobId);
+
+    /**
+     * Wait for an execution job to finish, up to the given timeout
+     *
+     * @param jobId The execution job ID
+     * @param timeoutMillis Maximum time to wait in milliseconds
+     * @return Optional containing the job (finished or not) if known, empty otherwise
+     */
+    Optional<ExecutionJob> awaitJob(String jobId, long timeoutMillis);
+}
@@ -0,0 +1,350 @@
+package com.taskmanager.service;
+
+import com.taskmanager.exception.ExecutionRejectedException;
+import com.taskmanager.exception.TaskNotFoundException;
+import com.taskmanager.model.ExecutionJob;
+import com.taskmanager.model.ExecutionStatus;
+import com.taskmanager.model.QueuedExecution;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskExecution;
+import com.taskmanager.repository.ExecutionQueueRepository;
+import com.taskmanager.repository.TaskExecutionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ExecutionJobServiceImpl queues asynchronous executions in the shared execution_queue
+ * collection, so that any replica can run them, not just the one that took the request.
+ * Each replica runs a dispatcher that claims queued entries with an atomic findAndModify
+ * lease while the scheduler has room under its concurrency limit, skipping owners already at their concurrency limit on the
+ * replica, and hands them to the FairExecutionScheduler. A heartbeat renews the leases of its
+ * running entries and queues again entries whose lease ran out because their replica crashed.
+ * An entry that lost its lease may therefore run more than once (at least once delivery),
+ * up to the configured number of attempts. Jobs can be polled on any replica; finished
+ * entries expire after the retention time.
+ * The number of queued jobs (across replicas) and running jobs (on this replica) is
+ * exposed as a gauge.
+ */
+@Service
+public class ExecutionJobServiceImpl implements ExecutionJobService {
+
+    /**
+     * Polling interval of awaitJob, doubled up to the maximum while the job is not finished
+     */
+    private static final long AWAIT_POLL_MIN_MILLIS = 50;
+    private static final long AWAIT_POLL_MAX_MILLIS = 1000;
+
+    private final TaskService taskService;
+    private final TaskExecutionRepository taskExecutionRepository;
+    private final ExecutionQueueRepository queueRepository;
+    private final MongoTemplate mongoTemplate;
+    private final FairExecutionScheduler executionScheduler;
+    private final int queueCapacity;
+    private final long retentionMinutes;
+    private final long leaseMillis;
+    private final long heartbeatMillis;
+    private final long pollMillis;
+    private final int maxAttempts;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final Set<String> leasedIds = ConcurrentHashMap.newKeySet();
+    private final AtomicLong queuedCount = new AtomicLong();
+    private final Object wakeUp = new Object();
+
+    private volatile boolean running;
+    private Thread dispatcher;
+    private Thread heartbeat;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param taskService Service for task operations
+     * @param taskExecutionRepository Repository for the execution records of completed jobs
+     * @param queueRepository Repository for the shared execution queue
+     * @param mongoTemplate Template for the queue's expiry index
+     * @param executionScheduler Per-owner fair scheduler in front of the worker pool
+     * @param queueCapacity Maximum number of executions waiting across all replicas
+     * @param retentionMinutes How long finished jobs stay queryable
+     * @param leaseSeconds How long a claim lasts without a heartbeat
+     * @param heartbeatSeconds Interval of lease renewal and expired lease reclaiming
+     * @param pollMillis Interval at which an idle replica looks for queued executions
+     * @param maxAttempts Number of claims after which an execution whose lease keeps expiring fails
+     * @param meterRegistry Registry for job metrics
+     */
+    @Autowired
+    public ExecutionJobServiceImpl(TaskService taskService, TaskExecutionRepository taskExecutionRepository,
+                                   ExecutionQueueRepository queueRepository, MongoTemplate mongoTemplate,
+                                   FairExecutionScheduler executionScheduler,
+                                   @Value("${taskmanager.execution.async.queue-capacity:100}") int queueCapacity,
+                                   @Value("${taskmanager.execution.async.retention-minutes:60}") long retentionMinutes,
+                                   @Value("${taskmanager.execution.queue.lease-seconds:30}") long leaseSeconds,
+                                   @Value("${taskmanager.execution.queue.heartbeat-seconds:10}") long heartbeatSeconds,
+                                   @Value("${taskmanager.execution.queue.poll-millis:500}") long pollMillis,
+                                   @Value("${taskmanager.execution.queue.max-attempts:3}") int maxAttempts,
+                                   MeterRegistry meterRegistry) {
+        this.taskService = taskService;
+        this.taskExecutionRepository = taskExecutionRepository;
+        this.queueRepository = queueRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.executionScheduler = executionScheduler;
+        this.queueCapacity = queueCapacity;
+        this.retentionMinutes = retentionMinutes;
+        this.leaseMillis = TimeUnit.SECONDS.toMillis(leaseSeconds);
+        this.heartbeatMillis = TimeUnit.SECONDS.toMillis(heartbeatSeconds);
+        this.pollMillis = pollMillis;
+        this.maxAttempts = maxAttempts;
+
+        Gauge.builder("taskmanager.execution.jobs", queuedCount, AtomicLong::get)
+                .description("Asynchronous execution jobs by state")
+                .tag("state", "queued")
+                .register(meterRegistry);
+        Gauge.builder("taskmanager.execution.jobs", leasedIds, Set::size)
+                .description("Asynchronous execution jobs by state")
+                .tag("state", "running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start claiming queued executions and renewing leases
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        dispatcher = daemon(this::dispatch, "execution-queue-dispatcher");
+        heartbeat = daemon(this::heartbeat, "execution-queue-heartbeat");
+    }
+
+    /**
+     * Stop claiming; running executions lose their leases and are picked up by other replicas
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+        if (heartbeat != null) {
+            heartbeat.interrupt();
+        }
+    }
+
+    /**
+     * Validate a task and put it into the shared execution queue
+     *
+     * @param taskId The ID of the task to execute
+     * @return The handle of the queued execution
+     * @throws TaskNotFoundException if the task doesn't exist
+     * @throws IllegalArgumentException if the task command is unsafe
+     * @throws ExecutionRejectedException if the queue is full
+     */
+    @Override
+    public ExecutionJob submit(String taskId) {
+        Optional<Task> task = taskService.getTaskById(taskId);
+        if (task.isEmpty()) {
+            throw new TaskNotFoundException("Task with ID '" + taskId + "' not found");
+        }
+        if (!taskService.isCommandSafe(task.get().getCommand())) {
+            throw new IllegalArgumentException("Cannot execute unsafe command: " + task.get().getCommand());
+        }
+
+        if (queueRepository.countByStatus(ExecutionStatus.QUEUED) >= queueCapacity) {
+            throw new ExecutionRejectedException("Execution queue is full, try again later", 1);
+        }
+
+        QueuedExecution entry = queueRepository.insert(
+                new QueuedExecution(UUID.randomUUID().toString(), taskId, task.get().getOwner()));
+        synchronized (wakeUp) {
+            wakeUp.notifyAll();
+        }
+        return toJob(entry);
+    }
+
+    /**
+     * Get the current state of an execution job
+     *
+     * @param jobId The execution job ID
+     * @return Optional containing the job if known, empty otherwise
+     */
+    @Override
+    public Optional<ExecutionJob> getJob(String jobId) {
+        return queueRepository.findById(jobId).map(this::toJob);
+    }
+
+    /**
+     * Wait for an execution job to finish, up to the given timeout.
+     * The job may run on another replica, so its entry is polled with a growing interval.
+     *
+     * @param jobId The execution job ID
+     * @param timeoutMillis Maximum time to wait in milliseconds
+     * @return Optional containing the job (finished or not) if known, empty otherwise
+     */
+    @Override
+    public Optional<ExecutionJob> awaitJob(String jobId, long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        long interval = AWAIT_POLL_MIN_MILLIS;
+        while (true) {
+            Optional<QueuedExecution> entry = queueRepository.findById(jobId);
+            long remaining = deadline - System.currentTimeMillis();
+            if (entry.isEmpty() || entry.get().getStatus().isFinished() || remaining <= 0) {
+                return entry.map(this::toJob);
+            }
+
+            try {
+                Thread.sleep(Math.min(interval, remaining));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return entry.map(this::toJob);
+            }
+            interval = Math.min(interval * 2, AWAIT_POLL_MAX_MILLIS);
+        }
+    }
+
+    /**
+     * Claim queued executions while the scheduler has room under its current limit, until stopped.
+     * Claiming more would only park entries in the scheduler's queue, where they count against
+     * interactive admission and keep their leases away from idle replicas.
+     */
+    private void dispatch() {
+        while (running) {
+            try {
+                if (!executionScheduler.awaitCapacity(pollMillis)) {
+                    continue;
+                }
+                Optional<QueuedExecution> claimed;
+                try {
+                    claimed = queueRepository.claimNext(instanceId, leaseMillis,
+                            executionScheduler.getSaturatedOwners());
+                } catch (RuntimeException e) {
+                    System.err.println("Failed to claim a queued execution: " + e.getMessage());
+                    idle();
+                    continue;
+                }
+
+                if (claimed.isEmpty()) {
+                    idle();
+                    continue;
+                }
+
+                QueuedExecution entry = claimed.get();
+                leasedIds.add(entry.getId());
+                try {
+                    executionScheduler.execute(entry.getTaskOwner(), entry.getTaskId(), () -> run(entry));
+                } catch (RejectedExecutionException e) {
+                    // The owner's queue is full of live and batch executions; let any replica retry
+                    leasedIds.remove(entry.getId());
+                    queueRepository.release(entry.getId(), instanceId);
+                    idle();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                System.err.println("Execution queue dispatcher error: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Wait until an execution is queued on this replica or the poll interval passes
+     *
+     * @throws InterruptedException if the dispatcher is stopped
+     */
+    private void idle() throws InterruptedException {
+        synchronized (wakeUp) {
+            wakeUp.wait(pollMillis);
+        }
+    }
+
+    /**
+     * Run a claimed execution on a worker thread and record its outcome
+     *
+     * @param entry The claimed queue entry
+     */
+    private void run(QueuedExecution entry) {
+        boolean recorded;
+        try {
+            TaskExecution execution = taskService.executeTask(entry.getTaskId());
+            recorded = queueRepository.complete(entry.getId(), instanceId, execution.getId());
+        } catch (Exception e) {
+            recorded = queueRepository.fail(entry.getId(), instanceId, e.getMessage());
+        } finally {
+            leasedIds.remove(entry.getId());
+        }
+
+        if (!recorded) {
+            System.err.println("Lease of execution job " + entry.getId() + " was lost before it finished; "
+                    + "its outcome is left to the replica that reclaimed it");
+        }
+    }
+
+    /**
+     * Renew this replica's leases, reclaim expired ones and refresh the queue gauge, until stopped
+     */
+    private void heartbeat() {
+        boolean indexed = false;
+        while (running) {
+            try {
+                if (!indexed) {
+                    mongoTemplate.indexOps(QueuedExecution.class).ensureIndex(new Index("finishedAt", Sort.Direction.ASC)
+                            .named("finished_ttl_idx")
+                            .expire(retentionMinutes, TimeUnit.MINUTES));
+                    indexed = true;
+                }
+                queueRepository.renewLeases(instanceId, Set.copyOf(leasedIds), leaseMillis);
+                queueRepository.reclaimExpired(maxAttempts);
+                queuedCount.set(queueRepository.countByStatus(ExecutionStatus.QUEUED));
+            } catch (RuntimeException e) {
+                System.err.println("Execution queue heartbeat failed: " + e.getMessage());
+            }
+
+            try {
+                Thread.sleep(heartbeatMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Turn a queue entry into the job handle returned to clients
+     *
+     * @param entry The queue entry
+     * @return The job handle, with the execution record once completed
+     */
+    private ExecutionJob toJob(QueuedExecution entry) {
+        ExecutionJob job = new ExecutionJob(entry.getId(), entry.getTaskId());
+        job.setStatus(entry.getStatus());
+        job.setSubmittedAt(entry.getSubmittedAt());
+        job.setStartedAt(entry.getStartedAt());
+        job.setFinishedAt(entry.getFinishedAt());
+        job.setError(entry.getError());
+        if (entry.getExecutionId() != null) {
+            job.setExecution(taskExecutionRepository.findById(entry.getExecutionId()).orElse(null));
+        }
+        return job;
+    }
+
+    private static Thread daemon(Runnable body, String name) {
+        Thread thread = new Thread(body, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+}
@@ -0,0 +1,498 @@
+package com.taskmanager.service;
+
+import com.taskmanager.exception.ExecutionRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FairExecutionScheduler decides which owner's execution runs next on the shared execution pool.
+ * Every owner has its own queue, and the queues are served by weighted fair queuing: each
+ * execution gets a virtual finish tag of max(virtual time, owner's last tag) + 1 / weight, and
+ * the waiting execution with the smallest tag runs first (self-clocked, the virtual time being
+ * the tag last dispatched). An owner with weight 2 thus gets twice the share of an owner with
+ * weight 1 while both have work waiting, and an owner submitting hundreds of executions no
+ * longer holds up everybody else. Independently of its share, an owner never has more than
+ * max-per-owner executions running on this replica.
+ * How many executions run at once is decided by an AdaptiveConcurrencyLimit between
+ * admission.min-limit and pool-size, from how much slower than usual executions finish; the pool
+ * itself never queues. Queued work (async jobs, batches) waits here, bounded by max-queued
+ * overall and max-queued-per-owner per owner. Work a client is waiting on (synchronous and
+ * live executions) is admitted only while fewer executions than the limit are waiting, and is
+ * otherwise rejected right away with a Retry-After estimate instead of piling up.
+ * Queue depth and running executions of each owner are exposed as gauges and the time
+ * executions wait as a timer, all tagged by owner; the current limit, the observed slowdown
+ * and the rejections are exposed as well. An owner's queue and meters are dropped as soon as
+ * it has nothing waiting or running, so owners seen once do not pile up.
+ */
+@Component
+public class FairExecutionScheduler {
+
+    /**
+     * Owner key used for tasks stored without an owner
+     */
+    private static final String NO_OWNER = "(none)";
+
+    /**
+     * Weight of a run time in the mean used for Retry-After estimates
+     */
+    private static final double MEAN_ALPHA = 0.1;
+
+    private final Executor executor;
+    private final AdaptiveConcurrencyLimit limit;
+    private final int queueCapacity;
+    private final int maxPerOwner;
+    private final int maxQueuedPerOwner;
+    private final double defaultWeight;
+    private final Map<String, Double> weights;
+    private final MeterRegistry meterRegistry;
+    private final Counter limitRejections;
+    private final Counter queueFullRejections;
+
+    private final Map<String, OwnerQueue> owners = new LinkedHashMap<>();
+    private int running;
+    private int waiting;
+    private double virtualTime;
+    private double meanRunNanos;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param executor Worker pool the executions run on, without a queue of its own
+     * @param poolSize Highest number of executions handed to the pool at once
+     * @param initialLimit Number of executions allowed at once before any finished
+     * @param minLimit Lowest number of executions allowed at once
+     * @param tolerance Slowdown of executions accepted before the limit shrinks
+     * @param queueCapacity Maximum number of executions waiting on this replica across all owners
+     * @param maxPerOwner Maximum number of executions of one owner running at once
+     * @param maxQueuedPerOwner Maximum number of executions of one owner waiting
+     * @param defaultWeight Share of owners without an explicit weight
+     * @param ownerWeights Explicit weights as comma-separated owner:weight pairs
+     * @param meterRegistry Registry for per-owner metrics
+     */
+    @Autowired
+    public FairExecutionScheduler(@Qualifier("taskExecutionExecutor") Executor executor,
+                                  @Value("${taskmanager.execution.async.pool-size:4}") int poolSize,
+                                  @Value("${taskmanager.execution.admission.initial-limit:4}") int initialLimit,
+                                  @Value("${taskmanager.execution.admission.min-limit:1}") int minLimit,
+                                  @Value("${taskmanager.execution.admission.tolerance:1.5}") double tolerance,
+                                  @Value("${taskmanager.execution.fair.max-queued:100}") int queueCapacity,
+                                  @Value("${taskmanager.execution.fair.max-per-owner:2}") int maxPerOwner,
+                                  @Value("${taskmanager.execution.fair.max-queued-per-owner:50}") int maxQueuedPerOwner,
+                                  @Value("${taskmanager.execution.fair.default-weight:1}") double defaultWeight,
+                                  @Value("${taskmanager.execution.fair.owner-weights:}") String ownerWeights,
+                                  MeterRegistry meterRegistry) {
+        if (maxPerOwner < 1 || defaultWeight <= 0) {
+            throw new IllegalArgumentException("max-per-owner must be at least 1 and default-weight positive");
+        }
+        this.executor = executor;
+        this.limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, poolSize, tolerance);
+        this.queueCapacity = queueCapacity;
+        this.maxPerOwner = maxPerOwner;
+        this.maxQueuedPerOwner = maxQueuedPerOwner;
+        this.defaultWeight = defaultWeight;
+        this.weights = parseWeights(ownerWeights);
+        this.meterRegistry = meterRegistry;
+
+        this.limitRejections = rejectionCounter(meterRegistry, "limit");
+        this.queueFullRejections = rejectionCounter(meterRegistry, "queue_full");
+        Gauge.builder("taskmanager.execution.limit", this, FairExecutionScheduler::currentLimit)
+                .description("Executions allowed to run at once on this replica")
+                .register(meterRegistry);
+        Gauge.builder("taskmanager.execution.slowdown", this, FairExecutionScheduler::currentSlowdown)
+                .description("Recent execution run time relative to the usual run time of the same task")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue an execution of an owner
+     *
+     * @param owner The owner of the task being executed
+     * @param taskId The ID of the task, whose usual run time the execution is measured against
+     * @param work The execution
+     * @throws RejectedExecutionException if the overall or the owner's queue is full
+     */
+    public void execute(String owner, String taskId, Runnable work) {
+        synchronized (this) {
+            OwnerQueue queue = queueOf(owner);
+            if (isFull(queue)) {
+                queueFullRejections.increment();
+                evictIfIdle(queue);
+                throw new RejectedExecutionException("Execution queue of owner '" + queue.owner + "' is full");
+            }
+            enqueue(queue, taskId, work);
+        }
+    }
+
+    /**
+     * Admit an execution a client is waiting on, if the backlog allows it
+     *
+     * @param owner The owner of the task being executed
+     * @param taskId The ID of the task, whose usual run time the execution is measured against
+     * @param work The execution
+     * @throws ExecutionRejectedException if as many executions as the limit are waiting, or a queue is full
+     */
+    public void executeInteractive(String owner, String taskId, Runnable work) {
+        synchronized (this) {
+            OwnerQueue queue = queueOf(owner);
+            if (isFull(queue)) {
+                queueFullRejections.increment();
+                evictIfIdle(queue);
+                throw new ExecutionRejectedException("Execution queue is full, try again later", retryAfterSeconds());
+            }
+            if (waiting >= limit.getLimit()) {
+                limitRejections.increment();
+                evictIfIdle(queue);
+                throw new ExecutionRejectedException("Too many executions running, try again later",
+                        retryAfterSeconds());
+            }
+            enqueue(queue, taskId, work);
+        }
+    }
+
+    /**
+     * Admit an execution a client is waiting on and get its result asynchronously
+     *
+     * @param owner The owner of the task being executed
+     * @param taskId The ID of the task
+     * @param work The execution
+     * @param <T> Type of the result
+     * @return Future completed with the result or the failure of the execution
+     * @throws ExecutionRejectedException if the execution is not admitted
+     */
+    public <T> CompletableFuture<T> submit(String owner, String taskId, Callable<T> work) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executeInteractive(owner, taskId, () -> {
+            try {
+                future.complete(work.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Admit an execution a client is waiting on and wait for its result
+     *
+     * @param owner The owner of the task being executed
+     * @param taskId The ID of the task
+     * @param work The execution
+     * @param <T> Type of the result
+     * @return The result of the execution
+     * @throws ExecutionRejectedException if the execution is not admitted
+     * @throws Exception the failure of the execution, unwrapped
+     */
+    public <T> T call(String owner, String taskId, Callable<T> work) throws Exception {
+        CompletableFuture<T> future = submit(owner, taskId, work);
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Wait until fewer executions are running and waiting than the current limit allows, so a
+     * further one would start right away. Used to pull queued work only as fast as it can run.
+     *
+     * @param timeoutMillis Longest time to wait
+     * @return true if there is room, false if the time ran out
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public synchronized boolean awaitCapacity(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (running + waiting >= limit.getLimit()) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+        return true;
+    }
+
+    /**
+     * Maximum number of executions of one owner running at once
+     *
+     * @return The max-per-owner setting
+     */
+    public int getMaxPerOwner() {
+        return maxPerOwner;
+    }
+
+    /**
+     * Owners that cannot take another execution right now because they have max-per-owner
+     * executions running or waiting; used to leave their entries in the shared queue
+     *
+     * @return The owners at their limit
+     */
+    public synchronized Set<String> getSaturatedOwners() {
+        Set<String> saturated = new HashSet<>();
+        owners.values().forEach(queue -> {
+            if (queue.running + queue.waiting.size() >= maxPerOwner) {
+                saturated.add(queue.owner);
+            }
+        });
+        return saturated;
+    }
+
+    /**
+     * Whether the overall or the owner's queue is full. Caller holds the lock.
+     *
+     * @param queue The owner's queue
+     * @return true if no further execution may wait
+     */
+    private boolean isFull(OwnerQueue queue) {
+        return waiting >= queueCapacity || queue.waiting.size() >= maxQueuedPerOwner;
+    }
+
+    /**
+     * Give an execution its finish tag, queue it and dispatch. Caller holds the lock.
+     *
+     * @param queue The owner's queue
+     * @param taskId The ID of the task
+     * @param work The execution
+     */
+    private void enqueue(OwnerQueue queue, String taskId, Runnable work) {
+        double finishTag = Math.max(virtualTime, queue.lastFinishTag) + 1.0 / queue.weight;
+        queue.lastFinishTag = finishTag;
+        queue.waiting.add(new Entry(work, taskId, finishTag, System.nanoTime()));
+        waiting++;
+        dispatch();
+    }
+
+    /**
+     * Hand waiting executions to the pool while fewer than the limit run, smallest finish tag
+     * first among the owners below their limit. Caller holds the lock.
+     */
+    private void dispatch() {
+        while (running < limit.getLimit()) {
+            OwnerQueue next = null;
+            for (OwnerQueue queue : owners.values()) {
+                if (!queue.waiting.isEmpty() && queue.running < maxPerOwner
+                        && (next == null || queue.waiting.peek().finishTag < next.waiting.peek().finishTag)) {
+                    next = queue;
+                }
+            }
+            if (next == null) {
+                return;
+            }
+
+            Entry entry = next.waiting.poll();
+            OwnerQueue queue = next;
+            try {
+                executor.execute(() -> run(queue, entry));
+            } catch (RejectedExecutionException e) {
+                // Only work bypassing this scheduler can fill the pool; retry when a slot frees up
+                next.waiting.addFirst(entry);
+                return;
+            }
+            waiting--;
+            running++;
+            queue.running++;
+            virtualTime = entry.finishTag;
+            queue.waitTimer.record(System.nanoTime() - entry.enqueuedNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Run an execution on a pool thread, then let the next one in
+     *
+     * @param queue The owner's queue
+     * @param entry The execution
+     */
+    private void run(OwnerQueue queue, Entry entry) {
+        long start = System.nanoTime();
+        try {
+            entry.work.run();
+        } finally {
+            long nanos = System.nanoTime() - start;
+            synchronized (this) {
+                limit.onSample(entry.taskId, nanos, running);
+                meanRunNanos = meanRunNanos == 0 ? nanos : meanRunNanos + MEAN_ALPHA * (nanos - meanRunNanos);
+                running--;
+                queue.running--;
+                dispatch();
+                evictIfIdle(queue);
+                // Wake awaitCapacity
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Estimate when a rejected client should retry: the time for the waiting executions to
+     * get through at the current limit. Caller holds the lock.
+     *
+     * @return Suggested delay in seconds, at least 1
+     */
+    private long retryAfterSeconds() {
+        double nanos = meanRunNanos * (waiting + 1) / limit.getLimit();
+        return Math.max(1, (long) Math.ceil(nanos / TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    /**
+     * Get or create the queue of an owner, registering its metrics. Caller holds the lock.
+     *
+     * @param owner The owner, null or blank for tasks without one
+     * @return The owner's queue
+     */
+    private OwnerQueue queueOf(String owner) {
+        owner = ownerKey(owner);
+        OwnerQueue queue = owners.get(owner);
+        if (queue == null) {
+            queue = new OwnerQueue(owner, weights.getOrDefault(owner, defaultWeight),
+                    Timer.builder("taskmanager.execution.owner.wait")
+                            .description("Time executions waited for a worker, by owner")
+                            .tag("owner", owner)
+                            .register(meterRegistry));
+            owners.put(owner, queue);
+            queue.queuedGauge = Gauge.builder("taskmanager.execution.owner.queued", queue, this::queuedOf)
+                    .description("Executions waiting for a worker on this replica, by owner")
+                    .tag("owner", owner)
+                    .register(meterRegistry);
+            queue.runningGauge = Gauge.builder("taskmanager.execution.owner.running", queue, this::runningOf)
+                    .description("Executions running on this replica, by owner")
+                    .tag("owner", owner)
+                    .register(meterRegistry);
+        }
+        return queue;
+    }
+
+    /**
+     * Drop the queue of an owner with nothing waiting or running, and remove its metrics.
+     * Its last finish tag goes with it: an owner coming back starts from the virtual time, as
+     * any owner that was idle would. Caller holds the lock.
+     *
+     * @param queue The owner's queue
+     */
+    private void evictIfIdle(OwnerQueue queue) {
+        if (queue.running > 0 || !queue.waiting.isEmpty()) {
+            return;
+        }
+        owners.remove(queue.owner);
+        meterRegistry.remove(queue.waitTimer);
+        meterRegistry.remove(queue.queuedGauge);
+        meterRegistry.remove(queue.runningGauge);
+    }
+
+    /**
+     * Map an owner to the key its executions are queued under
+     *
+     * @param owner The owner, null or blank for tasks without one
+     * @return The owner, or a placeholder for tasks without one
+     */
+    static String ownerKey(String owner) {
+        return owner == null || owner.isBlank() ? NO_OWNER : owner;
+    }
+
+    private synchronized double queuedOf(OwnerQueue queue) {
+        return queue.waiting.size();
+    }
+
+    private synchronized double runningOf(OwnerQueue queue) {
+        return queue.running;
+    }
+
+    private synchronized double currentLimit() {
+        return limit.getLimit();
+    }
+
+    private synchronized double currentSlowdown() {
+        return limit.getSlowdown();
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("taskmanager.execution.admission.rejections")
+                .description("Executions turned away, by reason")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Parse the explicit owner weights
+     *
+     * @param ownerWeights Comma-separated owner:weight pairs, e.g. "alice:3,batch-bot:0.5"
+     * @return Weight by owner
+     * @throws IllegalArgumentException if a pair is malformed or a weight not positive
+     */
+    private static Map<String, Double> parseWeights(String ownerWeights) {
+        Map<String, Double> parsed = new HashMap<>();
+        for (String pair : ownerWeights.split(",")) {
+            if (pair.isBlank()) {
+                continue;
+            }
+            int colon = pair.lastIndexOf(':');
+            double weight;
+            try {
+                weight = colon > 0 ? Double.parseDouble(pair.substring(colon + 1).trim()) : -1;
+            } catch (NumberFormatException e) {
+                weight = -1;
+            }
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Invalid owner weight '" + pair.trim() + "', expected owner:weight");
+            }
+            parsed.put(pair.substring(0, colon).trim(), weight);
+        }
+        return parsed;
+    }
+
+    /**
+     * The waiting and running executions of one owner
+     */
+    private static final class OwnerQueue {
+        private final String owner;
+        private final double weight;
+        private final Timer waitTimer;
+        private Gauge queuedGauge;
+        private Gauge runningGauge;
+        private final ArrayDeque<Entry> waiting = new ArrayDeque<>();
+        private int running;
+        private double lastFinishTag;
+
+        private OwnerQueue(String owner, double weight, Timer waitTimer) {
+            this.owner = owner;
+            this.weight = weight;
+            this.waitTimer = waitTimer;
+        }
+    }
+
+    /**
+     * A waiting execution
+     */
+    private static final class Entry {
+        private final Runnable work;
+        private final String taskId;
+        private final double finishTag;
+        private final long enqueuedNanos;
+
+        private Entry(Runnable work, String taskId, double finishTag, long enqueuedNanos) {
+            this.work = work;
+            this.taskId = taskId;
+            this.finishTag = finishTag;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+}
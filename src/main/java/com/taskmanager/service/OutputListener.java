@@ -0,0 +1,35 @@
+package com.taskmanager.service;
+
+/**
+ * OutputListener receives process output as it is read, before the process exits.
+ * Calls for stdout and stderr arrive on different threads; the chunk array is reused
+ * after the call returns, so implementations must copy what they keep.
+ */
+@FunctionalInterface
+public interface OutputListener {
+
+    /**
+     * Stream name passed for standard output chunks
+     */
+    String STDOUT = "stdout";
+
+    /**
+     * Stream name passed for standard error chunks
+     */
+    String STDERR = "stderr";
+
+    /**
+     * Listener that ignores all output
+     */
+    OutputListener NONE = (stream, chunk, offset, length) -> {};
+
+    /**
+     * Handle a chunk of output
+     *
+     * @param stream Either {@link #STDOUT} or {@link #STDERR}
+     * @param chunk Buffer holding the bytes read
+     * @param offset Start of the bytes in the buffer
+     * @param length Number of bytes read
+     */
+    void onOutput(String stream, byte[] chunk, int offset, int length);
+}
@@ -0,0 +1,124 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.ExecutionPage;
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskExecution;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * ReactiveTaskService defines the non-blocking task operations served by the "reactive" profile.
+ * Results and failures are signalled through the returned publishers; nothing happens until
+ * they are subscribed to.
+ */
+public interface ReactiveTaskService {
+
+    /**
+     * Get one page of tasks ordered by ID, without their execution history
+     *
+     * @param afterId Cursor: only tasks with an ID greater than this are returned; null for the first page
+     * @param nextCursor The page's next cursor from getNextPageCursor, which ends the page; null
+     *        for the last page, which then holds all remaining tasks
+     * @param limit Page size
+     * @return The tasks of the page, as they are read from the database
+     */
+    Flux<Task> getTasks(String afterId, String nextCursor, int limit);
+
+    /**
+     * Get the cursor of the page following the given one
+     *
+     * @param afterId Cursor of the current page; null for the first page
+     * @param limit Page size
+     * @return The next cursor, empty if this is the last page
+     */
+    Mono<String> getNextPageCursor(String afterId, int limit);
+
+    /**
+     * Get a task by its ID
+     *
+     * @param id The task ID
+     * @return The task, empty if not found
+     */
+    Mono<Task> getTaskById(String id);
+
+    /**
+     * Get several tasks by ID
+     *
+     * @param ids The task IDs
+     * @return The tasks found, in the order of the IDs; missing tasks are left out
+     */
+    Flux<Task> getTasksByIds(List<String> ids);
+
+    /**
+     * Create or update a task
+     *
+     * @param taskRequest The task creation request
+     * @return The created/updated task; fails with IllegalArgumentException if the command is
+     *         unsafe or the schedule is invalid, and with OptimisticLockingFailureException if the
+     *         request carries a version the task no longer has
+     */
+    Mono<Task> createOrUpdateTask(TaskCreateRequest taskRequest);
+
+    /**
+     * Delete a task by ID, with its execution history
+     *
+     * @param id The task ID to delete
+     * @return true if the task was deleted, false if it didn't exist
+     */
+    Mono<Boolean> deleteTask(String id);
+
+    /**
+     * Find tasks whose name contains the given text (case-insensitive, matched literally)
+     *
+     * @param namePattern The string to search for in task names
+     * @param limit Maximum number of tasks to return
+     * @return The matching tasks
+     */
+    Flux<Task> findTasksByName(String namePattern, int limit);
+
+    /**
+     * Count tasks whose name contains the given text (case-insensitive, matched literally)
+     *
+     * @param namePattern The string to search for in task names
+     * @return Number of matching tasks
+     */
+    Mono<Long> countTasksByName(String namePattern);
+
+    /**
+     * Execute a task by ID on the execution pool and store the execution result
+     *
+     * @param taskId The ID of the task to execute
+     * @return The stored execution; fails with TaskNotFoundException if the task doesn't exist
+     *         and with ExecutionRejectedException if the execution is not admitted
+     */
+    Mono<TaskExecution> executeTask(String taskId);
+
+    /**
+     * Start a task on the execution pool and return its live events: the output as raw byte
+     * chunks while it runs and the stored execution record last. The execution is stored even
+     * if the events are not consumed to the end.
+     *
+     * @param taskId The ID of the task to execute
+     * @return Emits the events once the execution was accepted by the pool (they can be consumed
+     *         once); fails with TaskNotFoundException, IllegalArgumentException for an unsafe
+     *         command, or ExecutionRejectedException if the execution is not admitted
+     */
+    Mono<Flux<ExecutionEvent>> executeTaskLive(String taskId);
+
+    /**
+     * Get one page of a task's execution history, newest first
+     *
+     * @param taskId The task ID
+     * @param from Only executions started at or after this time; null for no lower bound
+     * @param to Only executions started before this time; null for no upper bound
+     * @param cursor Cursor returned with the previous page; null for the first page
+     * @param limit Maximum number of executions in the page
+     * @return The page of executions with the cursor of the next page; fails with
+     *         TaskNotFoundException or IllegalArgumentException for a malformed cursor
+     */
+    Mono<ExecutionPage> getTaskExecutions(String taskId, Date from, Date to, String cursor, int limit);
+}
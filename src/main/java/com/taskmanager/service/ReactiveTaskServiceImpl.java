@@ -0,0 +1,372 @@
+package com.taskmanager.service;
+
+import com.taskmanager.cache.TaskCache;
+import com.taskmanager.cache.TaskChangeFeed;
+import com.taskmanager.dto.ExecutionPage;
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.exception.TaskNotFoundException;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskExecution;
+import com.taskmanager.repository.ExecutionOutputStore;
+import com.taskmanager.repository.ExecutionStatsStore;
+import com.taskmanager.repository.ReactiveTaskExecutionRepository;
+import com.taskmanager.repository.ReactiveTaskRepository;
+import com.taskmanager.util.CommandValidator;
+import com.taskmanager.util.CommandVerdict;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * ReactiveTaskServiceImpl serves the task operations of the "reactive" profile without
+ * holding a thread per request: database access goes through the reactive MongoDB driver,
+ * and commands run on the bounded execution pool, so the event loop never waits for a
+ * process. Writes are announced through TaskChangeFeed and TaskEventFeed like in
+ * TaskServiceImpl, on the boundedElastic scheduler since the feeds are blocking; so are GridFS
+ * output cleanup and the execution statistics.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveTaskServiceImpl implements ReactiveTaskService {
+
+    private final ReactiveTaskRepository taskRepository;
+    private final ReactiveTaskExecutionRepository taskExecutionRepository;
+    private final TaskService taskService;
+    private final CommandValidator commandValidator;
+    private final TaskCache taskCache;
+    private final TaskChangeFeed taskChangeFeed;
+    private final ExecutionOutputStore executionOutputStore;
+    private final ExecutionStatsStore executionStatsStore;
+    private final TaskEventFeed taskEventFeed;
+    private final FairExecutionScheduler executionScheduler;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param taskRepository Reactive repository for tasks
+     * @param taskExecutionRepository Reactive repository for execution history
+     * @param taskService Blocking service, used for running commands on the execution pool
+     * @param commandValidator Validator for command safety
+     * @param taskCache Cache shared with the blocking service; read only when the task is already in it
+     * @param taskChangeFeed Publisher of task changes to all replicas
+     * @param executionOutputStore Store for outputs too large to keep in the execution record
+     * @param executionStatsStore Store for the per-task execution rollups
+     * @param taskEventFeed Feed announcing task and execution changes to watching clients
+     * @param executionScheduler Per-owner fair scheduler in front of the execution pool
+     */
+    @Autowired
+    public ReactiveTaskServiceImpl(ReactiveTaskRepository taskRepository,
+                                   ReactiveTaskExecutionRepository taskExecutionRepository,
+                                   TaskService taskService, CommandValidator commandValidator,
+                                   TaskCache taskCache, TaskChangeFeed taskChangeFeed,
+                                   ExecutionOutputStore executionOutputStore,
+                                   ExecutionStatsStore executionStatsStore,
+                                   TaskEventFeed taskEventFeed,
+                                   FairExecutionScheduler executionScheduler) {
+        this.taskRepository = taskRepository;
+        this.taskExecutionRepository = taskExecutionRepository;
+        this.taskService = taskService;
+        this.commandValidator = commandValidator;
+        this.taskCache = taskCache;
+        this.taskChangeFeed = taskChangeFeed;
+        this.executionOutputStore = executionOutputStore;
+        this.executionStatsStore = executionStatsStore;
+        this.taskEventFeed = taskEventFeed;
+        this.executionScheduler = executionScheduler;
+    }
+
+    /**
+     * Get one page of tasks ordered by ID, without their execution history
+     *
+     * @param afterId Cursor: only tasks with an ID greater than this are returned; null for the first page
+     * @param nextCursor The page's next cursor from getNextPageCursor, which ends the page; null
+     *        for the last page, which then holds all remaining tasks
+     * @param limit Page size
+     * @return The tasks of the page, as they are read from the database
+     */
+    @Override
+    public Flux<Task> getTasks(String afterId, String nextCursor, int limit) {
+        return taskRepository.findPage(afterId, nextCursor, limit);
+    }
+
+    /**
+     * Get the cursor of the page following the given one
+     *
+     * @param afterId Cursor of the current page; null for the first page
+     * @param limit Page size
+     * @return The next cursor, empty if this is the last page
+     */
+    @Override
+    public Mono<String> getNextPageCursor(String afterId, int limit) {
+        return taskRepository.findNextPageCursor(afterId, limit);
+    }
+
+    /**
+     * Get a task by its ID, from the cache if it holds the task
+     *
+     * @param id The task ID
+     * @return The task, empty if not found
+     */
+    @Override
+    public Mono<Task> getTaskById(String id) {
+        // Misses are not put into the cache: a concurrent change could be overwritten with stale data
+        return Mono.justOrEmpty(taskCache.getIfPresent(id))
+                .switchIfEmpty(Mono.defer(() -> taskRepository.findTask(id)));
+    }
+
+    /**
+     * Get several tasks by ID; tasks not in the cache are read with a single $in query
+     *
+     * @param ids The task IDs
+     * @return The tasks found, in the order of the IDs; missing tasks are left out
+     */
+    @Override
+    public Flux<Task> getTasksByIds(List<String> ids) {
+        Set<String> distinctIds = new LinkedHashSet<>(ids);
+        Map<String, Task> cached = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String id : distinctIds) {
+            Optional<Task> task = taskCache.getIfPresent(id);
+            if (task.isPresent()) {
+                cached.put(id, task.get());
+            } else {
+                missing.add(id);
+            }
+        }
+
+        return taskRepository.findByIds(missing)
+                .collectMap(Task::getId, task -> task, () -> cached)
+                .flatMapIterable(found -> distinctIds.stream()
+                        .filter(found::containsKey)
+                        .map(found::get)
+                        .toList());
+    }
+
+    /**
+     * Create or update a task with command validation
+     *
+     * @param taskRequest The task creation request
+     * @return The created/updated task
+     */
+    @Override
+    public Mono<Task> createOrUpdateTask(TaskCreateRequest taskRequest) {
+        CommandVerdict verdict = commandValidator.validate(taskRequest.getCommand());
+        if (!verdict.isSafe()) {
+            return Mono.error(new IllegalArgumentException("Unsafe command detected: " + verdict.getReason()));
+        }
+        if (!TaskServiceImpl.isValidSchedule(taskRequest.getSchedule())) {
+            return Mono.error(new IllegalArgumentException("Invalid schedule expression: " + taskRequest.getSchedule()));
+        }
+
+        // One atomic $set of the editable fields; execution history and other fields stay untouched
+        Task task = TaskServiceImpl.toTask(taskRequest);
+        return taskRepository.upsertFields(task, taskRequest.getVersion())
+                .flatMap(savedTask -> publishChange(savedTask.getId(),
+                                () -> taskEventFeed.taskSaved(savedTask, TaskServiceImpl.isInserted(task, savedTask)))
+                        .thenReturn(savedTask));
+    }
+
+    /**
+     * Delete a task by ID, with its execution history
+     *
+     * @param id The task ID to delete
+     * @return true if the task was deleted, false if it didn't exist
+     */
+    @Override
+    public Mono<Boolean> deleteTask(String id) {
+        return taskRepository.existsById(id)
+                .flatMap(exists -> !exists
+                        ? Mono.just(false)
+                        : taskRepository.deleteById(id)
+                                .then(taskExecutionRepository.deleteByTaskId(id))
+                                .then(Mono.fromRunnable(() -> {
+                                            executionOutputStore.deleteByTaskId(id);
+                                            executionStatsStore.deleteByTaskId(id);
+                                        }).subscribeOn(Schedulers.boundedElastic()))
+                                .then(publishChange(id, () -> taskEventFeed.taskDeleted(id)))
+                                .thenReturn(true));
+    }
+
+    /**
+     * Find tasks whose name contains the given text (case-insensitive, matched literally)
+     *
+     * @param namePattern The string to search for in task names
+     * @param limit Maximum number of tasks to return
+     * @return The matching tasks
+     */
+    @Override
+    public Flux<Task> findTasksByName(String namePattern, int limit) {
+        return taskRepository.searchByName(namePattern, limit);
+    }
+
+    /**
+     * Count tasks whose name contains the given text (case-insensitive, matched literally)
+     *
+     * @param namePattern The string to search for in task names
+     * @return Number of matching tasks
+     */
+    @Override
+    public Mono<Long> countTasksByName(String namePattern) {
+        return taskRepository.countByName(namePattern);
+    }
+
+    /**
+     * Execute a task by ID in its owner's turn on the execution pool and store the execution result
+     *
+     * @param taskId The ID of the task to execute
+     * @return The stored execution
+     */
+    @Override
+    public Mono<TaskExecution> executeTask(String taskId) {
+        return getTaskById(taskId)
+                .switchIfEmpty(Mono.error(() -> new TaskNotFoundException("Task with ID " + taskId + " not found")))
+                .flatMap(task -> Mono.defer(() -> Mono.fromFuture(
+                        executionScheduler.submit(task.getOwner(), task.getId(), () -> taskService.runTask(task)))))
+                .flatMap(taskExecutionRepository::insert)
+                .flatMap(this::recordCompletion);
+    }
+
+    /**
+     * Start a task on the execution pool and return its live events
+     *
+     * @param taskId The ID of the task to execute
+     * @return Emits the events once the execution was accepted by the pool
+     */
+    @Override
+    public Mono<Flux<ExecutionEvent>> executeTaskLive(String taskId) {
+        return getTaskById(taskId)
+                .switchIfEmpty(Mono.error(() -> new TaskNotFoundException("Task with ID '" + taskId + "' not found")))
+                .map(task -> {
+                    if (!commandValidator.isCommandSafe(task.getCommand())) {
+                        throw new IllegalArgumentException("Cannot execute unsafe command: " + task.getCommand());
+                    }
+                    // Events wait here until the subscriber takes them; output is bounded by the command timeout
+                    Sinks.Many<ExecutionEvent> events = Sinks.many().unicast().onBackpressureBuffer();
+                    executionScheduler.executeInteractive(task.getOwner(), task.getId(), () -> runLive(task, events));
+                    return events.asFlux();
+                });
+    }
+
+    /**
+     * Run a task on a worker thread, emitting its output, then store the execution
+     *
+     * @param task The task to run
+     * @param events The sink of the live events
+     */
+    private void runLive(Task task, Sinks.Many<ExecutionEvent> events) {
+        TaskExecution execution;
+        try {
+            execution = taskService.runTask(task, (stream, chunk, offset, length) ->
+                    emit(events, ExecutionEvent.output(stream, chunk, offset, length)));
+        } catch (RuntimeException e) {
+            fail(events, e);
+            return;
+        }
+
+        // Subscribed independently of the events, so the execution is stored even after a cancel
+        taskExecutionRepository.insert(execution).flatMap(this::recordCompletion).subscribe(stored -> {
+            synchronized (events) {
+                events.tryEmitNext(ExecutionEvent.finished(stored));
+                events.tryEmitComplete();
+            }
+        }, e -> fail(events, e));
+    }
+
+    /**
+     * Add a stored execution to the statistics of its task and announce it to watching clients
+     *
+     * @param stored The stored execution
+     * @return The same execution, once the statistics are updated
+     */
+    private Mono<TaskExecution> recordCompletion(TaskExecution stored) {
+        return Mono.fromRunnable(() -> {
+                    executionStatsStore.record(List.of(stored));
+                    taskEventFeed.executionsCompleted(List.of(stored));
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .thenReturn(stored);
+    }
+
+    /**
+     * Emit an event; stdout and stderr are read on different threads, so emissions are serialized.
+     * Events for a subscriber that has cancelled are dropped.
+     *
+     * @param events The sink of the live events
+     * @param event The event
+     */
+    private static void emit(Sinks.Many<ExecutionEvent> events, ExecutionEvent event) {
+        synchronized (events) {
+            events.tryEmitNext(event);
+        }
+    }
+
+    /**
+     * End the live events with an error
+     *
+     * @param events The sink of the live events
+     * @param error The failure
+     */
+    private static void fail(Sinks.Many<ExecutionEvent> events, Throwable error) {
+        synchronized (events) {
+            events.tryEmitError(error);
+        }
+    }
+
+    /**
+     * Get one page of a task's execution history, newest first.
+     * Only the requested slice (plus one execution to detect a following page) is read.
+     *
+     * @param taskId The task ID
+     * @param from Only executions started at or after this time; null for no lower bound
+     * @param to Only executions started before this time; null for no upper bound
+     * @param cursor Cursor returned with the previous page; null for the first page
+     * @param limit Maximum number of executions in the page
+     * @return The page of executions with the cursor of the next page
+     */
+    @Override
+    public Mono<ExecutionPage> getTaskExecutions(String taskId, Date from, Date to, String cursor, int limit) {
+        ExecutionCursor after;
+        try {
+            after = ExecutionCursor.parse(cursor);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(e);
+        }
+
+        return getTaskById(taskId)
+                .switchIfEmpty(Mono.error(() -> new TaskNotFoundException("Task with ID '" + taskId + "' not found")))
+                .flatMap(task -> taskExecutionRepository.findSlice(taskId, from, to,
+                                after != null ? after.getStartTime() : null, after != null ? after.getId() : null,
+                                limit + 1)
+                        .collectList())
+                .map(slice -> ExecutionCursor.page(slice, limit));
+    }
+
+    /**
+     * Announce a task change to this application, the other replicas and watching clients
+     *
+     * @param taskId The ID of the task that changed
+     * @param event Records the change in the task event feed
+     * @return Completes once the change is published
+     */
+    private Mono<Void> publishChange(String taskId, Runnable event) {
+        return Mono.fromRunnable(() -> {
+                    taskChangeFeed.publish(taskId);
+                    event.run();
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+}
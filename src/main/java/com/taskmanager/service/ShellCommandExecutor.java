@@ -0,0 +1,318 @@
+package com.taskmanager.service;
+
+import com.taskmanager.util.SpillingOutputBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ShellCommandExecutor runs a validated command, directly when CommandLauncher finds the
+ * shell would only split it into words, and in the platform shell otherwise.
+ * Standard output and standard error are drained concurrently into bounded byte buffers
+ * that spill to disk beyond a heap threshold, so a process that fills either pipe never
+ * blocks, a chatty one does not fill the heap, and the timeout covers the whole run from
+ * spawn to exit.
+ * Every run records the duration of its phases (spawn, output read, wait for exit),
+ * timeouts and non-zero exit codes, and the number of processes running is exposed as a gauge.
+ * Launches are counted by mode (direct or shell), so the spawn timer can be read against the mix.
+ */
+@Component
+public class ShellCommandExecutor {
+
+    /**
+     * How long to wait for the drain threads once the process is gone
+     */
+    private static final long DRAIN_GRACE_MILLIS = 1000;
+
+    private static final int READ_CHUNK_BYTES = 8192;
+
+    private final long timeoutSeconds;
+    private final long maxOutputBytes;
+    private final int memoryOutputBytes;
+    private final Path spillDirectory;
+    private final ExecutorService drainExecutor;
+    private final CommandLauncher launcher;
+
+    private final Timer spawnTimer;
+    private final Timer readTimer;
+    private final Timer waitTimer;
+    private final Counter timeoutCounter;
+    private final Counter nonZeroExitCounter;
+    private final Counter directLaunchCounter;
+    private final Counter shellLaunchCounter;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param timeoutSeconds Maximum run time of a command
+     * @param maxOutputBytes Maximum number of bytes captured per output stream
+     * @param memoryOutputBytes Bytes per output stream kept on the heap before spilling to disk
+     * @param spillDirectory Directory for the spill files
+     * @param virtualThreads Whether to drain output on virtual threads
+     * @param execMode "direct" to run plain commands without a shell, "shell" to always use one
+     * @param meterRegistry Registry for execution metrics
+     */
+    @Autowired
+    public ShellCommandExecutor(@Value("${taskmanager.execution.timeout-seconds:30}") long timeoutSeconds,
+                                @Value("${taskmanager.execution.max-output-bytes:268435456}") long maxOutputBytes,
+                                @Value("${taskmanager.execution.output.memory-bytes:1048576}") int memoryOutputBytes,
+                                @Value("${taskmanager.execution.output.spill-dir:${java.io.tmpdir}}") String spillDirectory,
+                                @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                @Value("${taskmanager.execution.exec-mode:direct}") String execMode,
+                                MeterRegistry meterRegistry) {
+        if (!"direct".equals(execMode) && !"shell".equals(execMode)) {
+            throw new IllegalArgumentException("taskmanager.execution.exec-mode must be 'direct' or 'shell'");
+        }
+        this.timeoutSeconds = timeoutSeconds;
+        this.maxOutputBytes = maxOutputBytes;
+        this.memoryOutputBytes = memoryOutputBytes;
+        this.spillDirectory = Path.of(spillDirectory);
+        this.drainExecutor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("output-drain-", 1).factory())
+                : Executors.newCachedThreadPool(daemonThreadFactory("output-drain-"));
+        this.launcher = new CommandLauncher("direct".equals(execMode));
+
+        // spawn: starting the shell; wait: spawn until exit or kill; read: spawn until both streams hit EOF
+        this.spawnTimer = phaseTimer(meterRegistry, "spawn");
+        this.readTimer = phaseTimer(meterRegistry, "read");
+        this.waitTimer = phaseTimer(meterRegistry, "wait");
+        this.timeoutCounter = Counter.builder("taskmanager.execution.timeouts")
+                .description("Commands killed for exceeding the execution timeout")
+                .register(meterRegistry);
+        this.nonZeroExitCounter = Counter.builder("taskmanager.execution.nonzero.exits")
+                .description("Commands that exited with a non-zero exit code")
+                .register(meterRegistry);
+        this.directLaunchCounter = launchCounter(meterRegistry, "direct");
+        this.shellLaunchCounter = launchCounter(meterRegistry, "shell");
+        meterRegistry.gauge("taskmanager.executions.in.flight", inFlight);
+    }
+
+    /**
+     * Execute a shell command and capture its output
+     *
+     * @param command The command to execute
+     * @return The captured output, exit code and timeout flag; the caller must close it
+     * @throws IOException if the process cannot be started
+     * @throws InterruptedException if execution is interrupted
+     */
+    public CommandResult execute(String command) throws IOException, InterruptedException {
+        return execute(command, OutputListener.NONE);
+    }
+
+    /**
+     * Execute a shell command, passing output chunks to a listener as they are read
+     *
+     * @param command The command to execute
+     * @param listener Receiver for live output; failures inside it do not stop the capture
+     * @return The captured output, exit code and timeout flag; the caller must close it
+     * @throws IOException if the process cannot be started
+     * @throws InterruptedException if execution is interrupted
+     */
+    public CommandResult execute(String command, OutputListener listener) throws IOException, InterruptedException {
+        inFlight.incrementAndGet();
+        try {
+            return run(command, listener);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Run a command and record the duration of each phase
+     *
+     * @param command The command to execute
+     * @param listener Receiver for live output
+     * @return The captured output, exit code and timeout flag
+     * @throws IOException if the process cannot be started
+     * @throws InterruptedException if execution is interrupted
+     */
+    private CommandResult run(String command, OutputListener listener) throws IOException, InterruptedException {
+        long spawnStart = System.nanoTime();
+        Process process = start(command);
+        long spawned = System.nanoTime();
+        spawnTimer.record(spawned - spawnStart, TimeUnit.NANOSECONDS);
+        // Commands never read input; closing stdin makes e.g. a bare 'cat' exit right away
+        process.getOutputStream().close();
+
+        SpillingOutputBuffer stdout = new SpillingOutputBuffer(memoryOutputBytes, maxOutputBytes, spillDirectory);
+        SpillingOutputBuffer stderr = new SpillingOutputBuffer(memoryOutputBytes, maxOutputBytes, spillDirectory);
+        try {
+            Future<?> stdoutDrain = drainExecutor.submit(
+                    () -> drain(process.getInputStream(), stdout, listener, OutputListener.STDOUT));
+            Future<?> stderrDrain = drainExecutor.submit(
+                    () -> drain(process.getErrorStream(), stderr, listener, OutputListener.STDERR));
+
+            boolean finished = process.waitFor(timeoutSeconds, TimeUnit.SECONDS);
+            if (!finished) {
+                destroy(process);
+                timeoutCounter.increment();
+            }
+            waitTimer.record(System.nanoTime() - spawned, TimeUnit.NANOSECONDS);
+
+            awaitDrain(stdoutDrain);
+            awaitDrain(stderrDrain);
+            readTimer.record(System.nanoTime() - spawned, TimeUnit.NANOSECONDS);
+
+            Integer exitCode = finished ? process.exitValue() : null;
+            if (exitCode != null && exitCode != 0) {
+                nonZeroExitCounter.increment();
+            }
+            return new CommandResult(stdout, stderr, exitCode, !finished);
+        } catch (InterruptedException | RuntimeException e) {
+            // No CommandResult takes ownership of the buffers; delete any spill files here
+            destroy(process);
+            stdout.close();
+            stderr.close();
+            throw e;
+        }
+    }
+
+    public long getTimeoutSeconds() {
+        return timeoutSeconds;
+    }
+
+    public long getMaxOutputBytes() {
+        return maxOutputBytes;
+    }
+
+    /**
+     * Release the drain threads on shutdown
+     */
+    @PreDestroy
+    public void shutdown() {
+        drainExecutor.shutdownNow();
+    }
+
+    /**
+     * Start the process of a command, without a shell if the launcher allows it
+     *
+     * @param command The command to execute
+     * @return The started process
+     * @throws IOException if the process cannot be started
+     */
+    private Process start(String command) throws IOException {
+        List<String> argv = launcher.directArgv(command);
+        if (argv != null) {
+            try {
+                Process process = new ProcessBuilder(argv).start();
+                directLaunchCounter.increment();
+                return process;
+            } catch (IOException e) {
+                // E.g. a script without an interpreter line, which only the shell runs
+            }
+        }
+        Process process = new ProcessBuilder(CommandLauncher.shellArgv(command)).start();
+        shellLaunchCounter.increment();
+        return process;
+    }
+
+    /**
+     * Copy a stream into a buffer until end of stream
+     *
+     * @param in The process stream
+     * @param buffer The buffer to fill
+     * @param listener Receiver for live output
+     * @param streamName The stream name reported to the listener
+     */
+    private static void drain(InputStream in, SpillingOutputBuffer buffer, OutputListener listener, String streamName) {
+        byte[] chunk = new byte[READ_CHUNK_BYTES];
+        boolean notify = listener != OutputListener.NONE;
+        try (in) {
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                buffer.write(chunk, 0, read);
+                if (notify) {
+                    try {
+                        listener.onOutput(streamName, chunk, 0, read);
+                    } catch (RuntimeException e) {
+                        // A broken listener (e.g. a disconnected client) must not stall the process
+                        notify = false;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // Stream closed because the process was killed; keep what was captured
+        }
+    }
+
+    /**
+     * Wait briefly for a drain thread to reach end of stream
+     *
+     * @param drain The drain task
+     * @throws InterruptedException if the wait is interrupted
+     */
+    private static void awaitDrain(Future<?> drain) throws InterruptedException {
+        try {
+            drain.get(DRAIN_GRACE_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // A leftover child still holds the pipe open; return what was captured so far
+            drain.cancel(true);
+        } catch (ExecutionException e) {
+            // drain() handles its own I/O errors
+        }
+    }
+
+    /**
+     * Kill a process together with any children it started
+     *
+     * @param process The process to kill
+     */
+    private static void destroy(Process process) {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+
+    /**
+     * Register the timer of one execution phase
+     *
+     * @param meterRegistry Registry for execution metrics
+     * @param phase The phase name used as tag value
+     * @return The timer
+     */
+    private static Timer phaseTimer(MeterRegistry meterRegistry, String phase) {
+        return Timer.builder("taskmanager.execution.phase")
+                .description("Duration of a phase of a command execution")
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
+
+    private static Counter launchCounter(MeterRegistry meterRegistry, String mode) {
+        return Counter.builder("taskmanager.execution.launches")
+                .description("Processes started, by whether a shell was involved")
+                .tag("mode", mode)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Create a thread factory producing daemon threads with a common name prefix
+     *
+     * @param prefix The thread name prefix
+     * @return The thread factory
+     */
+    private static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,490 @@
+package com.taskmanager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mongodb.CursorType;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.taskmanager.dto.TaskEvent;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskExecution;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.mongodb.client.model.Filters.gte;
+
+/**
+ * TaskEventFeed records task and execution events for clients that watch them (GET /tasks/events)
+ * instead of polling. Events are appended to the capped task_events collection by the replica
+ * that made the change; every replica tails the collection (like TaskChangeFeed, a tailable
+ * cursor works on a standalone mongod, where change streams are not available) into an
+ * in-memory ring of the same size, in the collection's insertion order. Subscribers read from
+ * the ring, so a replica holds one cursor however many clients watch.
+ * An event's ID is its resume token: a client that reconnects with the ID of the last event it
+ * saw gets every later event, on any replica, as long as that event is still in the history;
+ * otherwise it gets a reset event and knows to reload.
+ */
+@Component
+public class TaskEventFeed {
+
+    private static final String COLLECTION = "task_events";
+
+    /**
+     * How far back to re-read after the tailing cursor had to be reopened; events already in
+     * the ring are skipped
+     */
+    private static final long RESUME_OVERLAP_MILLIS = 10000;
+
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    /**
+     * Most events handed to a subscriber per read of the ring
+     */
+    private static final int DRAIN_BATCH = 256;
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final int historySize;
+    private final long historyBytes;
+
+    // Ring of the latest events: the event with sequence number n is at ring[n % historySize]
+    private final TaskEvent[] ring;
+    private final Map<String, Long> sequenceById = new HashMap<>();
+    private long nextSequence;
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean running;
+    private volatile boolean collectionReady;
+    private volatile boolean caughtUp;
+    private Thread tailer;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param mongoTemplate Template for MongoDB operations
+     * @param objectMapper JSON mapper for the tasks and executions carried by events
+     * @param historySize Number of events kept for resuming, in the collection and in memory
+     * @param historyBytes Size limit of the capped event collection
+     * @param meterRegistry Registry for the subscriber gauge
+     */
+    @Autowired
+    public TaskEventFeed(MongoTemplate mongoTemplate, ObjectMapper objectMapper,
+                         @Value("${taskmanager.events.history-size:10000}") int historySize,
+                         @Value("${taskmanager.events.history-bytes:16777216}") long historyBytes,
+                         MeterRegistry meterRegistry) {
+        if (historySize < 1) {
+            throw new IllegalArgumentException("taskmanager.events.history-size must be positive");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.historySize = historySize;
+        this.historyBytes = historyBytes;
+        this.ring = new TaskEvent[historySize];
+        Gauge.builder("taskmanager.events.subscribers", subscriptions, Set::size)
+                .description("Clients watching the task event stream on this replica")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record that a task was created or updated
+     *
+     * @param task The task as stored
+     * @param created Whether the write created the task
+     */
+    public void taskSaved(Task task, boolean created) {
+        insert(List.of(taskDocument(task, created)));
+    }
+
+    /**
+     * Record that tasks were created or updated, with one insert
+     *
+     * @param tasks The tasks as stored
+     * @param createdIds IDs of the tasks the write created
+     */
+    public void tasksSaved(Collection<Task> tasks, Set<String> createdIds) {
+        List<Document> events = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            events.add(taskDocument(task, createdIds.contains(task.getId())));
+        }
+        insert(events);
+    }
+
+    /**
+     * Record that a task was deleted
+     *
+     * @param taskId The ID of the deleted task
+     */
+    public void taskDeleted(String taskId) {
+        insert(List.of(event(TaskEvent.TASK_DELETED, taskId)));
+    }
+
+    /**
+     * Record that executions were stored, with one insert
+     *
+     * @param executions The stored executions
+     */
+    public void executionsCompleted(Collection<TaskExecution> executions) {
+        List<Document> events = new ArrayList<>(executions.size());
+        for (TaskExecution execution : executions) {
+            // Output is left out: it can be large, and watchers mostly need the outcome
+            ObjectNode json = objectMapper.valueToTree(execution);
+            json.remove("output");
+            events.add(event(TaskEvent.EXECUTION_COMPLETED, execution.getTaskId())
+                    .append("execution", json.toString()));
+        }
+        insert(events);
+    }
+
+    /**
+     * Watch the events after a resume token. The stream does not complete; events are produced
+     * only as the subscriber requests them, and one that falls behind by more than the history
+     * gets a reset event and continues with the latest events.
+     *
+     * @param lastEventId ID of the last event the client saw; null to start with the next event
+     * @return The events
+     */
+    public Flux<TaskEvent> subscribe(String lastEventId) {
+        return Flux.create(sink -> {
+            Subscription subscription = new Subscription(sink, lastEventId);
+            subscriptions.add(subscription);
+            sink.onRequest(n -> subscription.drain());
+            sink.onDispose(() -> subscriptions.remove(subscription));
+            subscription.drain();
+        });
+    }
+
+    /**
+     * Start tailing the event collection (created by the tailing thread if needed)
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        tailer = new Thread(this::tail, "task-event-feed");
+        tailer.setDaemon(true);
+        tailer.start();
+    }
+
+    /**
+     * Stop tailing and end the subscriptions
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (tailer != null) {
+            tailer.interrupt();
+        }
+        subscriptions.forEach(Subscription::complete);
+    }
+
+    /**
+     * Build the event document for a task write
+     *
+     * @param task The task as stored
+     * @param created Whether the write created the task
+     * @return The event document
+     */
+    private Document taskDocument(Task task, boolean created) {
+        try {
+            return event(created ? TaskEvent.TASK_CREATED : TaskEvent.TASK_UPDATED, task.getId())
+                    .append("task", objectMapper.writeValueAsString(task));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize task " + task.getId(), e);
+        }
+    }
+
+    /**
+     * Build an event document without payload
+     *
+     * @param type What happened
+     * @param taskId The ID of the task concerned
+     * @return The event document
+     */
+    private static Document event(String type, String taskId) {
+        return new Document()
+                .append("_id", new ObjectId())
+                .append("type", type)
+                .append("taskId", taskId)
+                .append("at", new Date());
+    }
+
+    /**
+     * Append events to the collection. Events are secondary to the writes they describe, so a
+     * failure is logged, not thrown; watchers that resume past it miss the event.
+     *
+     * @param events The event documents
+     */
+    private void insert(List<Document> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        try {
+            ensureCollection().insertMany(events);
+        } catch (RuntimeException e) {
+            System.err.println("Failed to record " + events.size() + " task events: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Tail the event collection until stopped, reopening the cursor whenever it dies.
+     * The first cursor reads the whole collection, filling the ring with the history.
+     */
+    private void tail() {
+        Date resumeFrom = null;
+        while (running) {
+            try {
+                MongoCollection<Document> collection = ensureCollection();
+                Bson filter = resumeFrom != null ? gte("at", resumeFrom) : new Document();
+                try (MongoCursor<Document> cursor = collection.find(filter)
+                        .cursorType(CursorType.TailableAwait)
+                        .maxAwaitTime(1, TimeUnit.SECONDS)
+                        .iterator()) {
+                    while (running) {
+                        Document document = cursor.tryNext();
+                        if (document == null) {
+                            // Nothing new for now: whatever was stored has been read
+                            markCaughtUp();
+                            if (cursor.getServerCursor() == null) {
+                                break;
+                            }
+                            continue;
+                        }
+                        resumeFrom = new Date(document.getDate("at").getTime() - RESUME_OVERLAP_MILLIS);
+                        if (append(toEvent(document))) {
+                            subscriptions.forEach(Subscription::drain);
+                        }
+                    }
+                }
+            } catch (RuntimeException e) {
+                if (running) {
+                    System.err.println("Task event feed interrupted: " + e.getMessage());
+                }
+            }
+
+            // The cursor dies when nothing matched yet; wait a little before reopening it
+            try {
+                Thread.sleep(RETRY_DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Note that the ring holds the stored history, so subscriptions can resolve their tokens
+     */
+    private void markCaughtUp() {
+        if (!caughtUp) {
+            caughtUp = true;
+            subscriptions.forEach(Subscription::drain);
+        }
+    }
+
+    /**
+     * Convert a stored event document
+     *
+     * @param document The event document
+     * @return The event
+     */
+    private static TaskEvent toEvent(Document document) {
+        return new TaskEvent(document.getObjectId("_id").toHexString(), document.getString("type"),
+                document.getString("taskId"), document.getDate("at"),
+                document.getString("task"), document.getString("execution"));
+    }
+
+    /**
+     * Add an event to the ring, evicting the oldest one if it is full
+     *
+     * @param event The event
+     * @return false if the ring already held the event (re-read after reopening the cursor)
+     */
+    private synchronized boolean append(TaskEvent event) {
+        if (sequenceById.containsKey(event.getId())) {
+            return false;
+        }
+        int index = (int) (nextSequence % historySize);
+        if (ring[index] != null) {
+            sequenceById.remove(ring[index].getId());
+        }
+        ring[index] = event;
+        sequenceById.put(event.getId(), nextSequence);
+        nextSequence++;
+        return true;
+    }
+
+    /**
+     * Get the events following a position in the ring
+     *
+     * @param position Sequence number of the last event seen
+     * @param max Most events to return
+     * @return The events, oldest first; null if some of them have already been evicted
+     */
+    private synchronized List<TaskEvent> eventsAfter(long position, int max) {
+        long oldest = Math.max(0, nextSequence - historySize);
+        if (position + 1 < oldest) {
+            return null;
+        }
+        long end = Math.min(nextSequence, position + 1 + max);
+        List<TaskEvent> events = new ArrayList<>((int) Math.max(0, end - position - 1));
+        for (long sequence = position + 1; sequence < end; sequence++) {
+            events.add(ring[(int) (sequence % historySize)]);
+        }
+        return events;
+    }
+
+    /**
+     * Look up the position of an event in the ring
+     *
+     * @param eventId The event ID
+     * @return Its sequence number, or null if the ring does not hold it
+     */
+    private synchronized Long positionOf(String eventId) {
+        return sequenceById.get(eventId);
+    }
+
+    /**
+     * Get or create the capped event collection
+     *
+     * @return The event collection
+     */
+    private MongoCollection<Document> ensureCollection() {
+        if (!collectionReady && !mongoTemplate.collectionExists(COLLECTION)) {
+            try {
+                mongoTemplate.createCollection(COLLECTION, CollectionOptions.empty()
+                        .capped()
+                        .size(historyBytes)
+                        .maxDocuments(historySize));
+            } catch (RuntimeException e) {
+                // Another replica or thread created it first
+            }
+        }
+        collectionReady = true;
+        return mongoTemplate.getCollection(COLLECTION);
+    }
+
+    /**
+     * One watching client: its position in the ring and the sink its events go to.
+     * drain() may be called from the tailer and from the subscriber's requests at once;
+     * the work-in-progress counter lets one caller do the work and the others ask for a rerun.
+     */
+    private final class Subscription {
+
+        private final FluxSink<TaskEvent> sink;
+        private final String lastEventId;
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private boolean resolved;
+        private long position;
+
+        /**
+         * Constructor with the sink and the resume token
+         *
+         * @param sink The sink of the subscriber
+         * @param lastEventId ID of the last event the client saw, or null
+         */
+        Subscription(FluxSink<TaskEvent> sink, String lastEventId) {
+            this.sink = sink;
+            this.lastEventId = lastEventId;
+        }
+
+        /**
+         * Emit as many pending events as the subscriber has requested
+         */
+        void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                emitPending();
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * End the stream, e.g. on shutdown; clients reconnect elsewhere with their token
+         */
+        void complete() {
+            sink.complete();
+        }
+
+        /**
+         * Resolve the resume token once the history is loaded, then emit the requested events
+         */
+        private void emitPending() {
+            if (!caughtUp || sink.isCancelled()) {
+                return;
+            }
+            if (!resolved) {
+                if (sink.requestedFromDownstream() == 0) {
+                    return;
+                }
+                resolved = true;
+                Long found = lastEventId != null ? positionOf(lastEventId) : null;
+                if (found != null) {
+                    position = found;
+                } else {
+                    TaskEvent reset = resetToLatest();
+                    if (lastEventId != null) {
+                        sink.next(reset);
+                    }
+                }
+            }
+
+            long requested;
+            while ((requested = sink.requestedFromDownstream()) > 0 && !sink.isCancelled()) {
+                List<TaskEvent> events = eventsAfter(position, (int) Math.min(requested, DRAIN_BATCH));
+                if (events == null) {
+                    // Fell behind by more than the history
+                    sink.next(resetToLatest());
+                    continue;
+                }
+                if (events.isEmpty()) {
+                    return;
+                }
+                for (TaskEvent event : events) {
+                    sink.next(event);
+                }
+                position += events.size();
+            }
+        }
+
+        /**
+         * Move to the latest event, giving up on the ones before it
+         *
+         * @return The reset event telling the client so, with the ID of the latest event
+         */
+        private TaskEvent resetToLatest() {
+            synchronized (TaskEventFeed.this) {
+                position = nextSequence - 1;
+                String latestId = position >= 0 ? ring[(int) (position % historySize)].getId() : null;
+                return new TaskEvent(latestId, TaskEvent.RESET, null, new Date(), null, null);
+            }
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package com.taskmanager.service;
 
+import com.taskmanager.dto.ExecutionPage;
+import com.taskmanager.dto.TaskBulkResult;
 import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.dto.TaskStats;
 import com.taskmanager.model.Task;
 import com.taskmanager.model.TaskExecution;
 
+import java.io.InputStream;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * TaskService defines the business logic operations for managing tasks.
@@ -14,11 +21,25 @@ import java.util.Optional;
 public interface TaskService {
 
     /**
-     * Get all tasks from the database
+     * Stream one page of tasks ordered by ID, without their execution history.
+     * The caller must close the stream.
      *
-     * @return List of all tasks
+     * @param afterId Cursor: only tasks with an ID greater than this are returned; null for the first page
+     * @param nextCursor The page's next cursor from getNextPageCursor, which ends the page; null
+     *        for the last page, which then holds all remaining tasks
+     * @param limit Page size
+     * @return Stream of tasks in the page
      */
-    List<Task> getAllTasks();
+    Stream<Task> streamTasks(String afterId, String nextCursor, int limit);
+
+    /**
+     * Get the cursor of the page following the given one
+     *
+     * @param afterId Cursor of the current page; null for the first page
+     * @param limit Page size
+     * @return Optional containing the next cursor, empty if this is the last page
+     */
+    Optional<String> getNextPageCursor(String afterId, int limit);
 
     /**
      * Get a task by its ID
@@ -28,15 +49,42 @@ public interface TaskService {
      */
     Optional<Task> getTaskById(String id);
 
+    /**
+     * Get several tasks by ID
+     *
+     * @param ids The task IDs
+     * @return The tasks found, in the order of the IDs; missing tasks are left out
+     */
+    List<Task> getTasksByIds(List<String> ids);
+
+    /**
+     * Get all tasks of an owner
+     *
+     * @param owner The owner
+     * @return The owner's tasks
+     */
+    List<Task> getTasksByOwner(String owner);
+
     /**
      * Create or update a task
      *
      * @param taskRequest The task creation request
      * @return The created/updated task
-     * @throws IllegalArgumentException if the command is unsafe
+     * @throws IllegalArgumentException if the command is unsafe or the schedule is not a valid cron expression
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the request carries a
+     *         version and the task no longer has it
      */
     Task createOrUpdateTask(TaskCreateRequest taskRequest);
 
+    /**
+     * Create or update many tasks at once. Each item is validated like a single
+     * create/update; invalid items are rejected without affecting the others.
+     *
+     * @param taskRequests The task creation requests
+     * @return One result per request, in the same order
+     */
+    List<TaskBulkResult> bulkCreateOrUpdateTasks(List<TaskCreateRequest> taskRequests);
+
     /**
      * Delete a task by ID
      *
@@ -46,12 +94,21 @@ public interface TaskService {
     boolean deleteTask(String id);
 
     /**
-     * Find tasks by name pattern (case-insensitive search)
+     * Find tasks whose name contains the given text (case-insensitive, matched literally)
      *
      * @param namePattern The string to search for in task names
+     * @param limit Maximum number of tasks to return
      * @return List of tasks matching the name pattern
      */
-    List<Task> findTasksByName(String namePattern);
+    List<Task> findTasksByName(String namePattern, int limit);
+
+    /**
+     * Count tasks whose name contains the given text (case-insensitive, matched literally)
+     *
+     * @param namePattern The string to search for in task names
+     * @return Number of matching tasks
+     */
+    long countTasksByName(String namePattern);
 
     /**
      * Execute a task by ID and store the execution result
@@ -63,6 +120,83 @@ public interface TaskService {
      */
     TaskExecution executeTask(String taskId);
 
+    /**
+     * Execute a task by ID, passing its output to a listener while it runs,
+     * and store the execution result once the command exits
+     *
+     * @param taskId The ID of the task to execute
+     * @param listener Receiver for live stdout/stderr chunks
+     * @return The task execution result
+     * @throws TaskNotFoundException if the task doesn't exist
+     * @throws RuntimeException if command execution fails
+     */
+    TaskExecution executeTask(String taskId, OutputListener listener);
+
+    /**
+     * Run a task's command and build its execution record without storing it.
+     * Used by callers that store many execution records at once.
+     *
+     * @param task The task to run
+     * @return The execution record, without an ID
+     * @throws RuntimeException if the command is unsafe
+     */
+    TaskExecution runTask(Task task);
+
+    /**
+     * Run a task's command, passing its output to a listener while it runs, and build its
+     * execution record without storing it
+     *
+     * @param task The task to run
+     * @param listener Receiver for live stdout/stderr chunks
+     * @return The execution record, without an ID
+     * @throws RuntimeException if the command is unsafe
+     */
+    TaskExecution runTask(Task task, OutputListener listener);
+
+    /**
+     * Get one page of a task's execution history, newest first
+     *
+     * @param taskId The task ID
+     * @param from Only executions started at or after this time; null for no lower bound
+     * @param to Only executions started before this time; null for no upper bound
+     * @param cursor Cursor returned with the previous page; null for the first page
+     * @param limit Maximum number of executions in the page
+     * @return The page of executions with the cursor of the next page
+     * @throws TaskNotFoundException if the task doesn't exist
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    ExecutionPage getTaskExecutions(String taskId, Date from, Date to, String cursor, int limit);
+
+    /**
+     * Open the separately stored output of an execution, as referenced by its
+     * stdoutRef/stderrRef fields
+     *
+     * @param taskId The task ID
+     * @param executionId The execution ID
+     * @param stream Either stdout or stderr
+     * @return The gzip-compressed output; the caller must close it
+     * @throws TaskNotFoundException if the execution doesn't exist or its output is stored inline
+     * @throws IllegalArgumentException if the stream name is unknown
+     */
+    InputStream openExecutionOutput(String taskId, String executionId, String stream);
+
+    /**
+     * Get the execution statistics of a task over the last hour, day and week, read from
+     * rollups maintained as executions are stored
+     *
+     * @param taskId The task ID
+     * @return The statistics by window
+     * @throws TaskNotFoundException if the task doesn't exist
+     */
+    TaskStats getTaskStats(String taskId);
+
+    /**
+     * Get hit/miss statistics of the task cache
+     *
+     * @return Snapshot of the cache statistics
+     */
+    Map<String, Object> getCacheStats();
+
     /**
      * Check if a command is safe to execute
      *
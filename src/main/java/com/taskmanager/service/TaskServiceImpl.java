@@ -1,20 +1,45 @@
 package com.taskmanager.service;
 
+import com.taskmanager.cache.TaskCache;
+import com.taskmanager.cache.TaskChangeFeed;
+import com.taskmanager.dto.ExecutionPage;
+import com.taskmanager.dto.TaskBulkResult;
 import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.dto.TaskStats;
+import com.taskmanager.model.ExecutionStatsBucket;
 import com.taskmanager.model.Task;
 import com.taskmanager.model.TaskExecution;
+import com.taskmanager.repository.ExecutionOutputStore;
+import com.taskmanager.repository.ExecutionStatsStore;
+import com.taskmanager.repository.TaskExecutionRepository;
 import com.taskmanager.repository.TaskRepository;
 import com.taskmanager.util.CommandValidator;
+import com.taskmanager.util.CommandVerdict;
+import com.taskmanager.util.DurationSketch;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.support.CronExpression;
 import org.springframework.stereotype.Service;
 import com.taskmanager.exception.TaskNotFoundException;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * TaskServiceImpl provides the business logic for managing and executing tasks.
@@ -24,28 +49,76 @@ import java.util.Optional;
 public class TaskServiceImpl implements TaskService {
 
     private final TaskRepository taskRepository;
+    private final TaskExecutionRepository taskExecutionRepository;
     private final CommandValidator commandValidator;
+    private final ShellCommandExecutor shellCommandExecutor;
+    private final TaskCache taskCache;
+    private final TaskChangeFeed taskChangeFeed;
+    private final Validator validator;
+    private final ExecutionOutputStore executionOutputStore;
+    private final ExecutionStatsStore executionStatsStore;
+    private final TaskEventFeed taskEventFeed;
+    private final int outputPreviewBytes;
 
     /**
      * Constructor with dependency injection
      *
      * @param taskRepository Repository for database operations
+     * @param taskExecutionRepository Repository for execution history
      * @param commandValidator Validator for command safety
+     * @param shellCommandExecutor Runner for shell commands
+     * @param taskCache Read-through cache for task lookups by ID
+     * @param taskChangeFeed Publisher of task changes to all replicas
+     * @param validator Bean validator for the items of bulk requests
+     * @param executionOutputStore Store for outputs too large to keep in the execution record
+     * @param executionStatsStore Store for the per-task execution rollups
+     * @param taskEventFeed Feed announcing task and execution changes to watching clients
+     * @param outputPreviewBytes Bytes per stream stored inline; larger outputs are stored separately
      */
     @Autowired
-    public TaskServiceImpl(TaskRepository taskRepository, CommandValidator commandValidator) {
+    public TaskServiceImpl(TaskRepository taskRepository, TaskExecutionRepository taskExecutionRepository,
+                           CommandValidator commandValidator, ShellCommandExecutor shellCommandExecutor,
+                           TaskCache taskCache, TaskChangeFeed taskChangeFeed, Validator validator,
+                           ExecutionOutputStore executionOutputStore, ExecutionStatsStore executionStatsStore,
+                           TaskEventFeed taskEventFeed,
+                           @Value("${taskmanager.execution.output.preview-bytes:4096}") int outputPreviewBytes) {
         this.taskRepository = taskRepository;
+        this.taskExecutionRepository = taskExecutionRepository;
         this.commandValidator = commandValidator;
+        this.shellCommandExecutor = shellCommandExecutor;
+        this.taskCache = taskCache;
+        this.taskChangeFeed = taskChangeFeed;
+        this.validator = validator;
+        this.executionOutputStore = executionOutputStore;
+        this.executionStatsStore = executionStatsStore;
+        this.taskEventFeed = taskEventFeed;
+        this.outputPreviewBytes = outputPreviewBytes;
     }
 
     /**
-     * Get all tasks from the database
+     * Stream one page of tasks ordered by ID, without their execution history
      *
-     * @return List of all tasks
+     * @param afterId Cursor: only tasks with an ID greater than this are returned; null for the first page
+     * @param nextCursor The page's next cursor from getNextPageCursor, which ends the page; null
+     *        for the last page, which then holds all remaining tasks
+     * @param limit Page size
+     * @return Stream of tasks in the page
      */
     @Override
-    public List<Task> getAllTasks() {
-        return taskRepository.findAll();
+    public Stream<Task> streamTasks(String afterId, String nextCursor, int limit) {
+        return taskRepository.streamPage(afterId, nextCursor, limit);
+    }
+
+    /**
+     * Get the cursor of the page following the given one
+     *
+     * @param afterId Cursor of the current page; null for the first page
+     * @param limit Page size
+     * @return Optional containing the next cursor, empty if this is the last page
+     */
+    @Override
+    public Optional<String> getNextPageCursor(String afterId, int limit) {
+        return taskRepository.findNextPageCursor(afterId, limit);
     }
 
     /**
@@ -56,7 +129,34 @@ public class TaskServiceImpl implements TaskService {
      */
     @Override
     public Optional<Task> getTaskById(String id) {
-        return taskRepository.findById(id);
+        return taskCache.get(id);
+    }
+
+    /**
+     * Get several tasks by ID; cache misses are read with a single $in query
+     *
+     * @param ids The task IDs
+     * @return The tasks found, in the order of the IDs; missing tasks are left out
+     */
+    @Override
+    public List<Task> getTasksByIds(List<String> ids) {
+        Set<String> distinctIds = new LinkedHashSet<>(ids);
+        Map<String, Task> found = taskCache.getAll(distinctIds);
+        return distinctIds.stream()
+                .filter(found::containsKey)
+                .map(found::get)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get all tasks of an owner
+     *
+     * @param owner The owner
+     * @return The owner's tasks
+     */
+    @Override
+    public List<Task> getTasksByOwner(String owner) {
+        return taskRepository.findByOwner(owner);
     }
 
     /**
@@ -64,30 +164,150 @@ public class TaskServiceImpl implements TaskService {
      *
      * @param taskRequest The task creation request
      * @return The created/updated task
-     * @throws IllegalArgumentException if the command is unsafe
+     * @throws IllegalArgumentException if the command is unsafe or the schedule is not a valid cron expression
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the request carries a
+     *         version and the task no longer has it
      */
     @Override
     public Task createOrUpdateTask(TaskCreateRequest taskRequest) {
         // Validate the command for security
-        if (!commandValidator.isCommandSafe(taskRequest.getCommand())) {
-            String reason = commandValidator.getUnsafeReason(taskRequest.getCommand());
-            throw new IllegalArgumentException("Unsafe command detected: " + reason);
+        CommandVerdict verdict = commandValidator.validate(taskRequest.getCommand());
+        if (!verdict.isSafe()) {
+            throw new IllegalArgumentException("Unsafe command detected: " + verdict.getReason());
+        }
+        if (!isValidSchedule(taskRequest.getSchedule())) {
+            throw new IllegalArgumentException("Invalid schedule expression: " + taskRequest.getSchedule());
         }
 
-        // Create or update the task
+        // One atomic $set of the editable fields; execution history and other fields stay untouched
+        Task task = toTask(taskRequest);
+        Task savedTask = taskRepository.upsertFields(task, taskRequest.getVersion());
+        taskChangeFeed.publish(savedTask.getId());
+        taskEventFeed.taskSaved(savedTask, isInserted(task, savedTask));
+        return savedTask;
+    }
+
+    /**
+     * Create or update many tasks with a single unordered bulk write.
+     * Items are written unconditionally; their version, if any, is not checked.
+     * Items failing bean, command or schedule validation, or repeating an ID already in the batch,
+     * are rejected before the write.
+     *
+     * @param taskRequests The task creation requests
+     * @return One result per request, in the same order
+     */
+    @Override
+    public List<TaskBulkResult> bulkCreateOrUpdateTasks(List<TaskCreateRequest> taskRequests) {
+        TaskBulkResult[] results = new TaskBulkResult[taskRequests.size()];
+        List<Task> tasks = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        Set<String> seenIds = new HashSet<>();
+
+        for (int i = 0; i < taskRequests.size(); i++) {
+            TaskCreateRequest taskRequest = taskRequests.get(i);
+            String rejection = getRejectionReason(taskRequest, seenIds);
+            if (rejection != null) {
+                String id = taskRequest != null ? taskRequest.getId() : null;
+                results[i] = new TaskBulkResult(id, TaskBulkResult.Status.REJECTED, rejection);
+            } else {
+                tasks.add(toTask(taskRequest));
+                positions.add(i);
+            }
+        }
+
+        List<TaskBulkResult> written = taskRepository.upsertAll(tasks);
+        List<String> changedIds = new ArrayList<>(written.size());
+        Set<String> createdIds = new HashSet<>();
+        for (int i = 0; i < written.size(); i++) {
+            TaskBulkResult result = written.get(i);
+            results[positions.get(i)] = result;
+            if (result.getStatus() != TaskBulkResult.Status.FAILED) {
+                changedIds.add(result.getId());
+            }
+            if (result.getStatus() == TaskBulkResult.Status.CREATED) {
+                createdIds.add(result.getId());
+            }
+        }
+        taskChangeFeed.publishAll(changedIds);
+        if (!changedIds.isEmpty()) {
+            // The bulk write does not return the documents; read them back for their versions
+            taskEventFeed.tasksSaved(taskRepository.findByIds(changedIds), createdIds);
+        }
+        return List.of(results);
+    }
+
+    /**
+     * Validate one item of a bulk request
+     *
+     * @param taskRequest The item
+     * @param seenIds IDs of the accepted items so far; the item's ID is added if it is accepted
+     * @return Why the item is rejected, or null if it can be written
+     */
+    private String getRejectionReason(TaskCreateRequest taskRequest, Set<String> seenIds) {
+        if (taskRequest == null) {
+            return "Task is required";
+        }
+
+        Set<ConstraintViolation<TaskCreateRequest>> violations = validator.validate(taskRequest);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+
+        CommandVerdict verdict = commandValidator.validate(taskRequest.getCommand());
+        if (!verdict.isSafe()) {
+            return "Unsafe command detected: " + verdict.getReason();
+        }
+
+        if (!isValidSchedule(taskRequest.getSchedule())) {
+            return "Invalid schedule expression: " + taskRequest.getSchedule();
+        }
+
+        if (!seenIds.add(taskRequest.getId())) {
+            return "Duplicate task ID in request: " + taskRequest.getId();
+        }
+        return null;
+    }
+
+    /**
+     * Build the task document for a create/update request
+     *
+     * @param taskRequest The task creation request
+     * @return The task to store
+     */
+    static Task toTask(TaskCreateRequest taskRequest) {
         Task task = new Task();
         task.setId(taskRequest.getId());
         task.setName(taskRequest.getName());
         task.setOwner(taskRequest.getOwner());
         task.setCommand(taskRequest.getCommand());
+        String schedule = taskRequest.getSchedule();
+        task.setSchedule(schedule != null && !schedule.isBlank() ? schedule.trim() : null);
+        task.setInsertId(UUID.randomUUID().toString());
+        return task;
+    }
 
-        // If updating existing task, preserve execution history
-        Optional<Task> existingTask = taskRepository.findById(taskRequest.getId());
-        if (existingTask.isPresent()) {
-            task.setTaskExecutions(existingTask.get().getTaskExecutions());
-        }
+    /**
+     * Check an optional schedule expression
+     *
+     * @param schedule The cron expression, or null/blank for an unscheduled task
+     * @return true if the task is unscheduled or the expression parses
+     */
+    static boolean isValidSchedule(String schedule) {
+        return schedule == null || schedule.isBlank() || CronExpression.isValidExpression(schedule.trim());
+    }
 
-        return taskRepository.save(task);
+    /**
+     * Tell whether an upsert created the task: only an insert stores the write's insert ID
+     *
+     * @param task The task that was written, holding the insert ID from toTask
+     * @param savedTask The task as stored after the upsert
+     * @return true if the upsert inserted the task
+     */
+    static boolean isInserted(Task task, Task savedTask) {
+        return task.getInsertId().equals(savedTask.getInsertId());
     }
 
     /**
@@ -100,20 +320,37 @@ public class TaskServiceImpl implements TaskService {
     public boolean deleteTask(String id) {
         if (taskRepository.existsById(id)) {
             taskRepository.deleteById(id);
+            taskExecutionRepository.deleteByTaskId(id);
+            executionOutputStore.deleteByTaskId(id);
+            executionStatsStore.deleteByTaskId(id);
+            taskChangeFeed.publish(id);
+            taskEventFeed.taskDeleted(id);
             return true;
         }
         return false;
     }
 
     /**
-     * Find tasks by name pattern (case-insensitive search)
+     * Find tasks whose name contains the given text (case-insensitive, matched literally)
      *
      * @param namePattern The string to search for in task names
+     * @param limit Maximum number of tasks to return
      * @return List of tasks matching the name pattern
      */
     @Override
-    public List<Task> findTasksByName(String namePattern) {
-        return taskRepository.findByNameContainingIgnoreCase(namePattern);
+    public List<Task> findTasksByName(String namePattern, int limit) {
+        return taskRepository.searchByName(namePattern, limit);
+    }
+
+    /**
+     * Count tasks whose name contains the given text (case-insensitive, matched literally)
+     *
+     * @param namePattern The string to search for in task names
+     * @return Number of matching tasks
+     */
+    @Override
+    public long countTasksByName(String namePattern) {
+        return taskRepository.countByName(namePattern);
     }
 
     /**
@@ -126,99 +363,303 @@ public class TaskServiceImpl implements TaskService {
      */
     @Override
     public TaskExecution executeTask(String taskId) {
+        return executeTask(taskId, OutputListener.NONE);
+    }
+
+    /**
+     * Execute a task by ID, passing its output to a listener while it runs,
+     * and store the execution result once the command exits
+     *
+     * @param taskId The ID of the task to execute
+     * @param listener Receiver for live stdout/stderr chunks
+     * @return The task execution result
+     * @throws TaskNotFoundException if the task doesn't exist
+     * @throws RuntimeException if command execution fails
+     */
+    @Override
+    public TaskExecution executeTask(String taskId, OutputListener listener) {
         // Find the task
-        Optional<Task> optionalTask = taskRepository.findById(taskId);
+        Optional<Task> optionalTask = taskCache.get(taskId);
         if (optionalTask.isEmpty()) {
             throw new TaskNotFoundException("Task with ID " + taskId + " not found");
         }
 
-        Task task = optionalTask.get();
+        // Store the execution as its own document; the task document is not rewritten
+        TaskExecution execution = taskExecutionRepository.insert(runTask(optionalTask.get(), listener));
+        executionStatsStore.record(List.of(execution));
+        taskEventFeed.executionsCompleted(List.of(execution));
+        return execution;
+    }
 
+    /**
+     * Run a task's command and build its execution record without storing it
+     *
+     * @param task The task to run
+     * @return The execution record, without an ID
+     * @throws RuntimeException if the command is unsafe
+     */
+    @Override
+    public TaskExecution runTask(Task task) {
+        return runTask(task, OutputListener.NONE);
+    }
+
+    /**
+     * Run a task's command, passing its output to a listener, and build its execution record
+     *
+     * @param task The task to run
+     * @param listener Receiver for live stdout/stderr chunks
+     * @return The execution record, without an ID
+     * @throws RuntimeException if the command is unsafe
+     */
+    @Override
+    public TaskExecution runTask(Task task, OutputListener listener) {
         // Double-check command safety before execution
         if (!commandValidator.isCommandSafe(task.getCommand())) {
             throw new RuntimeException("Cannot execute unsafe command: " + task.getCommand());
         }
 
         Date startTime = new Date();
+        TaskExecution execution = new TaskExecution();
         String output;
+        Integer exitCode = null;
         Date endTime;
 
-        try {
-            // Execute the shell command
-            output = executeShellCommand(task.getCommand());
+        // Execute the shell command; closing the result deletes any spilled output
+        try (CommandResult result = shellCommandExecutor.execute(task.getCommand(), listener)) {
             endTime = new Date();
+            output = formatOutput(result, storeOutput(task.getId(), result, execution));
+            exitCode = result.getExitCode();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            endTime = new Date();
+            output = "Error executing command: execution was interrupted";
         } catch (Exception e) {
             endTime = new Date();
             output = "Error executing command: " + e.getMessage();
         }
 
-        // Create task execution record
-        TaskExecution execution = new TaskExecution(startTime, endTime, output);
-
-        // Add execution to task and save
-        task.addTaskExecution(execution);
-        taskRepository.save(task);
-
+        // Fill in the task execution record
+        execution.setStartTime(startTime);
+        execution.setEndTime(endTime);
+        execution.setOutput(output);
+        execution.setExitCode(exitCode);
+        execution.setTaskId(task.getId());
         return execution;
     }
 
     /**
-     * Execute a shell command safely
+     * Record the output sizes and, if either stream is larger than the inline preview,
+     * store both streams compressed outside the execution record
      *
-     * @param command The command to execute
-     * @return The command output
-     * @throws IOException if execution fails
-     * @throws InterruptedException if execution is interrupted
+     * @param taskId The task that ran
+     * @param result The command result
+     * @param execution The execution record receiving the sizes and file references
+     * @return Whether the output is larger than the preview, and so is cut in the record
      */
-    private String executeShellCommand(String command) throws IOException, InterruptedException {
-        ProcessBuilder processBuilder = new ProcessBuilder();
+    private boolean storeOutput(String taskId, CommandResult result, TaskExecution execution) {
+        execution.setStdoutBytes(result.getStdout().getTotalBytes());
+        execution.setStderrBytes(result.getStderr().getTotalBytes());
+        if (result.getStdout().size() <= outputPreviewBytes && result.getStderr().size() <= outputPreviewBytes) {
+            return false;
+        }
 
-        // Set up the command - use shell appropriate for the OS
-        if (System.getProperty("os.name").toLowerCase().contains("windows")) {
-            processBuilder.command("cmd.exe", "/c", command);
-        } else {
-            processBuilder.command("sh", "-c", command);
+        try {
+            long storedBytes = 0;
+            if (!result.getStdout().isEmpty()) {
+                ExecutionOutputStore.StoredOutput stored =
+                        executionOutputStore.store(taskId, OutputListener.STDOUT, result.getStdout());
+                execution.setStdoutRef(stored.getId());
+                storedBytes += stored.getStoredBytes();
+            }
+            if (!result.getStderr().isEmpty()) {
+                ExecutionOutputStore.StoredOutput stored =
+                        executionOutputStore.store(taskId, OutputListener.STDERR, result.getStderr());
+                execution.setStderrRef(stored.getId());
+                storedBytes += stored.getStoredBytes();
+            }
+            execution.setStoredOutputBytes(storedBytes);
+        } catch (IOException e) {
+            // The record still gets the preview; only the rest of the output is lost
+            System.err.println("Failed to store the output of task " + taskId + ": " + e.getMessage());
+        }
+        return true;
+    }
+
+    /**
+     * Get one page of a task's execution history, newest first.
+     * Only the requested slice (plus one execution to detect a following page) is read.
+     *
+     * @param taskId The task ID
+     * @param from Only executions started at or after this time; null for no lower bound
+     * @param to Only executions started before this time; null for no upper bound
+     * @param cursor Cursor returned with the previous page; null for the first page
+     * @param limit Maximum number of executions in the page
+     * @return The page of executions with the cursor of the next page
+     * @throws TaskNotFoundException if the task doesn't exist
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    @Override
+    public ExecutionPage getTaskExecutions(String taskId, Date from, Date to, String cursor, int limit) {
+        if (taskCache.get(taskId).isEmpty()) {
+            throw new TaskNotFoundException("Task with ID '" + taskId + "' not found");
         }
 
-        // Start the process
-        Process process = processBuilder.start();
+        ExecutionCursor after = ExecutionCursor.parse(cursor);
+        List<TaskExecution> slice = taskExecutionRepository.findSlice(taskId, from, to,
+                after != null ? after.getStartTime() : null, after != null ? after.getId() : null, limit + 1);
+        return ExecutionCursor.page(slice, limit);
+    }
 
-        // Read the output
-        StringBuilder output = new StringBuilder();
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(process.getInputStream()))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                output.append(line).append("\n");
-            }
+    /**
+     * Open the separately stored output of an execution
+     *
+     * @param taskId The task ID
+     * @param executionId The execution ID
+     * @param stream Either stdout or stderr
+     * @return The gzip-compressed output; the caller must close it
+     * @throws TaskNotFoundException if the execution doesn't exist or its output is stored inline
+     * @throws IllegalArgumentException if the stream name is unknown
+     */
+    @Override
+    public InputStream openExecutionOutput(String taskId, String executionId, String stream) {
+        if (!OutputListener.STDOUT.equals(stream) && !OutputListener.STDERR.equals(stream)) {
+            throw new IllegalArgumentException("Parameter 'stream' must be 'stdout' or 'stderr'");
         }
 
-        // Read error output if any
-        StringBuilder errorOutput = new StringBuilder();
-        try (BufferedReader errorReader = new BufferedReader(
-                new InputStreamReader(process.getErrorStream()))) {
-            String line;
-            while ((line = errorReader.readLine()) != null) {
-                errorOutput.append(line).append("\n");
-            }
+        TaskExecution execution = taskExecutionRepository.findById(executionId)
+                .filter(found -> taskId.equals(found.getTaskId()))
+                .orElseThrow(() -> new TaskNotFoundException(
+                        "Execution with ID '" + executionId + "' of task '" + taskId + "' not found"));
+        String ref = OutputListener.STDOUT.equals(stream) ? execution.getStdoutRef() : execution.getStderrRef();
+        if (ref == null) {
+            throw new TaskNotFoundException("Execution with ID '" + executionId + "' has no separately stored "
+                    + stream + "; its output is in the execution record");
         }
+        return executionOutputStore.openCompressed(ref)
+                .orElseThrow(() -> new TaskNotFoundException("Stored " + stream + " of execution with ID '"
+                        + executionId + "' not found"));
+    }
 
-        // Wait for the process to complete with timeout
-        boolean finished = process.waitFor(30, java.util.concurrent.TimeUnit.SECONDS);
+    /**
+     * Get the execution statistics of a task over the last hour, day and week.
+     * The hour is read from the 5-minute buckets, day and week from one read of the hourly ones.
+     *
+     * @param taskId The task ID
+     * @return The statistics by window
+     * @throws TaskNotFoundException if the task doesn't exist
+     */
+    @Override
+    public TaskStats getTaskStats(String taskId) {
+        if (taskCache.get(taskId).isEmpty()) {
+            throw new TaskNotFoundException("Task with ID " + taskId + " not found");
+        }
 
-        if (!finished) {
-            process.destroyForcibly();
-            throw new RuntimeException("Command execution timed out after 30 seconds");
+        long now = System.currentTimeMillis();
+        long hourFrom = ExecutionStatsStore.bucketStart(now - TimeUnit.HOURS.toMillis(1),
+                ExecutionStatsStore.FINE_MINUTES);
+        long dayFrom = ExecutionStatsStore.bucketStart(now - TimeUnit.DAYS.toMillis(1),
+                ExecutionStatsStore.COARSE_MINUTES);
+        long weekFrom = ExecutionStatsStore.bucketStart(now - TimeUnit.DAYS.toMillis(7),
+                ExecutionStatsStore.COARSE_MINUTES);
+
+        List<ExecutionStatsBucket> fine = executionStatsStore.findBuckets(taskId,
+                ExecutionStatsStore.FINE_MINUTES, new Date(hourFrom));
+        List<ExecutionStatsBucket> coarse = executionStatsStore.findBuckets(taskId,
+                ExecutionStatsStore.COARSE_MINUTES, new Date(weekFrom));
+
+        Map<String, TaskStats.WindowStats> windows = new LinkedHashMap<>();
+        windows.put("1h", summarize(hourFrom, fine));
+        windows.put("24h", summarize(dayFrom, coarse.stream()
+                .filter(bucket -> bucket.getStart().getTime() >= dayFrom)
+                .collect(Collectors.toList())));
+        windows.put("7d", summarize(weekFrom, coarse));
+        return new TaskStats(taskId, windows);
+    }
+
+    /**
+     * Merge the rollup buckets of a window
+     *
+     * @param from Start of the window
+     * @param buckets The buckets within the window
+     * @return The statistics of the window
+     */
+    private static TaskStats.WindowStats summarize(long from, List<ExecutionStatsBucket> buckets) {
+        long count = 0;
+        long failures = 0;
+        long totalMillis = 0;
+        long minMillis = Long.MAX_VALUE;
+        long maxMillis = Long.MIN_VALUE;
+        DurationSketch sketch = new DurationSketch();
+        for (ExecutionStatsBucket bucket : buckets) {
+            count += bucket.getCount();
+            failures += bucket.getFailures();
+            totalMillis += bucket.getTotalMillis();
+            minMillis = Math.min(minMillis, bucket.getMinMillis());
+            maxMillis = Math.max(maxMillis, bucket.getMaxMillis());
+            sketch.merge(bucket.getHistogram());
         }
 
-        // Check exit code
-        int exitCode = process.exitValue();
-        if (exitCode != 0) {
-            String errorMsg = errorOutput.length() > 0 ? errorOutput.toString() : "Command failed with exit code " + exitCode;
-            return "Error: " + errorMsg + (output.length() > 0 ? "\nOutput: " + output.toString() : "");
+        if (count == 0) {
+            return new TaskStats.WindowStats(new Date(from), 0, 0, 0, null, null, null, null, null, null);
         }
+        return new TaskStats.WindowStats(new Date(from), count, failures, (double) failures / count,
+                minMillis, maxMillis, (double) totalMillis / count,
+                clamp(sketch.quantile(0.5), minMillis, maxMillis),
+                clamp(sketch.quantile(0.9), minMillis, maxMillis),
+                clamp(sketch.quantile(0.99), minMillis, maxMillis));
+    }
 
-        return output.toString();
+    /**
+     * Keep a quantile estimate within the exact minimum and maximum
+     *
+     * @param estimate The estimate, null for an empty window
+     * @param min The shortest duration
+     * @param max The longest duration
+     * @return The estimate, clamped
+     */
+    private static Double clamp(Double estimate, long min, long max) {
+        return estimate == null ? null : Math.max(min, Math.min(max, estimate));
+    }
+
+    /**
+     * Get hit/miss statistics of the task cache
+     *
+     * @return Snapshot of the cache statistics
+     */
+    @Override
+    public Map<String, Object> getCacheStats() {
+        return taskCache.getStats();
+    }
+
+    /**
+     * Turn a command result into the stored execution output
+     *
+     * @param result The command result
+     * @param preview Whether the output is larger than the preview and stored separately
+     * @return The output text, in the same format as before for success, failure and timeout
+     */
+    private String formatOutput(CommandResult result, boolean preview) {
+        if (result.isTimedOut()) {
+            return "Error executing command: Command execution timed out after "
+                    + shellCommandExecutor.getTimeoutSeconds() + " seconds";
+        }
+
+        Charset charset = Charset.defaultCharset();
+        String output = result.getStdout().preview(outputPreviewBytes, charset);
+        if (result.getExitCode() != 0) {
+            String errorMsg = !result.getStderr().isEmpty()
+                    ? result.getStderr().preview(outputPreviewBytes, charset)
+                    : "Command failed with exit code " + result.getExitCode();
+            output = "Error: " + errorMsg + (!output.isEmpty() ? "\nOutput: " + output : "");
+        }
+        if (result.isTruncated()) {
+            output += "\n[output truncated at " + shellCommandExecutor.getMaxOutputBytes() + " bytes per stream]";
+        }
+        if (preview) {
+            output += "\n[preview of the first " + outputPreviewBytes + " bytes per stream; see stdoutBytes/stderrBytes"
+                    + " for the full size and GET /tasks/{id}/executions/{executionId}/output for the full output]";
+        }
+        return output;
     }
 
     /**
@@ -0,0 +1,48 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.TaskImportResult;
+import com.taskmanager.dto.TransferRecord;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * TaskTransferService defines the bulk export and import of tasks and their executions as
+ * newline-delimited JSON (see TransferRecord), for backups and copying data between environments.
+ * Both directions stream: records are read from database cursors and written to the database in
+ * batches, so memory use does not grow with the number of records.
+ */
+public interface TaskTransferService {
+
+    /**
+     * Write all tasks, then optionally all executions, as NDJSON records.
+     * The output stream is flushed but not closed.
+     *
+     * @param out Where to write the records
+     * @param includeExecutions Whether to write the executions after the tasks
+     * @throws IOException if writing fails
+     */
+    void exportNdjson(OutputStream out, boolean includeExecutions) throws IOException;
+
+    /**
+     * Read NDJSON records from a stream and store them in batches.
+     * The input stream is not closed.
+     *
+     * @param in The records
+     * @return Counts of what was written and why records were not
+     * @throws IOException if the stream cannot be read
+     */
+    TaskImportResult importNdjson(InputStream in) throws IOException;
+
+    /**
+     * Store records in batches as they are taken from an iterator. Tasks are validated and
+     * upserted as by PUT /tasks/bulk; executions are inserted unless already stored, and only
+     * if their task exists. Reading stops at the first record the iterator fails to produce.
+     *
+     * @param records The records; next() may block
+     * @return Counts of what was written and why records were not
+     */
+    TaskImportResult importRecords(Iterator<TransferRecord> records);
+}
@@ -0,0 +1,297 @@
+package com.taskmanager.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.dto.TaskBulkResult;
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.dto.TaskImportResult;
+import com.taskmanager.dto.TransferRecord;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskExecution;
+import com.taskmanager.repository.BulkInsertResult;
+import com.taskmanager.repository.ExecutionStatsStore;
+import com.taskmanager.repository.TaskExecutionRepository;
+import com.taskmanager.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * TaskTransferServiceImpl exports tasks and executions from database cursors and imports them
+ * with bulk writes of up to batch-size records. Task writes go through TaskService, so imported
+ * tasks are validated, reach the cache of every replica and are picked up by the scheduler like
+ * any other; imported executions are added to the execution statistics.
+ */
+@Service
+public class TaskTransferServiceImpl implements TaskTransferService {
+
+    /**
+     * Number of failed records whose reason is reported; the others are only counted
+     */
+    private static final int MAX_REPORTED_FAILURES = 100;
+
+    private final TaskRepository taskRepository;
+    private final TaskExecutionRepository taskExecutionRepository;
+    private final TaskService taskService;
+    private final ExecutionStatsStore executionStatsStore;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param taskRepository Repository for task documents
+     * @param taskExecutionRepository Repository for execution history
+     * @param taskService Service the task upserts go through
+     * @param executionStatsStore Store for the per-task execution rollups
+     * @param objectMapper JSON mapper for the records
+     * @param batchSize Records per cursor batch and per bulk write
+     */
+    @Autowired
+    public TaskTransferServiceImpl(TaskRepository taskRepository, TaskExecutionRepository taskExecutionRepository,
+                                   TaskService taskService, ExecutionStatsStore executionStatsStore,
+                                   ObjectMapper objectMapper,
+                                   @Value("${taskmanager.transfer.batch-size:1000}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("taskmanager.transfer.batch-size must be positive");
+        }
+        this.taskRepository = taskRepository;
+        this.taskExecutionRepository = taskExecutionRepository;
+        this.taskService = taskService;
+        this.executionStatsStore = executionStatsStore;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Write all tasks, then optionally all executions, as NDJSON records
+     *
+     * @param out Where to write the records
+     * @param includeExecutions Whether to write the executions after the tasks
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void exportNdjson(OutputStream out, boolean includeExecutions) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            // One record per line: no separator between root values, a newline after each
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            try (Stream<Task> tasks = taskRepository.streamAll(batchSize)) {
+                Iterator<Task> iterator = tasks.iterator();
+                while (iterator.hasNext()) {
+                    writeRecord(generator, TransferRecord.TASK, iterator.next());
+                }
+            }
+            if (includeExecutions) {
+                try (Stream<TaskExecution> executions = taskExecutionRepository.streamAll(batchSize)) {
+                    Iterator<TaskExecution> iterator = executions.iterator();
+                    while (iterator.hasNext()) {
+                        writeRecord(generator, TransferRecord.EXECUTION, iterator.next());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Read NDJSON records from a stream and store them in batches
+     *
+     * @param in The records
+     * @return Counts of what was written and why records were not
+     * @throws IOException if the stream cannot be read
+     */
+    @Override
+    public TaskImportResult importNdjson(InputStream in) throws IOException {
+        // Parses one record at a time as the iterator advances
+        try (MappingIterator<TransferRecord> records = objectMapper.readerFor(TransferRecord.class)
+                .without(JsonParser.Feature.AUTO_CLOSE_SOURCE)
+                .readValues(in)) {
+            return importRecords(records);
+        }
+    }
+
+    /**
+     * Store records in batches as they are taken from an iterator
+     *
+     * @param records The records; next() may block
+     * @return Counts of what was written and why records were not
+     */
+    @Override
+    public TaskImportResult importRecords(Iterator<TransferRecord> records) {
+        ImportRun run = new ImportRun();
+        String error = null;
+        while (true) {
+            TransferRecord record;
+            try {
+                if (!records.hasNext()) {
+                    break;
+                }
+                record = records.next();
+            } catch (RuntimeException e) {
+                // A line that is not valid JSON leaves the parser out of step: stop here
+                error = "Record " + (run.records + 1) + " could not be read: " + e.getMessage();
+                break;
+            }
+            run.add(record);
+        }
+        run.flushTasks();
+        run.flushExecutions();
+
+        return new TaskImportResult(run.records, run.tasksCreated, run.tasksUpdated, run.executionsInserted,
+                run.executionsExisting, run.failed, run.failures, error);
+    }
+
+    /**
+     * Write one record and the newline ending it
+     *
+     * @param generator The generator writing the export
+     * @param type The record type, also the name of the field holding the value
+     * @param value The task or execution
+     * @throws IOException if writing fails
+     */
+    private static void writeRecord(JsonGenerator generator, String type, Object value) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", type);
+        generator.writeObjectField(type, value);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    /**
+     * The state of one import: the pending batches and the counts so far
+     */
+    private final class ImportRun {
+
+        private final List<TaskCreateRequest> tasks = new ArrayList<>();
+        private final List<Long> taskPositions = new ArrayList<>();
+        private final List<TaskExecution> executions = new ArrayList<>();
+        private final Map<String, Long> executionPositions = new HashMap<>();
+        private final List<String> failures = new ArrayList<>();
+
+        private long records;
+        private long tasksCreated;
+        private long tasksUpdated;
+        private long executionsInserted;
+        private long executionsExisting;
+        private long failed;
+
+        /**
+         * Add a record to its batch, writing the batch once it is full
+         *
+         * @param record The record
+         */
+        void add(TransferRecord record) {
+            long position = ++records;
+            String type = record != null ? record.getType() : null;
+
+            if (TransferRecord.TASK.equals(type) && record.getTask() != null) {
+                tasks.add(record.getTask());
+                taskPositions.add(position);
+                if (tasks.size() >= batchSize) {
+                    flushTasks();
+                }
+            } else if (TransferRecord.EXECUTION.equals(type) && record.getExecution() != null) {
+                TaskExecution execution = record.getExecution();
+                if (execution.getId() == null || execution.getTaskId() == null || execution.getStartTime() == null) {
+                    fail(position, "Execution ID, task ID and start time are required");
+                    return;
+                }
+                executions.add(execution);
+                executionPositions.put(execution.getId(), position);
+                if (executions.size() >= batchSize) {
+                    flushExecutions();
+                }
+            } else {
+                fail(position, "Record must have type 'task' with a task or 'execution' with an execution");
+            }
+        }
+
+        /**
+         * Upsert the pending tasks
+         */
+        void flushTasks() {
+            if (tasks.isEmpty()) {
+                return;
+            }
+            List<TaskBulkResult> results = taskService.bulkCreateOrUpdateTasks(tasks);
+            for (int i = 0; i < results.size(); i++) {
+                TaskBulkResult result = results.get(i);
+                switch (result.getStatus()) {
+                    case CREATED -> tasksCreated++;
+                    case UPDATED -> tasksUpdated++;
+                    default -> fail(taskPositions.get(i), "Task '" + result.getId() + "': " + result.getMessage());
+                }
+            }
+            tasks.clear();
+            taskPositions.clear();
+        }
+
+        /**
+         * Insert the pending executions of existing tasks, after the pending tasks
+         */
+        void flushExecutions() {
+            if (executions.isEmpty()) {
+                return;
+            }
+            // Executions may belong to tasks of the same import
+            flushTasks();
+
+            Set<String> taskIds = new HashSet<>();
+            for (TaskExecution execution : executions) {
+                taskIds.add(execution.getTaskId());
+            }
+            Set<String> existingTaskIds = new HashSet<>();
+            for (Task task : taskRepository.findByIds(taskIds)) {
+                existingTaskIds.add(task.getId());
+            }
+
+            List<TaskExecution> writable = new ArrayList<>(executions.size());
+            for (TaskExecution execution : executions) {
+                if (existingTaskIds.contains(execution.getTaskId())) {
+                    writable.add(execution);
+                } else {
+                    fail(executionPositions.get(execution.getId()),
+                            "Execution '" + execution.getId() + "': task '" + execution.getTaskId() + "' not found");
+                }
+            }
+
+            BulkInsertResult<TaskExecution> result = taskExecutionRepository.insertMissing(writable);
+            executionsInserted += result.getInserted().size();
+            executionsExisting += result.getExisting();
+            result.getFailures().forEach((id, message) ->
+                    fail(executionPositions.get(id), "Execution '" + id + "': " + message));
+            executionStatsStore.record(result.getInserted());
+
+            executions.clear();
+            executionPositions.clear();
+        }
+
+        /**
+         * Count a record that was not written and keep its reason if few have failed so far
+         *
+         * @param position Position of the record in the import, from 1
+         * @param reason Why it was not written
+         */
+        private void fail(long position, String reason) {
+            failed++;
+            if (failures.size() < MAX_REPORTED_FAILURES) {
+                failures.add("Record " + position + ": " + reason);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.taskmanager.util;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * ChunkDecoder turns the byte chunks of one output stream into text without splitting
+ * characters: the bytes of a multi-byte character cut off at the end of a chunk are
+ * carried over to the next one. One instance per stream; not thread-safe.
+ */
+public class ChunkDecoder {
+
+    private final CharsetDecoder decoder = Charset.defaultCharset().newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private byte[] pending = new byte[0];
+
+    /**
+     * Decode the next chunk of the stream
+     *
+     * @param chunk Buffer holding the bytes read
+     * @param offset Start of the bytes in the buffer
+     * @param length Number of bytes read
+     * @return The complete characters decoded so far, possibly empty
+     */
+    public String decode(byte[] chunk, int offset, int length) {
+        ByteBuffer in;
+        if (pending.length == 0) {
+            in = ByteBuffer.wrap(chunk, offset, length);
+        } else {
+            in = ByteBuffer.allocate(pending.length + length).put(pending).put(chunk, offset, length).flip();
+        }
+
+        CharBuffer out = CharBuffer.allocate((int) Math.ceil(in.remaining() * (double) decoder.maxCharsPerByte()));
+        decoder.decode(in, out, false);
+
+        pending = new byte[in.remaining()];
+        in.get(pending);
+        return out.flip().toString();
+    }
+}
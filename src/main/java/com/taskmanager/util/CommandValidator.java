@@ -1,13 +1,28 @@
 package com.taskmanager.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * CommandValidator provides security validation for shell commands.
  * It prevents execution of potentially dangerous commands.
+ * The rule lists are compiled once into a trie (commands) and an Aho-Corasick automaton
+ * (patterns), so a command is judged in a single pass without allocating, and verdicts
+ * of recently seen commands are cached. Rejections are counted per reason.
  */
 @Component
 public class CommandValidator {
@@ -45,34 +60,91 @@ public class CommandValidator {
     );
 
     /**
-     * Validates if a command is safe to execute
-     *
-     * @param command The shell command to validate
-     * @return true if the command is safe, false otherwise
+     * Commands longer than this are validated without caching their verdict
      */
-    public boolean isCommandSafe(String command) {
-        if (command == null || command.trim().isEmpty()) {
-            return false;
-        }
+    private static final int MAX_CACHED_COMMAND_LENGTH = 1024;
+
+    private static final int ALPHABET = 128;
+    private static final int NO_NODE = -1;
+
+    private static final CommandVerdict EMPTY = CommandVerdict.unsafe("Command is null or empty");
 
-        String normalizedCommand = command.toLowerCase().trim();
+    /**
+     * Trie of the dangerous commands: child node per (lower-case ASCII) character,
+     * and the verdict of the command ending at a node, if any
+     */
+    private static final int[][] COMMAND_TRIE;
+    private static final CommandVerdict[] COMMAND_VERDICTS;
 
-        // Check for dangerous commands
+    /**
+     * Aho-Corasick automaton of the dangerous patterns: next state per ASCII character,
+     * and the bit set of pattern indices that end at a state
+     */
+    private static final int[][] PATTERN_TRANSITIONS;
+    private static final long[] PATTERN_MATCHES;
+    private static final CommandVerdict[] PATTERN_VERDICTS;
+
+    static {
+        List<int[]> trie = new ArrayList<>();
+        List<CommandVerdict> commandVerdicts = new ArrayList<>();
+        addNode(trie, commandVerdicts, null);
         for (String dangerousCmd : DANGEROUS_COMMANDS) {
-            if (normalizedCommand.startsWith(dangerousCmd + " ") ||
-                    normalizedCommand.equals(dangerousCmd)) {
-                return false;
+            int node = addPath(trie, commandVerdicts, dangerousCmd, null);
+            if (commandVerdicts.get(node) == null) {
+                commandVerdicts.set(node, CommandVerdict.unsafe("Command contains dangerous operation: " + dangerousCmd));
             }
         }
+        COMMAND_TRIE = trie.toArray(new int[0][]);
+        COMMAND_VERDICTS = commandVerdicts.toArray(new CommandVerdict[0]);
 
-        // Check for dangerous patterns
-        for (String pattern : DANGEROUS_PATTERNS) {
-            if (command.contains(pattern)) {
-                return false;
-            }
+        if (DANGEROUS_PATTERNS.size() > Long.SIZE) {
+            throw new IllegalStateException("At most " + Long.SIZE + " dangerous patterns are supported");
+        }
+        List<int[]> transitions = new ArrayList<>();
+        List<Long> matches = new ArrayList<>();
+        addNode(transitions, matches, 0L);
+        PATTERN_VERDICTS = new CommandVerdict[DANGEROUS_PATTERNS.size()];
+        for (int i = 0; i < DANGEROUS_PATTERNS.size(); i++) {
+            String pattern = DANGEROUS_PATTERNS.get(i);
+            int state = addPath(transitions, matches, pattern, 0L);
+            matches.set(state, matches.get(state) | (1L << i));
+            PATTERN_VERDICTS[i] = CommandVerdict.unsafe("Command contains dangerous pattern: " + pattern);
+        }
+        addFailureTransitions(transitions, matches);
+        PATTERN_TRANSITIONS = transitions.toArray(new int[0][]);
+        PATTERN_MATCHES = matches.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private final Cache<String, CommandVerdict> verdictCache;
+    private final MeterRegistry meterRegistry;
+    private final Map<CommandVerdict, Counter> rejectionCounters = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param cacheSize Maximum number of command verdicts remembered (0 disables the cache)
+     * @param meterRegistry Registry for validation metrics
+     */
+    @Autowired
+    public CommandValidator(@Value("${taskmanager.validator.cache-size:1024}") int cacheSize,
+                            MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        if (cacheSize > 0) {
+            this.verdictCache = Caffeine.newBuilder().maximumSize(cacheSize).recordStats().build();
+            CaffeineCacheMetrics.monitor(meterRegistry, verdictCache, "commandVerdicts");
+        } else {
+            this.verdictCache = null;
         }
+    }
 
-        return true;
+    /**
+     * Validates if a command is safe to execute
+     *
+     * @param command The shell command to validate
+     * @return true if the command is safe, false otherwise
+     */
+    public boolean isCommandSafe(String command) {
+        return validate(command).isSafe();
     }
 
     /**
@@ -82,28 +154,169 @@ public class CommandValidator {
      * @return A string explaining why the command is unsafe, or null if it's safe
      */
     public String getUnsafeReason(String command) {
-        if (command == null || command.trim().isEmpty()) {
-            return "Command is null or empty";
+        return validate(command).getReason();
+    }
+
+    /**
+     * Validates a command, answering repeat checks of the same text from the verdict cache
+     *
+     * @param command The shell command to validate
+     * @return The verdict with the reason if the command is unsafe
+     */
+    public CommandVerdict validate(String command) {
+        CommandVerdict verdict;
+        if (command == null) {
+            verdict = EMPTY;
+        } else if (verdictCache == null || command.length() > MAX_CACHED_COMMAND_LENGTH) {
+            verdict = evaluate(command);
+        } else {
+            verdict = verdictCache.get(command, CommandValidator::evaluate);
         }
 
-        String normalizedCommand = command.toLowerCase().trim();
+        if (!verdict.isSafe()) {
+            rejectionCounters.computeIfAbsent(verdict, v -> Counter.builder("taskmanager.validator.rejections")
+                    .description("Commands rejected by the command validator")
+                    .tag("reason", v.getReason())
+                    .register(meterRegistry)).increment();
+        }
+        return verdict;
+    }
 
-        // Check for dangerous commands
-        for (String dangerousCmd : DANGEROUS_COMMANDS) {
-            if (normalizedCommand.startsWith(dangerousCmd + " ") ||
-                    normalizedCommand.equals(dangerousCmd)) {
-                return "Command contains dangerous operation: " + dangerousCmd;
+    /**
+     * Run the compiled rules over a command. Dangerous commands are checked first on the
+     * trimmed, lower-cased first word, then the pattern automaton reads the raw text once;
+     * among several matching patterns the one listed first determines the reason.
+     *
+     * @param command The shell command to validate
+     * @return The verdict with the reason if the command is unsafe
+     */
+    static CommandVerdict evaluate(String command) {
+        int start = 0;
+        int end = command.length();
+        while (start < end && command.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && command.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return EMPTY;
+        }
+
+        CommandVerdict commandVerdict = matchCommand(command, start, end);
+        if (commandVerdict != null) {
+            return commandVerdict;
+        }
+
+        int state = 0;
+        long matched = 0;
+        for (int i = 0; i < command.length() && (matched & 1L) == 0; i++) {
+            char c = command.charAt(i);
+            // All patterns are ASCII, so any other character leads back to the root
+            state = c < ALPHABET ? PATTERN_TRANSITIONS[state][c] : 0;
+            matched |= PATTERN_MATCHES[state];
+        }
+        return matched != 0 ? PATTERN_VERDICTS[Long.numberOfTrailingZeros(matched)] : CommandVerdict.SAFE;
+    }
+
+    /**
+     * Walk the command trie along the first word of the trimmed command
+     *
+     * @param command The shell command
+     * @param start Index of the first non-blank character
+     * @param end Index after the last non-blank character
+     * @return The verdict of the dangerous command that forms the first word, or null
+     */
+    private static CommandVerdict matchCommand(String command, int start, int end) {
+        int node = 0;
+        for (int i = start; i < end; i++) {
+            char c = Character.toLowerCase(command.charAt(i));
+            if (c == ' ') {
+                return COMMAND_VERDICTS[node];
+            }
+            node = c < ALPHABET ? COMMAND_TRIE[node][c] : NO_NODE;
+            if (node == NO_NODE) {
+                return null;
             }
         }
+        return COMMAND_VERDICTS[node];
+    }
 
-        // Check for dangerous patterns
-        for (String pattern : DANGEROUS_PATTERNS) {
-            if (command.contains(pattern)) {
-                return "Command contains dangerous pattern: " + pattern;
+    /**
+     * Append an empty node to an automaton under construction
+     *
+     * @param nodes Transition rows of the automaton
+     * @param values Per-node values of the automaton
+     * @param initial Value of the new node
+     * @return Index of the new node
+     */
+    private static <T> int addNode(List<int[]> nodes, List<T> values, T initial) {
+        int[] row = new int[ALPHABET];
+        Arrays.fill(row, NO_NODE);
+        nodes.add(row);
+        values.add(initial);
+        return nodes.size() - 1;
+    }
+
+    /**
+     * Add the path spelling a rule to an automaton under construction
+     *
+     * @param nodes Transition rows of the automaton
+     * @param values Per-node values of the automaton
+     * @param rule The rule text (ASCII without spaces)
+     * @param initial Value of nodes added for the path
+     * @return Index of the node at the end of the path
+     */
+    private static <T> int addPath(List<int[]> nodes, List<T> values, String rule, T initial) {
+        int node = 0;
+        for (int i = 0; i < rule.length(); i++) {
+            char c = rule.charAt(i);
+            if (c >= ALPHABET || c == ' ') {
+                throw new IllegalStateException("Validation rules must be ASCII without spaces: " + rule);
+            }
+            if (nodes.get(node)[c] == NO_NODE) {
+                nodes.get(node)[c] = addNode(nodes, values, initial);
             }
+            node = nodes.get(node)[c];
         }
+        return node;
+    }
 
-        return null; // Command is safe
+    /**
+     * Turn the pattern trie into a complete automaton: missing transitions follow the
+     * longest proper suffix that is also a trie path, and every state also reports the
+     * patterns matched by that suffix
+     *
+     * @param transitions Transition rows of the pattern trie
+     * @param matches Bit set of the patterns ending at each state
+     */
+    private static void addFailureTransitions(List<int[]> transitions, List<Long> matches) {
+        int[] failure = new int[transitions.size()];
+        Deque<Integer> queue = new ArrayDeque<>();
+        int[] root = transitions.get(0);
+        for (int c = 0; c < ALPHABET; c++) {
+            if (root[c] == NO_NODE) {
+                root[c] = 0;
+            } else {
+                failure[root[c]] = 0;
+                queue.add(root[c]);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int[] row = transitions.get(state);
+            for (int c = 0; c < ALPHABET; c++) {
+                int fallback = transitions.get(failure[state])[c];
+                if (row[c] == NO_NODE) {
+                    row[c] = fallback;
+                } else {
+                    failure[row[c]] = fallback;
+                    matches.set(row[c], matches.get(row[c]) | matches.get(fallback));
+                    queue.add(row[c]);
+                }
+            }
+        }
     }
 
     /**
@@ -0,0 +1,42 @@
+package com.taskmanager.util;
+
+/**
+ * CommandVerdict is the outcome of validating a shell command: whether it is safe and,
+ * if not, why. Verdicts are immutable and shared, one per validation rule.
+ */
+public final class CommandVerdict {
+
+    /**
+     * Verdict for a command that matched no rule
+     */
+    public static final CommandVerdict SAFE = new CommandVerdict(true, null);
+
+    private final boolean safe;
+    private final String reason;
+
+    private CommandVerdict(boolean safe, String reason) {
+        this.safe = safe;
+        this.reason = reason;
+    }
+
+    /**
+     * Create the verdict for a command rejected by a rule
+     *
+     * @param reason Explanation of why the command is unsafe
+     * @return The unsafe verdict
+     */
+    static CommandVerdict unsafe(String reason) {
+        return new CommandVerdict(false, reason);
+    }
+
+    public boolean isSafe() {
+        return safe;
+    }
+
+    /**
+     * @return Explanation of why the command is unsafe, or null if it is safe
+     */
+    public String getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,84 @@
+package com.taskmanager.util;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * DurationSketch estimates quantiles of durations from a log-scale histogram, in the manner of
+ * DDSketch: a duration of d milliseconds is counted in bucket ceil(log(d) / log(gamma)), so every
+ * bucket spans the same relative range and any quantile is returned within 2% of the true value.
+ * Buckets are plain counts, so sketches of different time ranges are merged by adding them, and
+ * a histogram of durations up to the execution timeout has a few hundred buckets at most.
+ */
+public class DurationSketch {
+
+    /**
+     * Relative accuracy of the quantile estimates
+     */
+    private static final double RELATIVE_ACCURACY = 0.02;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private final TreeMap<Integer, Long> counts = new TreeMap<>();
+    private long total;
+
+    /**
+     * Get the bucket a duration is counted in
+     *
+     * @param millis The duration in milliseconds
+     * @return The bucket index; 0 holds durations below one millisecond
+     */
+    public static int bucketOf(long millis) {
+        if (millis <= 0) {
+            return 0;
+        }
+        return Math.max(1, (int) Math.ceil(Math.log(millis) / LOG_GAMMA));
+    }
+
+    /**
+     * Add a histogram to this sketch
+     *
+     * @param histogram Counts by bucket index, with the index as decimal string
+     */
+    public void merge(Map<String, Long> histogram) {
+        if (histogram == null) {
+            return;
+        }
+        histogram.forEach((bucket, count) -> {
+            counts.merge(Integer.parseInt(bucket), count, Long::sum);
+            total += count;
+        });
+    }
+
+    /**
+     * Estimate a quantile of the durations added
+     *
+     * @param quantile The quantile, between 0 and 1
+     * @return The estimated duration in milliseconds, null if the sketch is empty
+     */
+    public Double quantile(double quantile) {
+        if (total == 0) {
+            return null;
+        }
+        double rank = quantile * (total - 1);
+        long seen = 0;
+        for (Map.Entry<Integer, Long> bucket : counts.entrySet()) {
+            seen += bucket.getValue();
+            if (seen > rank) {
+                return valueOf(bucket.getKey());
+            }
+        }
+        return valueOf(counts.lastKey());
+    }
+
+    /**
+     * The representative duration of a bucket: the point with equal relative error to both bounds
+     *
+     * @param bucket The bucket index
+     * @return The duration in milliseconds
+     */
+    private static double valueOf(int bucket) {
+        return bucket == 0 ? 0 : 2 * Math.pow(GAMMA, bucket) / (GAMMA + 1);
+    }
+}
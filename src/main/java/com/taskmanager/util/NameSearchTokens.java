@@ -0,0 +1,86 @@
+package com.taskmanager.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * NameSearchTokens derives the indexed search fields of a task name.
+ * A name is stored lower-cased together with its n-grams: the substring of (up to)
+ * three characters starting at every position. Any search string of three or more
+ * characters is then contained in a name only if all of its trigrams are among the
+ * name's n-grams, and a shorter search string is contained only if it is a prefix of
+ * one of them. Both checks can be answered from a multikey index.
+ */
+public final class NameSearchTokens {
+
+    /**
+     * Length of the n-grams stored for a name
+     */
+    public static final int GRAM_LENGTH = 3;
+
+    private NameSearchTokens() {}
+
+    /**
+     * Normalize text for case-insensitive matching
+     *
+     * @param text The text to normalize
+     * @return The lower-cased text, or null if the input is null
+     */
+    public static String normalize(String text) {
+        return text != null ? text.toLowerCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * Compute the n-grams stored for a normalized name
+     *
+     * @param normalizedName The lower-cased name
+     * @return The distinct n-grams, one starting at every position
+     */
+    public static List<String> nameGrams(String normalizedName) {
+        if (normalizedName == null) {
+            return new ArrayList<>();
+        }
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i < normalizedName.length(); i++) {
+            grams.add(normalizedName.substring(i, Math.min(i + GRAM_LENGTH, normalizedName.length())));
+        }
+        return new ArrayList<>(grams);
+    }
+
+    /**
+     * Compute the trigrams a name must contain to match a normalized search string
+     *
+     * @param normalizedQuery The lower-cased search string (at least three characters)
+     * @return The distinct trigrams of the search string
+     */
+    public static List<String> queryGrams(String normalizedQuery) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= normalizedQuery.length(); i++) {
+            grams.add(normalizedQuery.substring(i, i + GRAM_LENGTH));
+        }
+        return new ArrayList<>(grams);
+    }
+
+    /**
+     * Escape every regular expression metacharacter so that user input matches literally.
+     * The escaped text contains no quantifiers or groups, so it cannot backtrack.
+     *
+     * @param text The text to escape
+     * @return The escaped text
+     */
+    public static String escapeRegex(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            // A backslash before any ASCII punctuation makes it literal in PCRE
+            if (c < 128 && !Character.isLetterOrDigit(c) && !Character.isWhitespace(c)) {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,220 @@
+package com.taskmanager.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * SpillingOutputBuffer collects raw process output up to a fixed number of bytes.
+ * The first bytes are kept on the heap; once those are full, further output is spilled to a
+ * temporary file that is written through memory-mapped regions, so a chatty command costs
+ * page cache rather than heap. Bytes beyond the cap are counted but discarded, so the
+ * producing process can keep writing (and never blocks on a full pipe).
+ * Each stream is drained by a single thread; access is synchronized so that a snapshot
+ * taken while a straggling drain thread is still writing stays consistent.
+ * The buffer must be closed to delete its spill file.
+ */
+public class SpillingOutputBuffer implements Closeable {
+
+    private static final int INITIAL_CAPACITY = 8192;
+
+    /**
+     * Size of the file region mapped at a time
+     */
+    private static final long MAP_REGION_BYTES = 8L * 1024 * 1024;
+
+    private final int memoryBytes;
+    private final long maxBytes;
+    private final Path spillDirectory;
+
+    private byte[] bytes;
+    private int memorySize;
+
+    private Path spillFile;
+    private FileChannel spillChannel;
+    private MappedByteBuffer region;
+    private long spilledSize;
+    private boolean spillFailed;
+
+    private long totalBytes;
+    private boolean closed;
+
+    /**
+     * Constructor with the capture limits
+     *
+     * @param memoryBytes Number of bytes kept on the heap before spilling to disk
+     * @param maxBytes Maximum number of bytes to keep in total
+     * @param spillDirectory Directory for the spill file
+     */
+    public SpillingOutputBuffer(int memoryBytes, long maxBytes, Path spillDirectory) {
+        this.memoryBytes = (int) Math.min(memoryBytes, maxBytes);
+        this.maxBytes = maxBytes;
+        this.spillDirectory = spillDirectory;
+        this.bytes = new byte[Math.min(INITIAL_CAPACITY, this.memoryBytes)];
+    }
+
+    /**
+     * Append bytes, keeping only what fits under the cap
+     *
+     * @param chunk Source array
+     * @param offset Start offset in the source array
+     * @param length Number of bytes to append
+     */
+    public synchronized void write(byte[] chunk, int offset, int length) {
+        totalBytes += length;
+        int accepted = (int) Math.min(length, maxBytes - size());
+        if (accepted <= 0 || closed) {
+            return;
+        }
+
+        int inMemory = Math.min(accepted, memoryBytes - memorySize);
+        if (inMemory > 0) {
+            if (memorySize + inMemory > bytes.length) {
+                int newCapacity = Math.min(memoryBytes, Math.max(bytes.length * 2, memorySize + inMemory));
+                bytes = Arrays.copyOf(bytes, newCapacity);
+            }
+            System.arraycopy(chunk, offset, bytes, memorySize, inMemory);
+            memorySize += inMemory;
+        }
+        if (accepted > inMemory && !spillFailed) {
+            spill(chunk, offset + inMemory, accepted - inMemory);
+        }
+    }
+
+    /**
+     * Number of bytes kept in the buffer, on the heap and on disk
+     *
+     * @return The retained size
+     */
+    public synchronized long size() {
+        return memorySize + spilledSize;
+    }
+
+    /**
+     * Number of bytes written, including discarded ones
+     *
+     * @return The total size
+     */
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Check whether output was discarded because of the cap (or a failed spill)
+     *
+     * @return true if the output was truncated
+     */
+    public synchronized boolean isTruncated() {
+        return totalBytes > size();
+    }
+
+    /**
+     * Check whether nothing was written
+     *
+     * @return true if the buffer is empty
+     */
+    public synchronized boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Check whether part of the output went to the spill file
+     *
+     * @return true if the output outgrew the heap part
+     */
+    public synchronized boolean isSpilled() {
+        return spilledSize > 0;
+    }
+
+    /**
+     * Decode the first retained bytes, from the heap part only
+     *
+     * @param maxPreviewBytes Maximum number of bytes to decode
+     * @param charset The charset to decode with
+     * @return The start of the output as a string; a character cut off at the end is replaced
+     */
+    public synchronized String preview(int maxPreviewBytes, Charset charset) {
+        return new String(bytes, 0, Math.min(maxPreviewBytes, memorySize), charset);
+    }
+
+    /**
+     * Copy all retained bytes to a stream, heap part first
+     *
+     * @param out The target stream, not closed
+     * @throws IOException if reading the spill file or writing fails
+     */
+    public synchronized void writeTo(OutputStream out) throws IOException {
+        out.write(bytes, 0, memorySize);
+        if (spilledSize > 0) {
+            // Writes through the mapped regions are visible to channel reads of the same file
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = 0;
+            while (position < spilledSize) {
+                position += spillChannel.transferTo(position, spilledSize - position, target);
+            }
+        }
+    }
+
+    /**
+     * Release the heap part and delete the spill file; later writes are discarded
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        bytes = new byte[0];
+        memorySize = 0;
+        spilledSize = 0;
+        region = null;
+        if (spillChannel != null) {
+            try {
+                spillChannel.close();
+                // The mapping itself is released once the region buffers are garbage collected
+                Files.deleteIfExists(spillFile);
+            } catch (IOException e) {
+                spillFile.toFile().deleteOnExit();
+            }
+            spillChannel = null;
+        }
+    }
+
+    /**
+     * Write bytes to the spill file through mapped regions, creating the file on first use
+     *
+     * @param chunk Source array
+     * @param offset Start offset in the source array
+     * @param length Number of bytes to write
+     */
+    private void spill(byte[] chunk, int offset, int length) {
+        try {
+            if (spillChannel == null) {
+                spillFile = Files.createTempFile(spillDirectory, "task-output-", ".spill");
+                spillChannel = FileChannel.open(spillFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+            while (length > 0) {
+                if (region == null || !region.hasRemaining()) {
+                    // Mapping past the end of the file grows it
+                    long regionSize = Math.min(MAP_REGION_BYTES, maxBytes - memoryBytes - spilledSize);
+                    region = spillChannel.map(FileChannel.MapMode.READ_WRITE, spilledSize, regionSize);
+                }
+                int written = Math.min(length, region.remaining());
+                region.put(chunk, offset, written);
+                offset += written;
+                length -= written;
+                spilledSize += written;
+            }
+        } catch (IOException e) {
+            // Disk full or not writable: keep what was captured, count the rest as discarded
+            spillFailed = true;
+            System.err.println("Failed to spill command output to disk: " + e.getMessage());
+        }
+    }
+}
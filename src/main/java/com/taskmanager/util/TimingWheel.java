@@ -0,0 +1,178 @@
+package com.taskmanager.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TimingWheel is a hierarchical timing wheel: a fixed number of levels of 64 slots each,
+ * where a slot of level L spans 64^L ticks. Adding a timer and advancing one tick are O(1);
+ * a timer is moved down one level at most once per level (when its slot comes up), so the
+ * cost does not grow with the number of timers that are not due.
+ * Timers further away than the wheel covers are parked in the top level and re-placed
+ * when their slot comes up. Not thread-safe: one thread owns the wheel.
+ *
+ * @param <T> Type of the values carried by the timers
+ */
+public class TimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private final int levels;
+    private final List<List<ArrayDeque<Timer<T>>>> wheel;
+    private final List<Timer<T>> overdue = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    /**
+     * Constructor with the number of levels
+     *
+     * @param levels Number of levels; the wheel covers 64^levels ticks
+     */
+    public TimingWheel(int levels) {
+        if (levels < 1 || levels * SLOT_BITS > 62) {
+            throw new IllegalArgumentException("Levels must be between 1 and " + 62 / SLOT_BITS);
+        }
+        this.levels = levels;
+        this.wheel = new ArrayList<>(levels);
+        for (int level = 0; level < levels; level++) {
+            List<ArrayDeque<Timer<T>>> slots = new ArrayList<>(SLOTS);
+            for (int slot = 0; slot < SLOTS; slot++) {
+                slots.add(new ArrayDeque<>());
+            }
+            wheel.add(slots);
+        }
+    }
+
+    /**
+     * Add a timer
+     *
+     * @param deadlineTick Tick at which the timer is due; past ticks are due on the next advance
+     * @param value Value returned when the timer is due
+     * @return The timer, which can be cancelled
+     */
+    public Timer<T> add(long deadlineTick, T value) {
+        Timer<T> timer = new Timer<>(deadlineTick, value);
+        place(timer);
+        size++;
+        return timer;
+    }
+
+    /**
+     * Advance the wheel by one tick
+     *
+     * @return Values of the timers due at the new tick (or earlier), cancelled timers excluded
+     */
+    public List<T> advance() {
+        currentTick++;
+
+        // Move timers down from the levels whose slot boundary was crossed, highest level first
+        for (int level = levels - 1; level > 0; level--) {
+            if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                ArrayDeque<Timer<T>> slot = wheel.get(level).get(slotIndex(currentTick, level));
+                List<Timer<T>> cascaded = new ArrayList<>(slot);
+                slot.clear();
+                cascaded.forEach(this::place);
+            }
+        }
+
+        List<T> due = new ArrayList<>();
+        collect(overdue, due);
+        overdue.clear();
+        ArrayDeque<Timer<T>> slot = wheel.get(0).get(slotIndex(currentTick, 0));
+        collect(slot, due);
+        slot.clear();
+        return due;
+    }
+
+    /**
+     * @return The tick the wheel is at
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * @return Number of timers in the wheel, including cancelled ones not yet reached
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Put a timer into the slot matching its distance from the current tick
+     *
+     * @param timer The timer
+     */
+    private void place(Timer<T> timer) {
+        long delta = timer.deadlineTick - currentTick;
+        if (delta <= 0) {
+            overdue.add(timer);
+            return;
+        }
+
+        for (int level = 0; level < levels; level++) {
+            if (delta < 1L << (SLOT_BITS * (level + 1))) {
+                wheel.get(level).get(slotIndex(timer.deadlineTick, level)).add(timer);
+                return;
+            }
+        }
+
+        // Beyond the wheel's range: park it in the farthest top-level slot and re-place it from there
+        int top = levels - 1;
+        long parkTick = currentTick + (1L << (SLOT_BITS * levels)) - 1;
+        wheel.get(top).get(slotIndex(parkTick, top)).add(timer);
+    }
+
+    /**
+     * Move the values of due, uncancelled timers to the result
+     *
+     * @param timers The timers that came up
+     * @param due The result
+     */
+    private void collect(Iterable<Timer<T>> timers, List<T> due) {
+        for (Timer<T> timer : timers) {
+            size--;
+            if (!timer.cancelled) {
+                due.add(timer.value);
+            }
+        }
+    }
+
+    private static int slotIndex(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+
+    /**
+     * A timer in the wheel
+     *
+     * @param <T> Type of the value it carries
+     */
+    public static final class Timer<T> {
+        private final long deadlineTick;
+        private final T value;
+        private boolean cancelled;
+
+        private Timer(long deadlineTick, T value) {
+            this.deadlineTick = deadlineTick;
+            this.value = value;
+        }
+
+        /**
+         * Stop the timer from coming up; it is dropped when its slot is reached
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public long getDeadlineTick() {
+            return deadlineTick;
+        }
+
+        public T getValue() {
+            return value;
+        }
+    }
+}